@@ -0,0 +1,10 @@
+-- ACCESS MANAGEMENT SERVICE - EXPORT INDEXES
+-- Batch exports page through cases and batch errors by (batch, id); the
+-- composite indexes serve both the filter and the keyset order and replace
+-- the single-column batch indexes.
+
+CREATE INDEX idx_cases_import_batch_id_id ON cases(import_batch_id, id);
+DROP INDEX IF EXISTS idx_cases_import_batch_id;
+
+CREATE INDEX idx_batch_errors_batch_id_id ON batch_errors(batch_id, id);
+DROP INDEX IF EXISTS idx_batch_errors_batch_id;
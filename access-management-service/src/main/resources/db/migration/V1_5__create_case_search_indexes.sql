@@ -0,0 +1,25 @@
+-- ACCESS MANAGEMENT SERVICE - CASE SEARCH INDEXES
+-- Customer name and mobile number searches are prefix matches
+-- (lower(full_name) LIKE 'abc%', mobile_number LIKE '98%') served by trigram
+-- indexes; the remaining filters are equality or range predicates on btree
+-- indexes. Results are ordered by cases.id for keyset paging.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_customers_full_name_trgm ON customers USING gin (lower(full_name) gin_trgm_ops);
+CREATE INDEX idx_customers_mobile_trgm ON customers USING gin (mobile_number gin_trgm_ops);
+CREATE INDEX idx_customers_city ON customers(city);
+CREATE INDEX idx_customers_state ON customers(state);
+CREATE INDEX idx_customers_pincode ON customers(pincode);
+
+CREATE INDEX idx_loan_details_bucket_dpd ON loan_details(bucket, dpd);
+CREATE INDEX idx_loan_details_product_type ON loan_details(product_type);
+CREATE INDEX idx_loan_details_total_outstanding ON loan_details(total_outstanding);
+
+CREATE INDEX idx_cases_status_id ON cases(case_status, id);
+DROP INDEX IF EXISTS idx_cases_case_status;
+CREATE INDEX idx_cases_geography_code_id ON cases(geography_code, id);
+DROP INDEX IF EXISTS idx_cases_geography_code;
+CREATE INDEX idx_cases_ptp_status ON cases(ptp_status);
+CREATE INDEX idx_cases_allocated_to_agency ON cases(allocated_to_agency_id);
+CREATE INDEX idx_cases_case_opened_at ON cases(case_opened_at);
@@ -0,0 +1,20 @@
+-- ACCESS MANAGEMENT SERVICE - CASE TIMELINE INDEXES
+-- The case timeline reads the newest events of one case from each source;
+-- (case_id, created_at DESC) serves the filter and the order and replaces
+-- the single-column case_id indexes. allocation_history is already covered
+-- by idx_allocation_history_case_changed_at.
+
+CREATE INDEX idx_ptp_commitments_case_created_at ON ptp_commitments(case_id, created_at DESC);
+DROP INDEX IF EXISTS idx_ptp_commitments_case_id;
+
+CREATE INDEX idx_sms_case_created_at ON sms_messages(case_id, created_at DESC);
+DROP INDEX IF EXISTS idx_sms_case_id;
+
+CREATE INDEX idx_whatsapp_case_created_at ON whatsapp_messages(case_id, created_at DESC);
+DROP INDEX IF EXISTS idx_whatsapp_case_id;
+
+CREATE INDEX idx_email_case_created_at ON email_messages(case_id, created_at DESC);
+DROP INDEX IF EXISTS idx_email_case_id;
+
+CREATE INDEX idx_dialer_case_created_at ON dialer_call_logs(case_id, created_at DESC);
+DROP INDEX IF EXISTS idx_dialer_case_id;
@@ -0,0 +1,79 @@
+-- ACCESS MANAGEMENT SERVICE - PTP STATISTICS ROLLUP
+-- Per user and status running totals of ptp_commitments, kept current by
+-- statement-level triggers: every INSERT, UPDATE or DELETE statement applies
+-- its net per (user_id, ptp_status) deltas in one upsert, so bulk updates
+-- cost one rollup write per affected group instead of one per row.
+
+CREATE TABLE ptp_user_stats (
+    user_id BIGINT NOT NULL,
+    ptp_status VARCHAR(20) NOT NULL,
+    ptp_count BIGINT NOT NULL DEFAULT 0,
+    ptp_amount DECIMAL(18,2) NOT NULL DEFAULT 0,
+    collected_amount DECIMAL(18,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, ptp_status)
+);
+
+COMMENT ON TABLE ptp_user_stats IS 'Per user and status PTP counts and amounts maintained by triggers';
+
+-- Every operation applies its deltas with the same single upsert; only the
+-- delta rows differ. Transition tables only exist for the trigger's own event,
+-- so the delta query is picked by TG_OP and the upsert runs through EXECUTE,
+-- which sees the transition tables as well.
+CREATE OR REPLACE FUNCTION apply_ptp_user_stats_delta()
+RETURNS TRIGGER AS $$
+DECLARE
+    inserted_rows CONSTANT TEXT := 'SELECT user_id, ptp_status, 1 AS cnt, ptp_amount AS amount, '
+        || 'COALESCE(payment_received_amount, 0) AS collected FROM new_rows';
+    deleted_rows CONSTANT TEXT := 'SELECT user_id, ptp_status, -1 AS cnt, -ptp_amount AS amount, '
+        || '-COALESCE(payment_received_amount, 0) AS collected FROM old_rows';
+    delta_rows TEXT;
+BEGIN
+    delta_rows := CASE TG_OP
+        WHEN 'INSERT' THEN inserted_rows
+        WHEN 'DELETE' THEN deleted_rows
+        ELSE inserted_rows || ' UNION ALL ' || deleted_rows
+    END;
+
+    -- Groups are upserted in key order so concurrent statements lock rollup rows in the same order
+    EXECUTE 'INSERT INTO ptp_user_stats (user_id, ptp_status, ptp_count, ptp_amount, collected_amount, updated_at) '
+        || 'SELECT user_id, ptp_status, SUM(cnt), SUM(amount), SUM(collected), CURRENT_TIMESTAMP '
+        || 'FROM (' || delta_rows || ') ptp_stats_delta '
+        || 'GROUP BY user_id, ptp_status '
+        || 'HAVING SUM(cnt) <> 0 OR SUM(amount) <> 0 OR SUM(collected) <> 0 '
+        || 'ORDER BY user_id, ptp_status '
+        || 'ON CONFLICT (user_id, ptp_status) DO UPDATE SET '
+        || 'ptp_count = ptp_user_stats.ptp_count + EXCLUDED.ptp_count, '
+        || 'ptp_amount = ptp_user_stats.ptp_amount + EXCLUDED.ptp_amount, '
+        || 'collected_amount = ptp_user_stats.collected_amount + EXCLUDED.collected_amount, '
+        || 'updated_at = CURRENT_TIMESTAMP';
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER ptp_user_stats_insert
+    AFTER INSERT ON ptp_commitments
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION apply_ptp_user_stats_delta();
+
+CREATE TRIGGER ptp_user_stats_update
+    AFTER UPDATE ON ptp_commitments
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION apply_ptp_user_stats_delta();
+
+CREATE TRIGGER ptp_user_stats_delete
+    AFTER DELETE ON ptp_commitments
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION apply_ptp_user_stats_delta();
+
+-- Backfill from the existing commitments
+INSERT INTO ptp_user_stats (user_id, ptp_status, ptp_count, ptp_amount, collected_amount)
+SELECT user_id, ptp_status, COUNT(*), SUM(ptp_amount), COALESCE(SUM(payment_received_amount), 0)
+FROM ptp_commitments
+GROUP BY user_id, ptp_status;
+
+-- Due today / overdue totals read PENDING rows by date, per user or overall
+CREATE INDEX idx_ptp_commitments_user_status_date ON ptp_commitments(user_id, ptp_status, ptp_date);
@@ -0,0 +1,8 @@
+-- ACCESS MANAGEMENT SERVICE - ALLOCATION RULE APPLY STATUSES
+-- Applying a rule commits its cases chunk by chunk, so the rule moves to
+-- APPLYING in its own transaction before the run and to ACTIVE, or to
+-- PARTIALLY_APPLIED when some chunks failed, once the run is over.
+
+ALTER TABLE allocation_rules DROP CONSTRAINT IF EXISTS allocation_rules_status_check;
+ALTER TABLE allocation_rules ADD CONSTRAINT allocation_rules_status_check
+    CHECK (status IN ('ACTIVE', 'INACTIVE', 'DRAFT', 'READY_FOR_APPLY', 'APPLYING', 'PARTIALLY_APPLIED'));
@@ -1,6 +1,7 @@
 package com.finx.allocationreallocationservice.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -31,4 +32,25 @@ public class AsyncConfig {
 
         return executor;
     }
+
+    /**
+     * Bounded pool for partitions of parallel allocation rule runs
+     */
+    @Bean(name = "allocationRuleExecutor")
+    public Executor allocationRuleExecutor(
+            @Value("${allocation.rule.parallel.threads:4}") int threads,
+            @Value("${allocation.rule.parallel.queue-capacity:8}") int queueCapacity) {
+        log.info("Creating allocation rule executor with {} threads", threads);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("alloc-rule-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        return executor;
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -74,10 +75,10 @@ public class AllocationController {
 
     @GetMapping("/{batchId}/errors")
     @Operation(summary = "Export failed allocation rows")
-    public ResponseEntity<byte[]> exportFailedAllocationRows(@PathVariable String batchId) {
+    public ResponseEntity<StreamingResponseBody> exportFailedAllocationRows(@PathVariable String batchId) {
         log.info("Exporting failed allocation rows for batch: {}", batchId);
 
-        byte[] csvData = allocationService.exportFailedAllocationRows(batchId);
+        StreamingResponseBody csvData = allocationService.exportFailedAllocationRows(batchId);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv"));
@@ -249,10 +250,10 @@ public class AllocationController {
 
     @GetMapping("/contacts/{batchId}/errors")
     @Operation(summary = "Export failed contact update rows")
-    public ResponseEntity<byte[]> exportFailedContactUpdateRows(@PathVariable String batchId) {
+    public ResponseEntity<StreamingResponseBody> exportFailedContactUpdateRows(@PathVariable String batchId) {
         log.info("Exporting failed contact update rows for batch: {}", batchId);
 
-        byte[] csvData = allocationService.exportFailedContactUpdateRows(batchId);
+        StreamingResponseBody csvData = allocationService.exportFailedContactUpdateRows(batchId);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv"));
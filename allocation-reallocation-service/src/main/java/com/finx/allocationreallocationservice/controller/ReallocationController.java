@@ -11,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.springframework.web.bind.annotation.RequestPart;
 
@@ -74,10 +75,10 @@ public class ReallocationController {
 
     @GetMapping("/{batchId}/errors")
     @Operation(summary = "Export failed reallocation rows")
-    public ResponseEntity<byte[]> exportFailedReallocationRows(@PathVariable String batchId) {
+    public ResponseEntity<StreamingResponseBody> exportFailedReallocationRows(@PathVariable String batchId) {
         log.info("Exporting failed reallocation rows for batch: {}", batchId);
 
-        byte[] csvData = reallocationService.exportFailedReallocationRows(batchId);
+        StreamingResponseBody csvData = reallocationService.exportFailedReallocationRows(batchId);
 
         org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
         headers.setContentType(org.springframework.http.MediaType.parseMediaType("text/csv"));
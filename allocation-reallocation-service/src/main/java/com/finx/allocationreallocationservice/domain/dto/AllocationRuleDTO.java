@@ -24,7 +24,7 @@ public class AllocationRuleDTO {
     private String description;
 
     // Rule configuration - All mandatory fields
-    @NotBlank(message = "Rule type is required (PERCENTAGE_SPLIT, CAPACITY_BASED, GEOGRAPHY)")
+    @NotBlank(message = "Rule type is required (PERCENTAGE_SPLIT, CAPACITY_BASED, GEOGRAPHY, LEAST_LOADED)")
     private String ruleType;
 
     @NotEmpty(message = "At least one geography is required")
@@ -14,6 +14,7 @@ import java.util.List;
 public class AllocationRuleExecutionResponseDTO {
     private Long ruleId;
     private Integer totalCasesAllocated;
+    private Integer failedPartitions;
     private List<AllocationResultDTO> allocations;
     private String status;
 
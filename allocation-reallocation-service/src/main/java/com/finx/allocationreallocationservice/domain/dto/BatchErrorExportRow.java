@@ -0,0 +1,20 @@
+package com.finx.allocationreallocationservice.domain.dto;
+
+import com.finx.allocationreallocationservice.domain.enums.ErrorType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Projection of a batch error used by the failed cases CSV export
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchErrorExportRow {
+    private Long id;
+    private Integer rowNumber;
+    private String externalCaseId;
+    private ErrorType errorType;
+    private String errorMessage;
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,4 +17,15 @@ public class BulkDeallocationResponseDTO {
     private Integer successfulDeallocations;
     private Integer failedDeallocations;
     private String status;
+    private List<CaseResultDTO> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CaseResultDTO {
+        private Long caseId;
+        private Boolean success;
+        private String message;
+    }
 }
@@ -18,4 +18,9 @@ public class ReallocationByAgentRequestDTO {
     private Long toUserId;
 
     private String reason;
+
+    /**
+     * Only count the allocations that would be moved
+     */
+    private Boolean dryRun;
 }
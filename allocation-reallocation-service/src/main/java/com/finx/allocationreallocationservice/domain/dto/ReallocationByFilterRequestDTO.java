@@ -20,4 +20,9 @@ public class ReallocationByFilterRequestDTO {
     private Long toUserId;
 
     private String reason;
+
+    /**
+     * Only count the allocations that would be moved
+     */
+    private Boolean dryRun;
 }
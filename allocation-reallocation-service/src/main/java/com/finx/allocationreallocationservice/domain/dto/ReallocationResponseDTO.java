@@ -14,4 +14,6 @@ public class ReallocationResponseDTO {
     private String status;
     private Long casesReallocated;
     private Long estimatedCases;
+    private Long casesFailed;
+    private Integer chunksProcessed;
 }
@@ -0,0 +1,17 @@
+package com.finx.allocationreallocationservice.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight projection of an unallocated case used by rule simulation and apply
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnallocatedCaseRow {
+    private Long id;
+    private String geographyCode;
+    private String bucket;
+}
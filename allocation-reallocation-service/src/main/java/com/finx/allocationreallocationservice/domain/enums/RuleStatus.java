@@ -4,5 +4,7 @@ public enum RuleStatus {
     ACTIVE,
     INACTIVE,
     DRAFT,
-    READY_FOR_APPLY
+    READY_FOR_APPLY,
+    APPLYING,
+    PARTIALLY_APPLIED
 }
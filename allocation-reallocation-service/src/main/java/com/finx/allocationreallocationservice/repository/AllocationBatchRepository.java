@@ -3,7 +3,9 @@ package com.finx.allocationreallocationservice.repository;
 import com.finx.allocationreallocationservice.domain.entity.AllocationBatch;
 import com.finx.allocationreallocationservice.domain.enums.BatchStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -39,4 +41,18 @@ public interface AllocationBatchRepository extends JpaRepository<AllocationBatch
     @Query("SELECT COALESCE(SUM(ab.failedAllocations), 0) FROM AllocationBatch ab " +
            "WHERE DATE(ab.uploadedAt) = DATE(:date)")
     Long countFailedAllocationsByDate(LocalDateTime date);
+
+    /**
+     * Add the outcome of one processed chunk to the batch counters.
+     * Applied as a relative update so progress is visible while the batch runs.
+     */
+    @Modifying
+    @Query("UPDATE AllocationBatch ab SET " +
+           "ab.successfulAllocations = COALESCE(ab.successfulAllocations, 0) + :successful, " +
+           "ab.failedAllocations = COALESCE(ab.failedAllocations, 0) + :failed, " +
+           "ab.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE ab.batchId = :batchId")
+    int incrementProgress(@Param("batchId") String batchId,
+                          @Param("successful") int successful,
+                          @Param("failed") int failed);
 }
@@ -4,6 +4,8 @@ import com.finx.allocationreallocationservice.domain.entity.CaseAllocation;
 import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +20,11 @@ public interface CaseAllocationRepository extends JpaRepository<CaseAllocation,
 
     long countByPrimaryAgentIdAndStatus(Long primaryAgentId, AllocationStatus status);
 
+    /**
+     * Number of allocations per agent in the given status, as [agentId, count] rows
+     */
+    @Query("SELECT ca.primaryAgentId, COUNT(ca) FROM CaseAllocation ca WHERE ca.status = :status " +
+            "GROUP BY ca.primaryAgentId")
+    List<Object[]> countGroupedByPrimaryAgent(@Param("status") AllocationStatus status);
+
 }
@@ -1,5 +1,6 @@
 package com.finx.allocationreallocationservice.repository;
 
+import com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow;
 import com.finx.allocationreallocationservice.domain.entity.Case;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +33,13 @@ public interface CaseReadRepository extends JpaRepository<Case, Long> {
     @Query("SELECT c FROM Case c JOIN c.loan l WHERE l.loanAccountNumber = :loanId")
     Optional<Case> findByLoanId(@Param("loanId") String loanId);
 
+    /**
+     * Find cases for a set of loan IDs (loan account numbers) in one query
+     * Used to resolve a whole allocation CSV chunk instead of one lookup per row
+     */
+    @Query("SELECT c FROM Case c JOIN FETCH c.loan l WHERE l.loanAccountNumber IN :loanIds")
+    List<Case> findByLoanIdIn(@Param("loanIds") Collection<String> loanIds);
+
     Long countByCaseStatus(String caseStatus);
 
     /**
@@ -79,4 +88,84 @@ public interface CaseReadRepository extends JpaRepository<Case, Long> {
     @Query("SELECT COUNT(c) FROM Case c JOIN c.loan l WHERE c.caseStatus = 'UNALLOCATED' " +
            "AND l.bucket IN :buckets")
     Long countUnallocatedCasesByBucket(@Param("buckets") List<String> buckets);
+
+    /**
+     * Keyset page of unallocated cases by geography codes (id > lastId, ordered by id)
+     */
+    @Query("SELECT new com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow(c.id, c.geographyCode, l.bucket) " +
+           "FROM Case c JOIN c.loan l WHERE c.caseStatus = 'UNALLOCATED' " +
+           "AND c.geographyCode IN :geographyCodes AND c.id > :lastId ORDER BY c.id")
+    List<UnallocatedCaseRow> findUnallocatedRowsByGeographyAfter(@Param("geographyCodes") List<String> geographyCodes,
+                                                                 @Param("lastId") Long lastId,
+                                                                 Pageable pageable);
+
+    /**
+     * Keyset page of unallocated cases by geography codes and bucket
+     */
+    @Query("SELECT new com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow(c.id, c.geographyCode, l.bucket) " +
+           "FROM Case c JOIN c.loan l WHERE c.caseStatus = 'UNALLOCATED' " +
+           "AND c.geographyCode IN :geographyCodes AND l.bucket IN :buckets AND c.id > :lastId ORDER BY c.id")
+    List<UnallocatedCaseRow> findUnallocatedRowsByGeographyAndBucketAfter(@Param("geographyCodes") List<String> geographyCodes,
+                                                                          @Param("buckets") List<String> buckets,
+                                                                          @Param("lastId") Long lastId,
+                                                                          Pageable pageable);
+
+    /**
+     * Keyset page of unallocated cases by bucket only
+     */
+    @Query("SELECT new com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow(c.id, c.geographyCode, l.bucket) " +
+           "FROM Case c JOIN c.loan l WHERE c.caseStatus = 'UNALLOCATED' " +
+           "AND l.bucket IN :buckets AND c.id > :lastId ORDER BY c.id")
+    List<UnallocatedCaseRow> findUnallocatedRowsByBucketAfter(@Param("buckets") List<String> buckets,
+                                                              @Param("lastId") Long lastId,
+                                                              Pageable pageable);
+
+    /**
+     * Keyset page of all unallocated cases
+     */
+    @Query("SELECT new com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow(c.id, c.geographyCode, l.bucket) " +
+           "FROM Case c JOIN c.loan l WHERE c.caseStatus = 'UNALLOCATED' AND c.id > :lastId ORDER BY c.id")
+    List<UnallocatedCaseRow> findUnallocatedRowsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * Projection rows for an explicit set of case IDs
+     */
+    @Query("SELECT new com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow(c.id, c.geographyCode, l.bucket) " +
+           "FROM Case c JOIN c.loan l WHERE c.id IN :caseIds")
+    List<UnallocatedCaseRow> findRowsByIdIn(@Param("caseIds") Collection<Long> caseIds);
+
+    /**
+     * Unallocated cases per geography for the given geography codes, as [geographyCode, count] rows
+     */
+    @Query("SELECT c.geographyCode, COUNT(c) FROM Case c WHERE c.caseStatus = 'UNALLOCATED' " +
+           "AND c.geographyCode IN :geographyCodes GROUP BY c.geographyCode")
+    List<Object[]> countUnallocatedGroupedByGeography(@Param("geographyCodes") List<String> geographyCodes);
+
+    /**
+     * Unallocated cases per geography for the given geography codes and buckets
+     */
+    @Query("SELECT c.geographyCode, COUNT(c) FROM Case c JOIN c.loan l WHERE c.caseStatus = 'UNALLOCATED' " +
+           "AND c.geographyCode IN :geographyCodes AND l.bucket IN :buckets GROUP BY c.geographyCode")
+    List<Object[]> countUnallocatedGroupedByGeographyAndBucket(@Param("geographyCodes") List<String> geographyCodes,
+                                                               @Param("buckets") List<String> buckets);
+
+    /**
+     * Unallocated cases per geography for the given buckets
+     */
+    @Query("SELECT c.geographyCode, COUNT(c) FROM Case c JOIN c.loan l WHERE c.caseStatus = 'UNALLOCATED' " +
+           "AND l.bucket IN :buckets GROUP BY c.geographyCode")
+    List<Object[]> countUnallocatedGroupedByGeographyForBuckets(@Param("buckets") List<String> buckets);
+
+    /**
+     * All unallocated cases per geography
+     */
+    @Query("SELECT c.geographyCode, COUNT(c) FROM Case c WHERE c.caseStatus = 'UNALLOCATED' " +
+           "GROUP BY c.geographyCode")
+    List<Object[]> countAllUnallocatedGroupedByGeography();
+
+    /**
+     * Cases per geography for an explicit set of case IDs
+     */
+    @Query("SELECT c.geographyCode, COUNT(c) FROM Case c WHERE c.id IN :caseIds GROUP BY c.geographyCode")
+    List<Object[]> countGroupedByGeographyForIds(@Param("caseIds") Collection<Long> caseIds);
 }
@@ -2,6 +2,7 @@ package com.finx.allocationreallocationservice.service;
 
 import com.finx.allocationreallocationservice.domain.dto.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,7 +14,7 @@ public interface AllocationService {
 
     AllocationBatchStatusDTO getAllocationBatchStatus(String batchId);
 
-    byte[] exportFailedAllocationRows(String batchId);
+    StreamingResponseBody exportFailedAllocationRows(String batchId);
 
     List<AllocationBatchDTO> getAllBatches(String status, LocalDate startDate, LocalDate endDate, int page, int size);
 
@@ -54,7 +55,7 @@ public interface AllocationService {
 
     ContactUpdateBatchStatusDTO getContactUpdateBatchStatus(String batchId);
 
-    byte[] exportFailedContactUpdateRows(String batchId);
+    StreamingResponseBody exportFailedContactUpdateRows(String batchId);
 
     // Error Management
     List<ErrorDTO> getAllErrors();
@@ -6,6 +6,7 @@ import com.finx.allocationreallocationservice.domain.dto.ReallocationByAgentRequ
 import com.finx.allocationreallocationservice.domain.dto.ReallocationByFilterRequestDTO;
 import com.finx.allocationreallocationservice.domain.dto.ReallocationResponseDTO;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface ReallocationService {
 
@@ -13,7 +14,7 @@ public interface ReallocationService {
 
     AllocationBatchStatusDTO getReallocationBatchStatus(String batchId);
 
-    byte[] exportFailedReallocationRows(String batchId);
+    StreamingResponseBody exportFailedReallocationRows(String batchId);
 
     ReallocationResponseDTO reallocateByAgent(ReallocationByAgentRequestDTO request);
 
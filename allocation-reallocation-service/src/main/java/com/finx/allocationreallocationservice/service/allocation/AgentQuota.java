@@ -0,0 +1,16 @@
+package com.finx.allocationreallocationservice.service.allocation;
+
+/**
+ * Number of cases an agent should receive from one rule run
+ *
+ * @param agentId       Agent receiving the cases
+ * @param quota         Number of cases to allocate to the agent
+ * @param reason        Reason written to allocation history
+ * @param geographyCode Geography the quota is limited to, or null for any case
+ */
+public record AgentQuota(Long agentId, int quota, String reason, String geographyCode) {
+
+    public AgentQuota(Long agentId, int quota, String reason) {
+        this(agentId, quota, reason, null);
+    }
+}
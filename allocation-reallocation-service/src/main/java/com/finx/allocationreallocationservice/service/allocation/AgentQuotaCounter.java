@@ -0,0 +1,121 @@
+package com.finx.allocationreallocationservice.service.allocation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free per-agent quota tracker shared by all partitions of a rule run
+ *
+ * Agents are filled in plan order, exactly like the single-threaded loop, so
+ * the per-agent totals are the same whether a rule runs serially or in
+ * parallel; only which case lands with which agent can differ. When the plan
+ * has geography-scoped quotas, a case only claims from the quotas of its own
+ * geography.
+ */
+public class AgentQuotaCounter {
+
+    private static final String ANY_GEOGRAPHY = "";
+
+    private final List<AgentQuota> quotas;
+    private final AtomicIntegerArray remaining;
+    private final AtomicInteger totalRemaining = new AtomicInteger();
+    private final Map<String, int[]> indicesByScope = new HashMap<>();
+    private final Map<String, AtomicInteger> cursorsByScope = new HashMap<>();
+    private final String[] scopeOfIndex;
+    private final int[] positionOfIndex;
+    private final boolean geographyScoped;
+
+    public AgentQuotaCounter(List<AgentQuota> quotas) {
+        this.quotas = List.copyOf(quotas);
+        this.remaining = new AtomicIntegerArray(quotas.size());
+        this.scopeOfIndex = new String[quotas.size()];
+        this.positionOfIndex = new int[quotas.size()];
+        this.geographyScoped = quotas.stream().anyMatch(quota -> quota.geographyCode() != null);
+
+        Map<String, List<Integer>> scopes = new HashMap<>();
+        for (int i = 0; i < quotas.size(); i++) {
+            int quota = Math.max(0, quotas.get(i).quota());
+            remaining.set(i, quota);
+            totalRemaining.addAndGet(quota);
+            scopeOfIndex[i] = scopeOf(quotas.get(i).geographyCode());
+            List<Integer> scopeIndices = scopes.computeIfAbsent(scopeOfIndex[i], scope -> new ArrayList<>());
+            positionOfIndex[i] = scopeIndices.size();
+            scopeIndices.add(i);
+        }
+        scopes.forEach((scope, indices) -> {
+            indicesByScope.put(scope, indices.stream().mapToInt(Integer::intValue).toArray());
+            cursorsByScope.put(scope, new AtomicInteger());
+        });
+    }
+
+    /**
+     * Reserve one case slot for a case in the given geography
+     *
+     * @return Index of the quota the case belongs to, or -1 when no quota is left for it
+     */
+    public int claim(String geographyCode) {
+        String scope = geographyScoped ? scopeOf(geographyCode) : ANY_GEOGRAPHY;
+        int[] indices = indicesByScope.get(scope);
+        if (indices == null) {
+            return -1;
+        }
+        AtomicInteger cursor = cursorsByScope.get(scope);
+
+        int position = cursor.get();
+        while (position < indices.length) {
+            int index = indices[position];
+            int left = remaining.get(index);
+            if (left > 0) {
+                if (remaining.compareAndSet(index, left, left - 1)) {
+                    totalRemaining.decrementAndGet();
+                    return index;
+                }
+            } else {
+                cursor.compareAndSet(position, position + 1);
+                position = cursor.get();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Give back slots whose allocation was rolled back, so later claims can reuse them
+     */
+    public void release(int index, int count) {
+        if (count <= 0) {
+            return;
+        }
+        remaining.addAndGet(index, count);
+        totalRemaining.addAndGet(count);
+
+        // Cursors only move forward in claim(); pull this scope's cursor back to the freed quota
+        AtomicInteger cursor = cursorsByScope.get(scopeOfIndex[index]);
+        int position = cursor.get();
+        while (position > positionOfIndex[index] && !cursor.compareAndSet(position, positionOfIndex[index])) {
+            position = cursor.get();
+        }
+    }
+
+    /**
+     * True once every quota of the plan has been claimed
+     */
+    public boolean isExhausted() {
+        return totalRemaining.get() <= 0;
+    }
+
+    public AgentQuota get(int index) {
+        return quotas.get(index);
+    }
+
+    public int size() {
+        return quotas.size();
+    }
+
+    private static String scopeOf(String geographyCode) {
+        return geographyCode != null ? geographyCode : ANY_GEOGRAPHY;
+    }
+}
@@ -0,0 +1,124 @@
+package com.finx.allocationreallocationservice.service.allocation;
+
+import com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow;
+import com.finx.allocationreallocationservice.domain.entity.AllocationHistory;
+import com.finx.allocationreallocationservice.domain.entity.CaseAllocation;
+import com.finx.allocationreallocationservice.domain.enums.AllocationAction;
+import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
+import com.finx.allocationreallocationservice.service.persistence.AgentStatisticsUpdater;
+import com.finx.allocationreallocationservice.service.persistence.AllocationBulkWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AllocationPartitionWriter
+ * Purpose: Assigns one partition of cases to agents and persists it
+ *
+ * Separate service so that allocatePartitionInNewTransaction gets its own
+ * transaction through the Spring proxy, from a worker thread or the caller's.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AllocationPartitionWriter {
+
+    private final AllocationBulkWriter allocationBulkWriter;
+    private final AgentStatisticsUpdater agentStatisticsUpdater;
+
+    /**
+     * Allocate a partition in its own transaction (serial chunks and parallel partitions alike)
+     *
+     * @return Cases allocated per quota index
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int[] allocatePartitionInNewTransaction(List<UnallocatedCaseRow> rows, AgentQuotaCounter counter,
+            Long ruleId) {
+        return doAllocate(rows, counter, ruleId);
+    }
+
+    private int[] doAllocate(List<UnallocatedCaseRow> rows, AgentQuotaCounter counter, Long ruleId) {
+        int[] allocated = new int[counter.size()];
+        List<CaseAllocation> allocations = new ArrayList<>(rows.size());
+        List<AllocationHistory> historyEntries = new ArrayList<>(rows.size());
+        Map<Long, Integer> agentCaseCount = new HashMap<>();
+        releaseClaimsOnRollback(allocated, counter);
+
+        for (UnallocatedCaseRow row : rows) {
+            int index = counter.claim(row.getGeographyCode());
+            if (index < 0) {
+                // No quota left for this case's geography; others may still have room
+                if (counter.isExhausted()) {
+                    break;
+                }
+                continue;
+            }
+            AgentQuota quota = counter.get(index);
+
+            allocations.add(CaseAllocation.builder()
+                    .caseId(row.getId())
+                    .primaryAgentId(quota.agentId())
+                    .allocatedToType("USER")
+                    .allocationType("PRIMARY")
+                    .status(AllocationStatus.ALLOCATED)
+                    .allocationRuleId(ruleId)
+                    .allocatedAt(LocalDateTime.now())
+                    .workloadPercentage(new BigDecimal("100.00"))
+                    .geographyCode(row.getGeographyCode())
+                    .build());
+
+            historyEntries.add(AllocationHistory.builder()
+                    .caseId(row.getId())
+                    .allocatedToUserId(quota.agentId())
+                    .newOwnerType("USER")
+                    .action(AllocationAction.ALLOCATED)
+                    .reason(quota.reason())
+                    .allocatedAt(LocalDateTime.now())
+                    .build());
+
+            allocated[index]++;
+            agentCaseCount.merge(quota.agentId(), 1, Integer::sum);
+        }
+
+        allocationBulkWriter.insertAllocations(allocations);
+        allocationBulkWriter.insertHistory(historyEntries);
+        allocationBulkWriter.markCasesAllocated(allocations);
+
+        // Update user statistics for this partition
+        agentStatisticsUpdater.applyAllocations(agentCaseCount);
+
+        log.debug("Allocated partition of {} cases for rule {}", allocations.size(), ruleId);
+        return allocated;
+    }
+
+    /**
+     * Hand the claimed slots back to the counter when this partition's
+     * transaction does not commit, so the quota is not lost with the rows
+     */
+    private void releaseClaimsOnRollback(int[] allocated, AgentQuotaCounter counter) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    for (int i = 0; i < allocated.length; i++) {
+                        counter.release(i, allocated[i]);
+                    }
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.finx.allocationreallocationservice.service.allocation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finx.allocationreallocationservice.domain.entity.AuditLog;
+import com.finx.allocationreallocationservice.domain.enums.RuleStatus;
+import com.finx.allocationreallocationservice.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AllocationRuleStateWriter
+ * Purpose: Moves a rule through its apply lifecycle in short transactions
+ *
+ * Rule application commits its cases chunk by chunk, so the status changes
+ * around it cannot live in one enclosing transaction. The rule is claimed
+ * (READY_FOR_APPLY or PARTIALLY_APPLIED to APPLYING) with a conditional
+ * UPDATE committed before the run, which also keeps two applies of the same
+ * rule from running at once, and released with its final status and audit
+ * row after the run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AllocationRuleStateWriter {
+
+    private static final String START_APPLYING_SQL = "UPDATE allocation_rules SET status = 'APPLYING', " +
+            "updated_at = NOW() WHERE id = ? AND status IN ('READY_FOR_APPLY', 'PARTIALLY_APPLIED')";
+
+    private static final String FINISH_APPLYING_SQL = "UPDATE allocation_rules SET status = ?, updated_at = NOW() " +
+            "WHERE id = ? AND status = 'APPLYING'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return false when the rule is no longer ready to apply, e.g. another apply claimed it first
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @CacheEvict(value = "allocationRules", allEntries = true)
+    public boolean startApplying(Long ruleId) {
+        return jdbcTemplate.update(START_APPLYING_SQL, ruleId) == 1;
+    }
+
+    /**
+     * Set the outcome of an apply run and record it in the audit log
+     */
+    @SuppressWarnings("null")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @CacheEvict(value = "allocationRules", allEntries = true)
+    public void finishApplying(Long ruleId, RuleStatus previousStatus, RuleStatus status, Map<String, Object> outcome) {
+        if (jdbcTemplate.update(FINISH_APPLYING_SQL, status.name(), ruleId) == 0) {
+            log.warn("Rule {} was no longer APPLYING when its run finished with status {}", ruleId, status);
+        }
+
+        Map<String, Object> after = new HashMap<>(outcome);
+        after.put("status", status.name());
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("before", Map.of("previousStatus", previousStatus.name()));
+        changes.put("after", after);
+        try {
+            auditLogRepository.save(AuditLog.builder()
+                    .entityType("ALLOCATION_RULE")
+                    .entityId(ruleId)
+                    .action("APPLY")
+                    .changedFields(objectMapper.writeValueAsString(changes))
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.error("Error creating audit log", e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.finx.allocationreallocationservice.service.allocation;
+
+import com.finx.allocationreallocationservice.domain.dto.UnallocatedCaseRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the partitions of a large rule application in parallel
+ *
+ * Partitions (ID ranges handed over by the keyset stream) are allocated on the
+ * bounded "allocationRuleExecutor", each in its own transaction. All
+ * partitions share one AgentQuotaCounter, so per-agent totals match the serial
+ * path. A semaphore caps the number of partitions held in memory; the
+ * submitting thread blocks until a slot frees up. A partition that fails is
+ * rolled back, its quota claims go back to the counter, and it is retried
+ * once serially after the parallel phase.
+ */
+@Slf4j
+@Component
+public class PartitionedRuleExecutor {
+
+    private final AllocationPartitionWriter partitionWriter;
+    private final Executor allocationRuleExecutor;
+
+    @Value("${allocation.rule.parallel.threads:4}")
+    private int threads;
+
+    @Value("${allocation.rule.parallel.queue-capacity:8}")
+    private int queueCapacity;
+
+    public PartitionedRuleExecutor(AllocationPartitionWriter partitionWriter,
+            @Qualifier("allocationRuleExecutor") Executor allocationRuleExecutor) {
+        this.partitionWriter = partitionWriter;
+        this.allocationRuleExecutor = allocationRuleExecutor;
+    }
+
+    public Run start(AgentQuotaCounter counter, Long ruleId) {
+        return new Run(counter, ruleId, new Semaphore(threads + queueCapacity));
+    }
+
+    /**
+     * Merged per-quota counts of a run, plus the partitions that could not be allocated
+     */
+    public record Result(int[] allocated, int failedPartitions) {
+    }
+
+    /**
+     * One parallel rule run; submit partitions, then await the merged result
+     */
+    public class Run {
+        private final AgentQuotaCounter counter;
+        private final Long ruleId;
+        private final Semaphore inFlight;
+        private final List<CompletableFuture<int[]>> futures = new ArrayList<>();
+        private final ConcurrentLinkedQueue<List<UnallocatedCaseRow>> failed = new ConcurrentLinkedQueue<>();
+
+        private Run(AgentQuotaCounter counter, Long ruleId, Semaphore inFlight) {
+            this.counter = counter;
+            this.ruleId = ruleId;
+            this.inFlight = inFlight;
+        }
+
+        public void submit(List<UnallocatedCaseRow> partition) {
+            inFlight.acquireUninterruptibly();
+            try {
+                futures.add(CompletableFuture
+                        .supplyAsync(() -> partitionWriter.allocatePartitionInNewTransaction(partition, counter, ruleId),
+                                allocationRuleExecutor)
+                        .whenComplete((result, error) -> {
+                            if (error != null) {
+                                failed.add(partition);
+                            }
+                            inFlight.release();
+                        }));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        /**
+         * Wait for all partitions and merge their per-quota counts. Failed
+         * partitions were rolled back and released their claims; they are
+         * retried one by one on the calling thread.
+         */
+        public Result await() {
+            int[] merged = new int[counter.size()];
+
+            for (CompletableFuture<int[]> future : futures) {
+                try {
+                    addTo(merged, future.join());
+                } catch (CompletionException e) {
+                    log.error("Allocation partition for rule {} failed: {}", ruleId,
+                            e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e);
+                }
+            }
+
+            int retried = failed.size();
+            int failedPartitions = 0;
+            for (List<UnallocatedCaseRow> partition : failed) {
+                if (counter.isExhausted()) {
+                    break;
+                }
+                try {
+                    addTo(merged, partitionWriter.allocatePartitionInNewTransaction(partition, counter, ruleId));
+                } catch (RuntimeException e) {
+                    failedPartitions++;
+                    log.error("Retry of allocation partition for rule {} failed: {}", ruleId, e.getMessage(), e);
+                }
+            }
+
+            if (failedPartitions > 0) {
+                log.warn("Rule {}: {} out of {} partitions failed and were rolled back", ruleId, failedPartitions,
+                        futures.size());
+            } else if (retried > 0) {
+                log.info("Rule {}: all {} partitions allocated, {} after a serial retry", ruleId, futures.size(),
+                        retried);
+            } else {
+                log.info("Rule {}: all {} partitions allocated", ruleId, futures.size());
+            }
+            return new Result(merged, failedPartitions);
+        }
+
+        private void addTo(int[] merged, int[] allocated) {
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += allocated[i];
+            }
+        }
+    }
+}
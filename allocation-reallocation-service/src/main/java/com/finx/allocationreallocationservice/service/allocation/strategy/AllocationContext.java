@@ -0,0 +1,34 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import com.finx.allocationreallocationservice.client.dto.UserDTO;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input of an allocation strategy
+ */
+@Data
+@Builder
+public class AllocationContext {
+    private String ruleName;
+    private List<UserDTO> agents;
+    private int totalCases;
+
+    // Only set when applying a PERCENTAGE_SPLIT rule
+    private List<Integer> percentages;
+
+    // Current ALLOCATED cases per agent
+    private Map<Long, Integer> currentWorkloads;
+
+    // Matching cases per geography, only set when the strategy requires it
+    private Map<String, Integer> casesByGeography;
+
+    public int availableCapacity(UserDTO agent) {
+        int capacity = agent.getCapacity() != null ? agent.getCapacity() : 100;
+        int workload = currentWorkloads != null ? currentWorkloads.getOrDefault(agent.getId(), 0) : 0;
+        return Math.max(0, capacity - workload);
+    }
+}
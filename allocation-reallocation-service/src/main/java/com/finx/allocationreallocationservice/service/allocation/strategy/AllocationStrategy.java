@@ -0,0 +1,34 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import com.finx.allocationreallocationservice.service.allocation.AgentQuota;
+
+import java.util.List;
+
+/**
+ * Allocation algorithm for one rule type
+ *
+ * A strategy turns the eligible agents and the number of matching cases into
+ * a plan of per-agent quotas. Simulation reports the plan and apply executes
+ * it, so both always agree.
+ */
+public interface AllocationStrategy {
+
+    /**
+     * Rule type handled by this strategy, as stored in the rule criteria
+     */
+    String getRuleType();
+
+    /**
+     * Whether the context must carry the number of matching cases per geography
+     */
+    default boolean requiresGeographyCounts() {
+        return false;
+    }
+
+    /**
+     * Build the allocation plan
+     *
+     * @return Quotas in the order agents should be filled
+     */
+    List<AgentQuota> plan(AllocationContext context);
+}
@@ -0,0 +1,47 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Looks up the allocation strategy for a rule type
+ */
+@Slf4j
+@Component
+public class AllocationStrategyRegistry {
+
+    private final Map<String, AllocationStrategy> strategies = new TreeMap<>();
+    private final AllocationStrategy defaultStrategy;
+
+    public AllocationStrategyRegistry(List<AllocationStrategy> strategies,
+            EqualDistributionStrategy defaultStrategy) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getRuleType(), strategy));
+        this.defaultStrategy = defaultStrategy;
+        log.info("Registered allocation strategies: {}", this.strategies.keySet());
+    }
+
+    /**
+     * Strategy for the rule type; unknown types fall back to equal distribution
+     */
+    public AllocationStrategy get(String ruleType) {
+        AllocationStrategy strategy = ruleType != null ? strategies.get(ruleType) : null;
+        if (strategy == null) {
+            log.warn("Unknown allocation rule type: {}. Using equal distribution.", ruleType);
+            return defaultStrategy;
+        }
+        return strategy;
+    }
+
+    public boolean supports(String ruleType) {
+        return ruleType != null && strategies.containsKey(ruleType);
+    }
+
+    public Set<String> getRuleTypes() {
+        return strategies.keySet();
+    }
+}
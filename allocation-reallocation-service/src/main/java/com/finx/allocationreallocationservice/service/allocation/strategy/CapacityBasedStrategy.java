@@ -0,0 +1,55 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import com.finx.allocationreallocationservice.client.dto.UserDTO;
+import com.finx.allocationreallocationservice.service.allocation.AgentQuota;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CAPACITY_BASED rules: cases are split in proportion to each agent's available
+ * capacity and never above it. Leftovers from rounding go to the agents with
+ * the largest remainder, so no case is left out while capacity remains.
+ */
+@Slf4j
+@Component
+public class CapacityBasedStrategy implements AllocationStrategy {
+
+    @Override
+    public String getRuleType() {
+        return "CAPACITY_BASED";
+    }
+
+    @Override
+    public List<AgentQuota> plan(AllocationContext context) {
+        List<UserDTO> agents = context.getAgents();
+
+        int[] available = new int[agents.size()];
+        double[] weights = new double[agents.size()];
+        int totalAvailableCapacity = 0;
+        for (int i = 0; i < agents.size(); i++) {
+            available[i] = context.availableCapacity(agents.get(i));
+            weights[i] = available[i];
+            totalAvailableCapacity += available[i];
+        }
+
+        if (totalAvailableCapacity == 0) {
+            log.warn("No available capacity among agents. Using equal distribution.");
+            return EqualDistributionStrategy.equalQuotas(agents, context.getTotalCases(),
+                    "Equal allocation: " + context.getRuleName());
+        }
+
+        int[] shares = QuotaMath.apportion(context.getTotalCases(), weights, available);
+
+        List<AgentQuota> quotas = new ArrayList<>();
+        for (int i = 0; i < agents.size(); i++) {
+            quotas.add(new AgentQuota(agents.get(i).getId(), shares[i],
+                    "CAPACITY_BASED allocation: " + context.getRuleName()));
+        }
+        log.info("CAPACITY_BASED plan: total capacity = {}, total cases = {}", totalAvailableCapacity,
+                context.getTotalCases());
+        return quotas;
+    }
+}
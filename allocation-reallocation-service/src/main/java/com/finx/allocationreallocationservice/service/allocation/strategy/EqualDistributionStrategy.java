@@ -0,0 +1,40 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import com.finx.allocationreallocationservice.client.dto.UserDTO;
+import com.finx.allocationreallocationservice.service.allocation.AgentQuota;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GEOGRAPHY rules: cases are split equally among the agents, the remainder
+ * going to the first few agents. Also used for unknown rule types.
+ */
+@Component
+public class EqualDistributionStrategy implements AllocationStrategy {
+
+    @Override
+    public String getRuleType() {
+        return "GEOGRAPHY";
+    }
+
+    @Override
+    public List<AgentQuota> plan(AllocationContext context) {
+        return equalQuotas(context.getAgents(), context.getTotalCases(), "Equal allocation: " + context.getRuleName());
+    }
+
+    static List<AgentQuota> equalQuotas(List<UserDTO> agents, int totalCases, String reason) {
+        List<AgentQuota> quotas = new ArrayList<>();
+        if (agents.isEmpty()) {
+            return quotas;
+        }
+        int casesPerAgent = totalCases / agents.size();
+        int remainder = totalCases % agents.size();
+
+        for (int i = 0; i < agents.size(); i++) {
+            quotas.add(new AgentQuota(agents.get(i).getId(), casesPerAgent + (i < remainder ? 1 : 0), reason));
+        }
+        return quotas;
+    }
+}
@@ -0,0 +1,128 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finx.allocationreallocationservice.client.dto.UserDTO;
+import com.finx.allocationreallocationservice.service.allocation.AgentQuota;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * LEAST_LOADED rules: every case goes to the agent of its geography with the
+ * lowest current load that still has capacity.
+ *
+ * Geographies are processed in name order with a min-heap of eligible agents
+ * keyed by load (current workload plus cases assigned so far), giving
+ * O(n log a) for n cases and a agents. Cases of a geography without an agent
+ * with free capacity stay unallocated. Quotas are scoped to their geography.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeastLoadedStrategy implements AllocationStrategy {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getRuleType() {
+        return "LEAST_LOADED";
+    }
+
+    @Override
+    public boolean requiresGeographyCounts() {
+        return true;
+    }
+
+    @Override
+    public List<AgentQuota> plan(AllocationContext context) {
+        List<UserDTO> agents = context.getAgents();
+        int agentCount = agents.size();
+
+        int[] load = new int[agentCount];
+        int[] available = new int[agentCount];
+        List<Set<String>> agentGeographies = new ArrayList<>(agentCount);
+        for (int i = 0; i < agentCount; i++) {
+            UserDTO agent = agents.get(i);
+            load[i] = context.getCurrentWorkloads() != null
+                    ? context.getCurrentWorkloads().getOrDefault(agent.getId(), 0)
+                    : 0;
+            available[i] = context.availableCapacity(agent);
+            agentGeographies.add(parseGeographies(agent));
+        }
+
+        Comparator<Integer> leastLoaded = Comparator.<Integer>comparingInt(i -> load[i])
+                .thenComparing(i -> agents.get(i).getId());
+
+        String reason = "LEAST_LOADED allocation: " + context.getRuleName();
+        List<AgentQuota> quotas = new ArrayList<>();
+        int remainingCases = context.getTotalCases();
+        int unassigned = 0;
+
+        Map<String, Integer> casesByGeography = new TreeMap<>(context.getCasesByGeography());
+        for (Map.Entry<String, Integer> entry : casesByGeography.entrySet()) {
+            String geography = entry.getKey();
+            int cases = Math.min(entry.getValue(), remainingCases);
+
+            PriorityQueue<Integer> heap = new PriorityQueue<>(leastLoaded);
+            for (int i = 0; i < agentCount; i++) {
+                if (available[i] > 0 && agentGeographies.get(i).contains(geography)) {
+                    heap.add(i);
+                }
+            }
+
+            int[] assigned = new int[agentCount];
+            int assignedInGeography = 0;
+            while (assignedInGeography < cases && !heap.isEmpty()) {
+                int agent = heap.poll();
+                assigned[agent]++;
+                load[agent]++;
+                available[agent]--;
+                assignedInGeography++;
+                if (available[agent] > 0) {
+                    heap.add(agent);
+                }
+            }
+
+            for (int i = 0; i < agentCount; i++) {
+                if (assigned[i] > 0) {
+                    quotas.add(new AgentQuota(agents.get(i).getId(), assigned[i], reason, geography));
+                }
+            }
+            remainingCases -= assignedInGeography;
+            unassigned += entry.getValue() - assignedInGeography;
+            if (remainingCases <= 0) {
+                break;
+            }
+        }
+
+        if (unassigned > 0) {
+            log.warn("LEAST_LOADED plan leaves {} cases unallocated (no agent with capacity in their geography "
+                    + "or case limit reached)", unassigned);
+        }
+        return quotas;
+    }
+
+    private Set<String> parseGeographies(UserDTO agent) {
+        if (agent.getAssignedGeographies() == null || agent.getAssignedGeographies().isBlank()) {
+            return Set.of();
+        }
+        try {
+            return new HashSet<>(objectMapper.readValue(agent.getAssignedGeographies(),
+                    new TypeReference<List<String>>() {
+                    }));
+        } catch (Exception e) {
+            log.warn("Invalid assigned geographies for agent {}: {}", agent.getId(), e.getMessage());
+            return Set.of();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import com.finx.allocationreallocationservice.client.dto.UserDTO;
+import com.finx.allocationreallocationservice.service.allocation.AgentQuota;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PERCENTAGE_SPLIT rules: each agent receives its percentage of the cases.
+ * Without percentages (simulation) every agent gets an equal percentage.
+ */
+@Component
+public class PercentageSplitStrategy implements AllocationStrategy {
+
+    @Override
+    public String getRuleType() {
+        return "PERCENTAGE_SPLIT";
+    }
+
+    @Override
+    public List<AgentQuota> plan(AllocationContext context) {
+        List<UserDTO> agents = context.getAgents();
+        List<Integer> percentages = context.getPercentages();
+
+        double[] weights = new double[agents.size()];
+        for (int i = 0; i < agents.size(); i++) {
+            weights[i] = percentages != null ? percentages.get(i) : 1.0;
+        }
+        int[] shares = QuotaMath.apportion(context.getTotalCases(), weights, null);
+
+        List<AgentQuota> quotas = new ArrayList<>();
+        for (int i = 0; i < agents.size(); i++) {
+            String reason = percentages != null
+                    ? "PERCENTAGE_SPLIT allocation: " + context.getRuleName() + " (" + percentages.get(i) + "%)"
+                    : "PERCENTAGE_SPLIT allocation: " + context.getRuleName();
+            quotas.add(new AgentQuota(agents.get(i).getId(), shares[i], reason));
+        }
+        return quotas;
+    }
+}
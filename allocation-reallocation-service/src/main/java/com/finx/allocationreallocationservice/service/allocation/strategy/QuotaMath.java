@@ -0,0 +1,71 @@
+package com.finx.allocationreallocationservice.service.allocation.strategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Largest remainder apportionment shared by the proportional strategies
+ */
+final class QuotaMath {
+
+    private QuotaMath() {
+    }
+
+    /**
+     * Split total into integer shares proportional to weights so that the shares
+     * sum to total, unless caps make that impossible.
+     *
+     * @param total   Number of cases to split
+     * @param weights Non-negative weight per agent
+     * @param caps    Maximum share per agent, or null for no limit
+     */
+    static int[] apportion(int total, double[] weights, int[] caps) {
+        int[] shares = new int[weights.length];
+        double totalWeight = 0;
+        for (double weight : weights) {
+            totalWeight += Math.max(0, weight);
+        }
+        if (total <= 0 || totalWeight <= 0) {
+            return shares;
+        }
+
+        double[] remainders = new double[weights.length];
+        int assigned = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double ideal = total * Math.max(0, weights[i]) / totalWeight;
+            shares[i] = (int) Math.floor(ideal);
+            if (caps != null) {
+                shares[i] = Math.min(shares[i], caps[i]);
+            }
+            remainders[i] = ideal - Math.floor(ideal);
+            assigned += shares[i];
+        }
+
+        // Hand out the rounding leftovers by largest remainder, skipping agents at their cap
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.<Integer>comparingDouble(i -> remainders[i]).reversed()
+                .thenComparingInt(i -> i));
+
+        boolean progress = true;
+        while (assigned < total && progress) {
+            progress = false;
+            for (int i : order) {
+                if (assigned >= total) {
+                    break;
+                }
+                if (caps == null || shares[i] < caps[i]) {
+                    shares[i]++;
+                    assigned++;
+                    progress = true;
+                }
+            }
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,258 @@
+package com.finx.allocationreallocationservice.service.async;
+
+import com.finx.allocationreallocationservice.domain.dto.AllocationCsvRow;
+import com.finx.allocationreallocationservice.domain.entity.AllocationHistory;
+import com.finx.allocationreallocationservice.domain.entity.BatchError;
+import com.finx.allocationreallocationservice.domain.entity.Case;
+import com.finx.allocationreallocationservice.domain.entity.CaseAllocation;
+import com.finx.allocationreallocationservice.domain.enums.AllocationAction;
+import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
+import com.finx.allocationreallocationservice.domain.enums.ErrorType;
+import com.finx.allocationreallocationservice.repository.AllocationBatchRepository;
+import com.finx.allocationreallocationservice.repository.CaseReadRepository;
+import com.finx.allocationreallocationservice.repository.UserRepository;
+import com.finx.allocationreallocationservice.service.persistence.AgentStatisticsUpdater;
+import com.finx.allocationreallocationservice.service.persistence.AllocationBulkWriter;
+import com.finx.allocationreallocationservice.service.persistence.BatchErrorSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AllocationBatchChunkProcessor
+ * Purpose: Processes one chunk of an allocation CSV upload in its own
+ * transaction
+ *
+ * This service is separate from AllocationBatchProcessingServiceImpl so that
+ * the REQUIRES_NEW propagation is applied through the Spring proxy. Each chunk
+ * commits its allocations, history and the batch progress counters together,
+ * so a failure in a later chunk never rolls back earlier ones. Its error rows
+ * go to the BatchErrorSink once the chunk has committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AllocationBatchChunkProcessor {
+
+    private final AllocationBatchRepository allocationBatchRepository;
+    private final BatchErrorSink batchErrorSink;
+    private final UserRepository userRepository;
+    private final CaseReadRepository caseReadRepository;
+    private final AllocationBulkWriter allocationBulkWriter;
+    private final AgentStatisticsUpdater agentStatisticsUpdater;
+
+    /**
+     * Validate and persist one chunk of allocation rows.
+     *
+     * @param batchId        Allocation batch the rows belong to
+     * @param rows           Rows of this chunk, in file order
+     * @param firstRowNumber 1-based data row number of the first row in the chunk
+     * @return Number of successful and failed rows in this chunk
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult processAllocationChunk(String batchId, List<AllocationCsvRow> rows, int firstRowNumber) {
+        List<BatchError> errors = new ArrayList<>();
+        List<CaseAllocation> allocations = new ArrayList<>(rows.size());
+        List<AllocationHistory> historyEntries = new ArrayList<>(rows.size());
+        Map<Long, Integer> agentCaseCount = new HashMap<>(); // Track cases allocated to each agent
+
+        // Resolve every loan_id and agent ID of the chunk up front with set-based queries
+        ChunkReferences references = resolveReferences(rows);
+
+        int rowNumber = firstRowNumber;
+        for (AllocationCsvRow row : rows) {
+            String validationError = getValidationError(row, references);
+            if (validationError == null) {
+                // Lookup case_id by loan_id (user-friendly identifier)
+                Case caseEntity = references.casesByLoanId().get(row.getLoanId());
+                Long caseId = caseEntity.getId();
+                Long primaryAgentId = Long.parseLong(row.getPrimaryAgentId());
+
+                allocations.add(CaseAllocation.builder()
+                        .caseId(caseId)
+                        .externalCaseId(caseEntity.getExternalCaseId())
+                        .primaryAgentId(primaryAgentId)
+                        .secondaryAgentId(row.getSecondaryAgentId() != null && !row.getSecondaryAgentId().isEmpty()
+                                ? Long.parseLong(row.getSecondaryAgentId())
+                                : null)
+                        .allocatedToType("USER")
+                        .allocationType(row.getAllocationType() != null && !row.getAllocationType().isEmpty()
+                                ? row.getAllocationType().toUpperCase()
+                                : "PRIMARY")
+                        .workloadPercentage(
+                                row.getAllocationPercentage() != null && !row.getAllocationPercentage().isEmpty()
+                                        ? new BigDecimal(row.getAllocationPercentage())
+                                        : null)
+                        .geographyCode(row.getGeography() != null && !row.getGeography().isEmpty()
+                                ? row.getGeography().toUpperCase()
+                                : null)
+                        .status(AllocationStatus.ALLOCATED)
+                        .batchId(batchId)
+                        .allocatedAt(LocalDateTime.now())
+                        .build());
+
+                historyEntries.add(AllocationHistory.builder()
+                        .caseId(caseId)
+                        .allocatedToUserId(primaryAgentId)
+                        .newOwnerType("USER")
+                        .previousOwnerType("USER")
+                        .allocatedAt(LocalDateTime.now())
+                        .action(AllocationAction.ALLOCATED)
+                        .reason(row.getRemarks() != null && !row.getRemarks().isEmpty() ? row.getRemarks()
+                                : "Batch allocation: " + batchId)
+                        .batchId(batchId)
+                        .build());
+
+                // Track agent case count for statistics update
+                agentCaseCount.merge(primaryAgentId, 1, Integer::sum);
+            } else {
+                log.error("Validation failed for row {}: {}", rowNumber, validationError);
+                errors.add(BatchError.builder()
+                        .batchId(batchId)
+                        .rowNumber(rowNumber)
+                        .errorType(ErrorType.VALIDATION)
+                        .errorMessage(validationError)
+                        .externalCaseId(row.getCaseId())
+                        .build());
+            }
+            rowNumber++;
+        }
+
+        batchErrorSink.submitAfterCommit(errors);
+        allocationBulkWriter.insertAllocations(allocations);
+        allocationBulkWriter.insertHistory(historyEntries);
+
+        // CRITICAL: Update cases table to reflect allocation
+        allocationBulkWriter.markCasesAllocated(allocations);
+
+        // Update user statistics for allocated agents
+        agentStatisticsUpdater.applyAllocations(agentCaseCount);
+
+        // Publish progress together with the chunk data
+        allocationBatchRepository.incrementProgress(batchId, allocations.size(), errors.size());
+
+        log.debug("Processed allocation chunk for batch {}: rows {}-{}, success={}, failed={}",
+                batchId, firstRowNumber, rowNumber - 1, allocations.size(), errors.size());
+
+        return new ChunkResult(allocations.size(), errors.size());
+    }
+
+    /**
+     * Bulk resolution stage: loads all cases referenced by the chunk's loan IDs
+     * and all existing primary/secondary agent IDs with one IN query each.
+     */
+    private ChunkReferences resolveReferences(List<AllocationCsvRow> rows) {
+        Set<String> loanIds = new HashSet<>();
+        Set<Long> agentIds = new HashSet<>();
+        for (AllocationCsvRow row : rows) {
+            if (row.getLoanId() != null && !row.getLoanId().trim().isEmpty()) {
+                loanIds.add(row.getLoanId());
+            }
+            addIfNumeric(agentIds, row.getPrimaryAgentId());
+            addIfNumeric(agentIds, row.getSecondaryAgentId());
+        }
+
+        Map<String, Case> casesByLoanId = new HashMap<>();
+        if (!loanIds.isEmpty()) {
+            for (Case caseEntity : caseReadRepository.findByLoanIdIn(loanIds)) {
+                casesByLoanId.putIfAbsent(caseEntity.getLoan().getLoanAccountNumber(), caseEntity);
+            }
+        }
+
+        Set<Long> existingAgentIds = agentIds.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(userRepository.findExistingIds(agentIds));
+
+        log.debug("Resolved chunk references: {}/{} loan IDs, {}/{} agent IDs",
+                casesByLoanId.size(), loanIds.size(), existingAgentIds.size(), agentIds.size());
+
+        return new ChunkReferences(casesByLoanId, existingAgentIds);
+    }
+
+    private void addIfNumeric(Set<Long> ids, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        try {
+            ids.add(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // Reported by row validation
+        }
+    }
+
+    private String getValidationError(AllocationCsvRow row, ChunkReferences references) {
+        // Validate loan_id is provided
+        if (row.getLoanId() == null || row.getLoanId().trim().isEmpty()) {
+            return "loan_id is required";
+        }
+
+        // CRITICAL: Validate case exists in cases table by loan_id
+        if (!references.casesByLoanId().containsKey(row.getLoanId())) {
+            return "Case not found for loan_id: " + row.getLoanId() +
+                   ". Please ensure case with this loan ID exists in cases table before allocation.";
+        }
+
+        // Validate primary_agent_id format
+        Long primaryAgentId;
+        try {
+            primaryAgentId = Long.parseLong(row.getPrimaryAgentId());
+        } catch (NumberFormatException e) {
+            return "Invalid primary_agent_id: " + row.getPrimaryAgentId();
+        }
+
+        // Validate primary_agent_id exists in users table
+        if (!references.existingAgentIds().contains(primaryAgentId)) {
+            return "User not found for primary_agent_id: " + row.getPrimaryAgentId();
+        }
+
+        // Validate secondary_agent_id format and existence (if provided)
+        if (row.getSecondaryAgentId() != null && !row.getSecondaryAgentId().isEmpty()) {
+            Long secondaryAgentId;
+            try {
+                secondaryAgentId = Long.parseLong(row.getSecondaryAgentId());
+            } catch (NumberFormatException e) {
+                return "Invalid secondary_agent_id: " + row.getSecondaryAgentId();
+            }
+
+            // Validate secondary_agent_id exists in users table
+            if (!references.existingAgentIds().contains(secondaryAgentId)) {
+                return "User not found for secondary_agent_id: " + row.getSecondaryAgentId();
+            }
+        }
+
+        // Validate allocation_percentage format (if provided)
+        if (row.getAllocationPercentage() != null && !row.getAllocationPercentage().isEmpty()) {
+            try {
+                Double.parseDouble(row.getAllocationPercentage());
+            } catch (NumberFormatException e) {
+                return "Invalid allocation_percentage: " + row.getAllocationPercentage();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Outcome of a single processed chunk
+     */
+    public record ChunkResult(int successful, int failed) {
+    }
+
+    /**
+     * Lookup maps resolved once per chunk
+     */
+    private record ChunkReferences(Map<String, Case> casesByLoanId, Set<Long> existingAgentIds) {
+    }
+}
@@ -6,20 +6,21 @@ import com.finx.allocationreallocationservice.domain.dto.ReallocationCsvRow;
 import com.finx.allocationreallocationservice.domain.entity.AllocationBatch;
 import com.finx.allocationreallocationservice.domain.entity.AllocationHistory;
 import com.finx.allocationreallocationservice.domain.entity.BatchError;
-import com.finx.allocationreallocationservice.domain.entity.Case;
 import com.finx.allocationreallocationservice.domain.entity.CaseAllocation;
 import com.finx.allocationreallocationservice.domain.enums.AllocationAction;
 import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
 import com.finx.allocationreallocationservice.domain.enums.BatchStatus;
 import com.finx.allocationreallocationservice.domain.enums.ErrorType;
 import com.finx.allocationreallocationservice.repository.AllocationBatchRepository;
-import com.finx.allocationreallocationservice.repository.AllocationHistoryRepository;
-import com.finx.allocationreallocationservice.repository.BatchErrorRepository;
 import com.finx.allocationreallocationservice.repository.CaseAllocationRepository;
+import com.finx.allocationreallocationservice.service.persistence.AgentStatisticsUpdater;
+import com.finx.allocationreallocationservice.service.persistence.AllocationBulkWriter;
+import com.finx.allocationreallocationservice.service.persistence.BatchErrorSink;
 import com.opencsv.bean.CsvToBean;
 import com.opencsv.bean.CsvToBeanBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,31 +48,36 @@ public class AllocationBatchProcessingServiceImpl implements AllocationBatchProc
 
     private final AllocationBatchRepository allocationBatchRepository;
     private final ContactUpdateBatchRepository contactUpdateBatchRepository;
-    private final BatchErrorRepository batchErrorRepository;
+    private final BatchErrorSink batchErrorSink;
     private final CaseAllocationRepository caseAllocationRepository;
-    private final AllocationHistoryRepository allocationHistoryRepository;
     private final com.finx.allocationreallocationservice.repository.UserRepository userRepository;
     private final com.finx.allocationreallocationservice.repository.CaseReadRepository caseReadRepository;
     private final com.finx.allocationreallocationservice.repository.CustomerRepository customerRepository;
-    private final org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+    private final AllocationBatchChunkProcessor chunkProcessor;
+    private final AllocationBulkWriter allocationBulkWriter;
+    private final AgentStatisticsUpdater agentStatisticsUpdater;
+
+    /**
+     * Number of allocation CSV rows committed per transaction
+     */
+    @Value("${allocation.batch.chunk-size:2000}")
+    private int allocationChunkSize;
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$",
             Pattern.CASE_INSENSITIVE);
 
     @Override
     @Async("batchProcessingExecutor")
-    @Transactional
     public void processAllocationBatchAsync(String batchId, String filePath) {
-        log.info("Starting async processing for allocation batch: {}", batchId);
+        log.info("Starting async processing for allocation batch: {} (chunk size {})", batchId, allocationChunkSize);
         Path path = Paths.get(filePath);
 
         AllocationBatch batch = allocationBatchRepository.findByBatchId(batchId)
                 .orElseThrow(() -> new RuntimeException("Batch not found: " + batchId));
 
-        List<BatchError> errors = new ArrayList<>();
-        List<CaseAllocation> allocations = new ArrayList<>();
-        List<AllocationHistory> historyEntries = new ArrayList<>();
-        java.util.Map<Long, Integer> agentCaseCount = new java.util.HashMap<>(); // Track cases allocated to each agent
+        int totalRows = 0;
+        int successfulAllocations = 0;
+        int failedAllocations = 0;
 
         try (BufferedReader reader = Files.newBufferedReader(path)) {
             CsvToBean<AllocationCsvRow> csvToBean = new CsvToBeanBuilder<AllocationCsvRow>(reader)
@@ -79,97 +85,52 @@ public class AllocationBatchProcessingServiceImpl implements AllocationBatchProc
                     .withIgnoreLeadingWhiteSpace(true)
                     .build();
 
-            List<AllocationCsvRow> rows = csvToBean.parse();
-            batch.setTotalCases(rows.size());
-
-            AtomicInteger successfulAllocations = new AtomicInteger(0);
-            AtomicInteger failedAllocations = new AtomicInteger(0);
-            final int[] rowNumber = { 1 };
-
-            rows.forEach(row -> {
-                String validationError = getValidationError(row);
-                if (validationError == null) {
-                    // Lookup case_id by loan_id (user-friendly identifier)
-                    Case caseEntity = caseReadRepository.findByLoanId(row.getLoanId())
-                            .orElseThrow(() -> new RuntimeException("Case not found for loan_id: " + row.getLoanId()));
-                    Long caseId = caseEntity.getId();
-                    Long primaryAgentId = Long.parseLong(row.getPrimaryAgentId());
-
-                    allocations.add(CaseAllocation.builder()
-                            .caseId(caseId)
-                            .externalCaseId(caseEntity.getExternalCaseId())
-                            .primaryAgentId(primaryAgentId)
-                            .secondaryAgentId(row.getSecondaryAgentId() != null && !row.getSecondaryAgentId().isEmpty()
-                                    ? Long.parseLong(row.getSecondaryAgentId())
-                                    : null)
-                            .allocatedToType("USER")
-                            .allocationType(row.getAllocationType() != null && !row.getAllocationType().isEmpty()
-                                    ? row.getAllocationType().toUpperCase()
-                                    : "PRIMARY")
-                            .workloadPercentage(
-                                    row.getAllocationPercentage() != null && !row.getAllocationPercentage().isEmpty()
-                                            ? new java.math.BigDecimal(row.getAllocationPercentage())
-                                            : null)
-                            .geographyCode(row.getGeography() != null && !row.getGeography().isEmpty()
-                                    ? row.getGeography().toUpperCase()
-                                    : null)
-                            .status(AllocationStatus.ALLOCATED)
-                            .batchId(batchId)
-                            .allocatedAt(LocalDateTime.now())
-                            .build());
-
-                    historyEntries.add(AllocationHistory.builder()
-                            .caseId(caseId)
-                            .allocatedToUserId(primaryAgentId)
-                            .newOwnerType("USER")
-                            .previousOwnerType("USER")
-                            .allocatedAt(LocalDateTime.now())
-                            .action(AllocationAction.ALLOCATED)
-                            .reason(row.getRemarks() != null && !row.getRemarks().isEmpty() ? row.getRemarks()
-                                    : "Batch allocation: " + batchId)
-                            .batchId(batchId)
-                            .build());
-
-                    // Track agent case count for statistics update
-                    agentCaseCount.put(primaryAgentId, agentCaseCount.getOrDefault(primaryAgentId, 0) + 1);
-
-                    successfulAllocations.incrementAndGet();
-                } else {
-                    log.error("Validation failed for row {}: {}", rowNumber[0], validationError);
-                    errors.add(BatchError.builder()
-                            .batchId(batchId)
-                            .rowNumber(rowNumber[0])
-                            .errorType(ErrorType.VALIDATION)
-                            .errorMessage(validationError)
-                            .externalCaseId(row.getCaseId())
-                            .build());
-                    failedAllocations.incrementAndGet();
+            // Stream rows through the iterator and commit every chunk separately,
+            // so memory stays flat and progress is visible while the file is processed
+            List<AllocationCsvRow> chunk = new ArrayList<>(allocationChunkSize);
+            for (AllocationCsvRow row : csvToBean) {
+                chunk.add(row);
+                if (chunk.size() >= allocationChunkSize) {
+                    AllocationBatchChunkProcessor.ChunkResult result = chunkProcessor
+                            .processAllocationChunk(batchId, chunk, totalRows + 1);
+                    totalRows += chunk.size();
+                    successfulAllocations += result.successful();
+                    failedAllocations += result.failed();
+                    chunk = new ArrayList<>(allocationChunkSize);
                 }
-                rowNumber[0]++;
-            });
+            }
+            if (!chunk.isEmpty()) {
+                AllocationBatchChunkProcessor.ChunkResult result = chunkProcessor
+                        .processAllocationChunk(batchId, chunk, totalRows + 1);
+                totalRows += chunk.size();
+                successfulAllocations += result.successful();
+                failedAllocations += result.failed();
+            }
 
-            batch.setSuccessfulAllocations(successfulAllocations.get());
-            batch.setFailedAllocations(failedAllocations.get());
+            // All error rows must be visible before the batch reports COMPLETED
+            batchErrorSink.flush();
+
+            // Reload to pick up the counters written by the chunk transactions
+            batch = allocationBatchRepository.findByBatchId(batchId).orElse(batch);
+            batch.setTotalCases(totalRows);
             batch.setStatus(BatchStatus.COMPLETED);
             batch.setCompletedAt(LocalDateTime.now());
-
             allocationBatchRepository.save(batch);
-            batchErrorRepository.saveAll(errors);
-            caseAllocationRepository.saveAll(allocations);
-            allocationHistoryRepository.saveAll(historyEntries);
-
-            // CRITICAL: Update cases table to reflect allocation
-            updateCasesTableForAllocation(allocations);
-
-            // Update user statistics for allocated agents
-            updateUserStatisticsForAllocation(agentCaseCount);
 
             log.info("Finished processing allocation batch: {}. Total: {}, Success: {}, Failed: {}",
-                    batchId, rows.size(), successfulAllocations.get(), failedAllocations.get());
+                    batchId, totalRows, successfulAllocations, failedAllocations);
 
         } catch (Exception e) {
-            log.error("Fatal error processing allocation batch {}: {}", batchId, e.getMessage(), e);
-            batch.setStatus(BatchStatus.FAILED);
+            log.error("Fatal error processing allocation batch {} after {} rows: {}", batchId, totalRows,
+                    e.getMessage(), e);
+            try {
+                batchErrorSink.flush();
+            } catch (Exception flushError) {
+                log.error("Failed to flush batch errors for batch {}: {}", batchId, flushError.getMessage());
+            }
+            // Chunks committed before the failure stay in place
+            batch = allocationBatchRepository.findByBatchId(batchId).orElse(batch);
+            batch.setStatus(successfulAllocations > 0 ? BatchStatus.PARTIALLY_COMPLETED : BatchStatus.FAILED);
             batch.setCompletedAt(LocalDateTime.now());
             allocationBatchRepository.save(batch);
         } finally {
@@ -181,59 +142,6 @@ public class AllocationBatchProcessingServiceImpl implements AllocationBatchProc
         }
     }
 
-    private String getValidationError(AllocationCsvRow row) {
-        // Validate loan_id is provided
-        if (row.getLoanId() == null || row.getLoanId().trim().isEmpty()) {
-            return "loan_id is required";
-        }
-
-        // CRITICAL: Validate case exists in cases table by loan_id
-        Optional<Case> caseOpt = caseReadRepository.findByLoanId(row.getLoanId());
-        if (!caseOpt.isPresent()) {
-            return "Case not found for loan_id: " + row.getLoanId() +
-                   ". Please ensure case with this loan ID exists in cases table before allocation.";
-        }
-
-        // Validate primary_agent_id format
-        Long primaryAgentId;
-        try {
-            primaryAgentId = Long.parseLong(row.getPrimaryAgentId());
-        } catch (NumberFormatException e) {
-            return "Invalid primary_agent_id: " + row.getPrimaryAgentId();
-        }
-
-        // Validate primary_agent_id exists in users table
-        if (!userRepository.existsById(primaryAgentId)) {
-            return "User not found for primary_agent_id: " + row.getPrimaryAgentId();
-        }
-
-        // Validate secondary_agent_id format and existence (if provided)
-        if (row.getSecondaryAgentId() != null && !row.getSecondaryAgentId().isEmpty()) {
-            Long secondaryAgentId;
-            try {
-                secondaryAgentId = Long.parseLong(row.getSecondaryAgentId());
-            } catch (NumberFormatException e) {
-                return "Invalid secondary_agent_id: " + row.getSecondaryAgentId();
-            }
-
-            // Validate secondary_agent_id exists in users table
-            if (!userRepository.existsById(secondaryAgentId)) {
-                return "User not found for secondary_agent_id: " + row.getSecondaryAgentId();
-            }
-        }
-
-        // Validate allocation_percentage format (if provided)
-        if (row.getAllocationPercentage() != null && !row.getAllocationPercentage().isEmpty()) {
-            try {
-                Double.parseDouble(row.getAllocationPercentage());
-            } catch (NumberFormatException e) {
-                return "Invalid allocation_percentage: " + row.getAllocationPercentage();
-            }
-        }
-
-        return null;
-    }
-
     @Override
     @Async("batchProcessingExecutor")
     @Transactional
@@ -337,15 +245,18 @@ public class AllocationBatchProcessingServiceImpl implements AllocationBatchProc
             batch.setCompletedAt(LocalDateTime.now());
 
             allocationBatchRepository.save(batch);
-            batchErrorRepository.saveAll(errors);
-            caseAllocationRepository.saveAll(allocationsToUpdate);
-            allocationHistoryRepository.saveAll(historyToSave);
+            allocationBulkWriter.updateAllocationOwners(allocationsToUpdate);
+            allocationBulkWriter.insertHistory(historyToSave);
 
             // CRITICAL: Update cases table to reflect reallocation
-            updateCasesTableForReallocation(allocationsToUpdate);
+            allocationBulkWriter.reassignCases(allocationsToUpdate);
 
             // Update user statistics for both old and new agents
-            updateUserStatisticsForReallocation(agentDecrements, agentIncrements);
+            agentStatisticsUpdater.applyReallocation(agentDecrements, agentIncrements);
+
+            // Error rows are written only once the batch's own writes have committed
+            batchErrorSink.submitAfterCommit(errors);
+            batchErrorSink.flushAfterCommit();
 
             log.info("Finished processing reallocation batch: {}. Total: {}, Success: {}, Failed: {}",
                     batchId, rows.size(), successfulAllocations.get(), failedAllocations.get());
@@ -532,7 +443,10 @@ public class AllocationBatchProcessingServiceImpl implements AllocationBatchProc
             batch.setCompletedAt(LocalDateTime.now());
 
             contactUpdateBatchRepository.save(batch);
-            batchErrorRepository.saveAll(errors);
+
+            // Error rows are written only once the batch's own writes have committed
+            batchErrorSink.submitAfterCommit(errors);
+            batchErrorSink.flushAfterCommit();
 
             log.info("Finished processing contact update batch: {}. Total: {}, Success: {}, Failed: {}",
                     batchId, rows.size(), successfulUpdates.get(), failedUpdates.get());
@@ -624,232 +538,6 @@ public class AllocationBatchProcessingServiceImpl implements AllocationBatchProc
         return null;
     }
 
-    /**
-     * Update user statistics after allocation
-     * Increases current_case_count for agents and recalculates
-     * allocation_percentage
-     * 
-     * @param agentCaseCount Map of agentId to number of cases allocated
-     */
-    @SuppressWarnings("null")
-    private void updateUserStatisticsForAllocation(java.util.Map<Long, Integer> agentCaseCount) {
-        log.info("Updating user statistics for allocation: {} agents affected", agentCaseCount.size());
-
-        for (java.util.Map.Entry<Long, Integer> entry : agentCaseCount.entrySet()) {
-            Long agentId = entry.getKey();
-            Integer casesAllocated = entry.getValue();
-
-            try {
-                com.finx.allocationreallocationservice.domain.entity.User user = userRepository.findById(agentId)
-                        .orElse(null);
-                if (user == null) {
-                    log.warn("User {} not found for statistics update", agentId);
-                    continue;
-                }
-
-                // Increase current_case_count
-                Integer currentCaseCount = user.getCurrentCaseCount() != null ? user.getCurrentCaseCount() : 0;
-                Integer newCaseCount = currentCaseCount + casesAllocated;
-                user.setCurrentCaseCount(newCaseCount);
-
-                // Recalculate allocation_percentage: (current_case_count / max_case_capacity) *
-                // 100
-                Integer maxCapacity = user.getMaxCaseCapacity() != null ? user.getMaxCaseCapacity() : 100;
-                if (maxCapacity > 0) {
-                    double allocationPercentage = ((double) newCaseCount / maxCapacity) * 100.0;
-                    // Round to 2 decimal places
-                    allocationPercentage = Math.round(allocationPercentage * 100.0) / 100.0;
-                    user.setAllocationPercentage(allocationPercentage);
-                } else {
-                    user.setAllocationPercentage(0.0);
-                }
-
-                user.setUpdatedAt(LocalDateTime.now());
-                userRepository.save(user);
-
-                log.info(
-                        "Updated user {} statistics: allocated {} cases, currentCaseCount={}, allocationPercentage={}%",
-                        agentId, casesAllocated, newCaseCount, user.getAllocationPercentage());
-
-            } catch (Exception e) {
-                log.error("Failed to update statistics for user {}: {}", agentId, e.getMessage(), e);
-            }
-        }
-    }
-
-    /**
-     * Update user statistics after reallocation
-     * Decreases current_case_count for old agents and increases for new agents
-     * Recalculates allocation_percentage for all affected agents
-     * 
-     * @param agentDecrements Map of agentId to number of cases removed
-     * @param agentIncrements Map of agentId to number of cases added
-     */
-    @SuppressWarnings("null")
-    private void updateUserStatisticsForReallocation(java.util.Map<Long, Integer> agentDecrements,
-            java.util.Map<Long, Integer> agentIncrements) {
-        log.info("Updating user statistics for reallocation: {} agents decremented, {} agents incremented",
-                agentDecrements.size(), agentIncrements.size());
-
-        // Process decrements (cases removed from old agents)
-        for (java.util.Map.Entry<Long, Integer> entry : agentDecrements.entrySet()) {
-            Long agentId = entry.getKey();
-            Integer casesRemoved = entry.getValue();
-
-            try {
-                com.finx.allocationreallocationservice.domain.entity.User user = userRepository.findById(agentId)
-                        .orElse(null);
-                if (user == null) {
-                    log.warn("User {} not found for statistics update (decrement)", agentId);
-                    continue;
-                }
-
-                // Decrease current_case_count
-                Integer currentCaseCount = user.getCurrentCaseCount() != null ? user.getCurrentCaseCount() : 0;
-                Integer newCaseCount = Math.max(0, currentCaseCount - casesRemoved); // Ensure non-negative
-                user.setCurrentCaseCount(newCaseCount);
-
-                // Recalculate allocation_percentage
-                Integer maxCapacity = user.getMaxCaseCapacity() != null ? user.getMaxCaseCapacity() : 100;
-                if (maxCapacity > 0) {
-                    double allocationPercentage = ((double) newCaseCount / maxCapacity) * 100.0;
-                    allocationPercentage = Math.round(allocationPercentage * 100.0) / 100.0;
-                    user.setAllocationPercentage(allocationPercentage);
-                } else {
-                    user.setAllocationPercentage(0.0);
-                }
-
-                user.setUpdatedAt(LocalDateTime.now());
-                userRepository.save(user);
-
-                log.info(
-                        "Decremented user {} statistics: removed {} cases, currentCaseCount={}, allocationPercentage={}%",
-                        agentId, casesRemoved, newCaseCount, user.getAllocationPercentage());
-
-            } catch (Exception e) {
-                log.error("Failed to update statistics for user {} (decrement): {}", agentId, e.getMessage(), e);
-            }
-        }
-
-        // Process increments (cases added to new agents)
-        for (java.util.Map.Entry<Long, Integer> entry : agentIncrements.entrySet()) {
-            Long agentId = entry.getKey();
-            Integer casesAdded = entry.getValue();
-
-            try {
-                com.finx.allocationreallocationservice.domain.entity.User user = userRepository.findById(agentId)
-                        .orElse(null);
-                if (user == null) {
-                    log.warn("User {} not found for statistics update (increment)", agentId);
-                    continue;
-                }
-
-                // Increase current_case_count
-                Integer currentCaseCount = user.getCurrentCaseCount() != null ? user.getCurrentCaseCount() : 0;
-                Integer newCaseCount = currentCaseCount + casesAdded;
-                user.setCurrentCaseCount(newCaseCount);
-
-                // Recalculate allocation_percentage
-                Integer maxCapacity = user.getMaxCaseCapacity() != null ? user.getMaxCaseCapacity() : 100;
-                if (maxCapacity > 0) {
-                    double allocationPercentage = ((double) newCaseCount / maxCapacity) * 100.0;
-                    allocationPercentage = Math.round(allocationPercentage * 100.0) / 100.0;
-                    user.setAllocationPercentage(allocationPercentage);
-                } else {
-                    user.setAllocationPercentage(0.0);
-                }
-
-                user.setUpdatedAt(LocalDateTime.now());
-                userRepository.save(user);
-
-                log.info(
-                        "Incremented user {} statistics: added {} cases, currentCaseCount={}, allocationPercentage={}%",
-                        agentId, casesAdded, newCaseCount, user.getAllocationPercentage());
-
-            } catch (Exception e) {
-                log.error("Failed to update statistics for user {} (increment): {}", agentId, e.getMessage(), e);
-            }
-        }
-    }
-
-    /**
-     * CRITICAL FIX: Update cases table after allocation
-     * Updates allocated_to_user_id, allocated_at, and case_status in cases table
-     * This ensures cases are marked as ALLOCATED in the database
-     *
-     * @param allocations List of case allocations to apply to cases table
-     */
-    private void updateCasesTableForAllocation(List<CaseAllocation> allocations) {
-        if (allocations.isEmpty()) {
-            return;
-        }
-
-        log.info("Updating cases table for {} allocations", allocations.size());
-
-        String updateSql = "UPDATE cases SET allocated_to_user_id = ?, allocated_at = ?, " +
-                "case_status = 'ALLOCATED', updated_at = NOW() WHERE id = ?";
-
-        int updatedCount = 0;
-        for (CaseAllocation allocation : allocations) {
-            try {
-                int rowsAffected = jdbcTemplate.update(
-                        updateSql,
-                        allocation.getPrimaryAgentId(),
-                        allocation.getAllocatedAt(),
-                        allocation.getCaseId());
-
-                if (rowsAffected > 0) {
-                    updatedCount++;
-                } else {
-                    log.warn("Case {} not found in cases table for allocation update", allocation.getCaseId());
-                }
-            } catch (Exception e) {
-                log.error("Failed to update cases table for case {}: {}", allocation.getCaseId(), e.getMessage());
-            }
-        }
-
-        log.info("Successfully updated {} out of {} cases in cases table", updatedCount, allocations.size());
-    }
-
-    /**
-     * CRITICAL FIX: Update cases table after reallocation
-     * Updates allocated_to_user_id and allocated_at in cases table
-     * Status remains ALLOCATED during reallocation
-     *
-     * @param allocations List of updated case allocations to apply to cases table
-     */
-    private void updateCasesTableForReallocation(List<CaseAllocation> allocations) {
-        if (allocations.isEmpty()) {
-            return;
-        }
-
-        log.info("Updating cases table for {} reallocations", allocations.size());
-
-        String updateSql = "UPDATE cases SET allocated_to_user_id = ?, allocated_at = ?, " +
-                "updated_at = NOW() WHERE id = ?";
-
-        int updatedCount = 0;
-        for (CaseAllocation allocation : allocations) {
-            try {
-                int rowsAffected = jdbcTemplate.update(
-                        updateSql,
-                        allocation.getPrimaryAgentId(),
-                        allocation.getAllocatedAt(),
-                        allocation.getCaseId());
-
-                if (rowsAffected > 0) {
-                    updatedCount++;
-                } else {
-                    log.warn("Case {} not found in cases table for reallocation update", allocation.getCaseId());
-                }
-            } catch (Exception e) {
-                log.error("Failed to update cases table for case {}: {}", allocation.getCaseId(), e.getMessage());
-            }
-        }
-
-        log.info("Successfully updated {} out of {} cases in cases table", updatedCount, allocations.size());
-    }
-
     private BatchError buildError(String batchId, int rowNumber, String message, String caseId) {
         return BatchError.builder()
                 .batchId(batchId)
@@ -16,15 +16,27 @@ import com.finx.allocationreallocationservice.service.AllocationService;
 import com.finx.allocationreallocationservice.util.csv.CsvExporter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import com.finx.allocationreallocationservice.service.allocation.AgentQuota;
+import com.finx.allocationreallocationservice.service.allocation.AgentQuotaCounter;
+import com.finx.allocationreallocationservice.service.allocation.AllocationPartitionWriter;
+import com.finx.allocationreallocationservice.service.allocation.AllocationRuleStateWriter;
+import com.finx.allocationreallocationservice.service.allocation.PartitionedRuleExecutor;
+import com.finx.allocationreallocationservice.service.allocation.strategy.AllocationContext;
+import com.finx.allocationreallocationservice.service.allocation.strategy.AllocationStrategy;
+import com.finx.allocationreallocationservice.service.allocation.strategy.AllocationStrategyRegistry;
 import com.finx.allocationreallocationservice.service.async.AllocationBatchProcessingService;
+import com.finx.allocationreallocationservice.service.persistence.AgentStatisticsUpdater;
+import com.finx.allocationreallocationservice.service.persistence.AllocationBulkWriter;
+import com.finx.allocationreallocationservice.service.workload.AgentWorkloadSnapshotService;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.finx.allocationreallocationservice.exception.ResourceNotFoundException;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionSynchronization;
@@ -38,6 +50,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -57,6 +72,41 @@ public class AllocationServiceImpl implements AllocationService {
     private final AuditLogRepository auditLogRepository;
     private final CaseReadRepository caseReadRepository;
     private final UserRepository userRepository;
+    private final AgentWorkloadSnapshotService agentWorkloadSnapshotService;
+    private final AllocationPartitionWriter partitionWriter;
+    private final AllocationRuleStateWriter ruleStateWriter;
+    private final PartitionedRuleExecutor partitionedRuleExecutor;
+    private final AllocationStrategyRegistry allocationStrategyRegistry;
+    private final AllocationBulkWriter allocationBulkWriter;
+    private final AgentStatisticsUpdater agentStatisticsUpdater;
+
+    /**
+     * Cases loaded and written per keyset page when a rule is applied
+     */
+    @Value("${allocation.rule.chunk-size:1000}")
+    private int ruleChunkSize;
+
+    /**
+     * Simulation lists matching case IDs only up to this many cases
+     */
+    @Value("${allocation.rule.simulation-case-id-limit:10000}")
+    private int simulationCaseIdLimit;
+
+    /**
+     * Rule runs of at least this many cases are split into partitions and
+     * allocated in parallel
+     */
+    @Value("${allocation.rule.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    @Value("${allocation.rule.parallel.threshold:50000}")
+    private int parallelThreshold;
+
+    /**
+     * Batch errors fetched per keyset page while streaming an export
+     */
+    @Value("${allocation.export.page-size:5000}")
+    private int exportPageSize;
 
     @SuppressWarnings("null")
     @Override
@@ -128,7 +178,6 @@ public class AllocationServiceImpl implements AllocationService {
     }
 
     @Override
-    @Cacheable(value = "allocationBatchStatus", key = "#batchId")
     public AllocationBatchStatusDTO getAllocationBatchStatus(String batchId) {
         log.info("Fetching allocation batch status for: {}", batchId);
 
@@ -145,20 +194,18 @@ public class AllocationServiceImpl implements AllocationService {
     }
 
     @Override
-    public byte[] exportFailedAllocationRows(String batchId) {
+    public StreamingResponseBody exportFailedAllocationRows(String batchId) {
         log.info("Exporting failed allocation rows for batch: {}", batchId);
 
         if (!allocationBatchRepository.existsByBatchId(batchId)) {
             throw new ResourceNotFoundException("Allocation batch not found: " + batchId);
         }
 
-        List<BatchError> errors = batchErrorRepository.findByBatchId(batchId);
-
-        if (errors.isEmpty()) {
+        if (!batchErrorRepository.existsByBatchId(batchId)) {
             throw new BusinessException("No errors found for batch: " + batchId);
         }
 
-        return csvExporter.exportBatchErrors(errors);
+        return streamBatchErrors(batchId);
     }
 
     @Override
@@ -236,10 +283,9 @@ public class AllocationServiceImpl implements AllocationService {
 
         // Validate rule type
         String ruleType = ruleDTO.getRuleType();
-        if (!"PERCENTAGE_SPLIT".equals(ruleType) && !"CAPACITY_BASED".equals(ruleType)
-                && !"GEOGRAPHY".equals(ruleType)) {
+        if (!allocationStrategyRegistry.supports(ruleType)) {
             throw new ValidationException("ruleType",
-                    "Invalid rule type. Must be one of: PERCENTAGE_SPLIT, CAPACITY_BASED, GEOGRAPHY");
+                    "Invalid rule type. Must be one of: " + String.join(", ", allocationStrategyRegistry.getRuleTypes()));
         }
 
         // Build criteria map from explicit fields (excluding agentIds and percentages
@@ -333,15 +379,15 @@ public class AllocationServiceImpl implements AllocationService {
         List<String> geographies = (List<String>) criteria.get("geographies");
         List<String> buckets = (List<String>) criteria.get("buckets");
 
-        // Fetch unallocated cases matching the rule's geography and bucket filters
-        List<com.finx.allocationreallocationservice.domain.entity.Case> matchingCases = getUnallocatedCasesMatchingFilters(
-                geographies, buckets);
-        int unallocatedCasesCount = matchingCases.size();
+        // Count unallocated cases matching the rule's geography and bucket filters
+        int unallocatedCasesCount = (int) countUnallocatedCasesMatchingFilters(geographies, buckets);
 
-        // Extract case IDs for the response
-        List<Long> caseIds = matchingCases.stream()
-                .map(com.finx.allocationreallocationservice.domain.entity.Case::getId)
-                .collect(Collectors.toList());
+        // List case IDs only for small result sets; apply re-selects by the rule filters otherwise
+        List<Long> caseIds = new ArrayList<>();
+        if (unallocatedCasesCount <= simulationCaseIdLimit) {
+            forEachUnallocatedChunk(geographies, buckets, unallocatedCasesCount, () -> false,
+                    rows -> rows.forEach(row -> caseIds.add(row.getId())));
+        }
 
         log.info("Found {} unallocated cases matching rule filters (geographies: {}, buckets: {})",
                 unallocatedCasesCount, geographies, buckets);
@@ -369,35 +415,41 @@ public class AllocationServiceImpl implements AllocationService {
         }
 
         // Build eligible agents list with capacity info
+        Map<Long, Integer> workloads = agentWorkloadSnapshotService.getWorkloads(
+                eligibleAgentsList.stream().map(UserDTO::getId).collect(Collectors.toList()));
         List<AllocationRuleSimulationDTO.EligibleAgentDTO> eligibleAgents = eligibleAgentsList.stream()
                 .map(agent -> {
-                    long currentWorkload = caseAllocationRepository.countByPrimaryAgentIdAndStatus(
-                            agent.getId(), AllocationStatus.ALLOCATED);
+                    int currentWorkload = workloads.get(agent.getId());
                     int capacity = agent.getCapacity() != null ? agent.getCapacity() : 100;
-                    int availableCapacity = Math.max(0, capacity - (int) currentWorkload);
+                    int availableCapacity = Math.max(0, capacity - currentWorkload);
 
                     return AllocationRuleSimulationDTO.EligibleAgentDTO.builder()
                             .agentId(agent.getId())
                             .agentName(agent.getUsername())
                             .capacity(capacity)
-                            .currentWorkload((int) currentWorkload)
+                            .currentWorkload(currentWorkload)
                             .availableCapacity(availableCapacity)
                             .build();
                 })
                 .collect(Collectors.toList());
 
-        // Calculate suggested distribution based on rule type
-        Map<String, Integer> suggestedDistribution = new java.util.HashMap<>();
+        // Suggested distribution is the plan apply would execute for these agents and cases
+        AllocationStrategy strategy = allocationStrategyRegistry.get(ruleType);
+        List<AgentQuota> plan = strategy.plan(AllocationContext.builder()
+                .ruleName(rule.getName())
+                .agents(eligibleAgentsList)
+                .totalCases(unallocatedCasesCount)
+                .currentWorkloads(workloads)
+                .casesByGeography(strategy.requiresGeographyCounts()
+                        ? countCasesByGeography(geographies, buckets)
+                        : null)
+                .build());
 
-        if ("PERCENTAGE_SPLIT".equals(ruleType)) {
-            suggestedDistribution = calculateEqualPercentageDistribution(eligibleAgents, unallocatedCasesCount);
-        } else if ("CAPACITY_BASED".equals(ruleType)) {
-            suggestedDistribution = calculateCapacityBasedDistribution(eligibleAgents, unallocatedCasesCount);
-        } else if ("GEOGRAPHY".equals(ruleType)) {
-            suggestedDistribution = calculateGeographyBasedDistribution(eligibleAgents, unallocatedCasesCount);
-        } else {
-            log.warn("Unknown allocation rule type: {}. Using equal distribution.", ruleType);
-            suggestedDistribution = calculateEqualPercentageDistribution(eligibleAgents, unallocatedCasesCount);
+        Map<String, Integer> suggestedDistribution = new java.util.HashMap<>();
+        for (AgentQuota quota : plan) {
+            if (quota.quota() > 0) {
+                suggestedDistribution.merge(quota.agentId().toString(), quota.quota(), Integer::sum);
+            }
         }
 
         // Update rule status to READY_FOR_APPLY only if currently DRAFT
@@ -430,115 +482,56 @@ public class AllocationServiceImpl implements AllocationService {
                 .build();
     }
 
-    private List<com.finx.allocationreallocationservice.domain.entity.Case> getUnallocatedCasesMatchingFilters(
-            List<String> geographies, List<String> buckets) {
-        List<com.finx.allocationreallocationservice.domain.entity.Case> allMatchingCases = new ArrayList<>();
-        int page = 0;
-        int size = 1000; // Larger page size for better performance
-        Page<com.finx.allocationreallocationservice.domain.entity.Case> casesPage;
+    private long countUnallocatedCasesMatchingFilters(List<String> geographies, List<String> buckets) {
+        Long count;
+        if (geographies != null && !geographies.isEmpty() && buckets != null && !buckets.isEmpty()) {
+            count = caseReadRepository.countUnallocatedCasesByGeographyAndBucket(geographies, buckets);
+        } else if (geographies != null && !geographies.isEmpty()) {
+            count = caseReadRepository.countUnallocatedCasesByGeography(geographies);
+        } else if (buckets != null && !buckets.isEmpty()) {
+            count = caseReadRepository.countUnallocatedCasesByBucket(buckets);
+        } else {
+            count = caseReadRepository.countByCaseStatus("UNALLOCATED");
+        }
+        return count != null ? count : 0L;
+    }
 
-        do {
-            Pageable pageable = PageRequest.of(page, size);
+    /**
+     * Stream unallocated cases matching the filters in id order, one keyset page
+     * (id > lastId) at a time, until limit cases have been handed to the consumer
+     * or done reports true. Only id, geography and bucket are loaded.
+     */
+    private void forEachUnallocatedChunk(List<String> geographies, List<String> buckets, int limit,
+            BooleanSupplier done, Consumer<List<UnallocatedCaseRow>> consumer) {
+        long lastId = 0L;
+        int remaining = limit;
+
+        while (remaining > 0 && !done.getAsBoolean()) {
+            Pageable pageable = PageRequest.of(0, Math.min(ruleChunkSize, remaining));
+            List<UnallocatedCaseRow> rows;
 
-            // Query cases based on filters
             if (geographies != null && !geographies.isEmpty() && buckets != null && !buckets.isEmpty()) {
-                // Filter by both geography and buckets
-                casesPage = caseReadRepository.findUnallocatedCasesByGeographyAndBucket(geographies, buckets, pageable);
+                rows = caseReadRepository.findUnallocatedRowsByGeographyAndBucketAfter(geographies, buckets, lastId,
+                        pageable);
             } else if (geographies != null && !geographies.isEmpty()) {
-                // Filter by geography only
-                casesPage = caseReadRepository.findUnallocatedCasesByGeography(geographies, pageable);
+                rows = caseReadRepository.findUnallocatedRowsByGeographyAfter(geographies, lastId, pageable);
             } else if (buckets != null && !buckets.isEmpty()) {
-                // Filter by buckets only
-                casesPage = caseReadRepository.findUnallocatedCasesByBucket(buckets, pageable);
+                rows = caseReadRepository.findUnallocatedRowsByBucketAfter(buckets, lastId, pageable);
             } else {
-                // No filters - get all unallocated cases
-                casesPage = caseReadRepository.findByCaseStatus("UNALLOCATED", pageable);
+                rows = caseReadRepository.findUnallocatedRowsAfter(lastId, pageable);
             }
 
-            allMatchingCases.addAll(casesPage.getContent());
-            page++;
-        } while (casesPage.hasNext());
-
-        log.info("Fetched {} unallocated cases matching filters (geographies: {}, buckets: {})",
-                allMatchingCases.size(), geographies, buckets);
-
-        return allMatchingCases;
-    }
-
-    private Map<String, Integer> calculateEqualPercentageDistribution(
-            List<AllocationRuleSimulationDTO.EligibleAgentDTO> eligibleAgents, int totalCases) {
-        Map<String, Integer> distribution = new java.util.HashMap<>();
-
-        if (eligibleAgents.isEmpty() || totalCases == 0) {
-            return distribution;
-        }
-
-        // Equal percentage split among all eligible agents
-        int agentCount = eligibleAgents.size();
-        int casesPerAgent = totalCases / agentCount;
-        int remainder = totalCases % agentCount;
-
-        for (int i = 0; i < eligibleAgents.size(); i++) {
-            AllocationRuleSimulationDTO.EligibleAgentDTO agent = eligibleAgents.get(i);
-            int casesToAllocate = casesPerAgent + (i < remainder ? 1 : 0);
-            distribution.put(agent.getAgentId().toString(), casesToAllocate);
-        }
-
-        log.info("PERCENTAGE_SPLIT distribution: {} agents, {} cases each (approx)", agentCount, casesPerAgent);
-        return distribution;
-    }
-
-    private Map<String, Integer> calculateCapacityBasedDistribution(
-            List<AllocationRuleSimulationDTO.EligibleAgentDTO> eligibleAgents, int totalCases) {
-        Map<String, Integer> distribution = new java.util.HashMap<>();
-
-        if (eligibleAgents.isEmpty() || totalCases == 0) {
-            return distribution;
-        }
-
-        // Calculate total available capacity across all agents
-        int totalAvailableCapacity = eligibleAgents.stream()
-                .mapToInt(AllocationRuleSimulationDTO.EligibleAgentDTO::getAvailableCapacity)
-                .sum();
-
-        if (totalAvailableCapacity == 0) {
-            log.warn("No available capacity among eligible agents. Using equal distribution.");
-            return calculateEqualPercentageDistribution(eligibleAgents, totalCases);
-        }
-
-        int remainingCases = totalCases;
-
-        // Distribute based on available capacity proportion
-        for (int i = 0; i < eligibleAgents.size(); i++) {
-            AllocationRuleSimulationDTO.EligibleAgentDTO agent = eligibleAgents.get(i);
-            int availableCapacity = agent.getAvailableCapacity();
-
-            int casesToAllocate;
-            if (i == eligibleAgents.size() - 1) {
-                // Last agent gets remaining cases
-                casesToAllocate = remainingCases;
-            } else {
-                // Calculate proportional allocation based on available capacity
-                casesToAllocate = (int) Math.round((double) totalCases * availableCapacity / totalAvailableCapacity);
-                casesToAllocate = Math.min(casesToAllocate, availableCapacity); // Don't exceed capacity
-                casesToAllocate = Math.min(casesToAllocate, remainingCases); // Don't exceed remaining cases
+            if (rows.isEmpty()) {
+                break;
             }
+            consumer.accept(rows);
 
-            if (casesToAllocate > 0) {
-                distribution.put(agent.getAgentId().toString(), casesToAllocate);
-                remainingCases -= casesToAllocate;
+            lastId = rows.get(rows.size() - 1).getId();
+            remaining -= rows.size();
+            if (rows.size() < pageable.getPageSize()) {
+                break;
             }
         }
-
-        log.info("CAPACITY_BASED distribution: total capacity = {}, total cases = {}", totalAvailableCapacity,
-                totalCases);
-        return distribution;
-    }
-
-    private Map<String, Integer> calculateGeographyBasedDistribution(
-            List<AllocationRuleSimulationDTO.EligibleAgentDTO> eligibleAgents, int totalCases) {
-        // For GEOGRAPHY type, distribute equally among agents in matching geographies
-        return calculateEqualPercentageDistribution(eligibleAgents, totalCases);
     }
 
     /**
@@ -591,295 +584,33 @@ public class AllocationServiceImpl implements AllocationService {
         }
     }
 
-    private List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> allocateByPercentage(
-            List<Long> caseIds, List<UserDTO> agents, List<Integer> percentages,
-            int totalCases, Long ruleId, String ruleName,
-            Map<Long, com.finx.allocationreallocationservice.domain.entity.Case> caseMap) {
-
-        List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> results = new ArrayList<>();
-        List<CaseAllocation> allocations = new ArrayList<>();
-        List<AllocationHistory> historyEntries = new ArrayList<>();
-        Map<Long, Integer> agentCaseCount = new HashMap<>();
-
-        int caseIndex = 0;
-
-        for (int i = 0; i < agents.size(); i++) {
-            UserDTO agent = agents.get(i);
-            Integer percentage = percentages.get(i);
-
-            // Calculate cases for this agent based on percentage
-            int casesForAgent;
-            if (i == agents.size() - 1) {
-                // Last agent gets all remaining cases
-                casesForAgent = totalCases - caseIndex;
-            } else {
-                casesForAgent = (int) Math.round((double) totalCases * percentage / 100.0);
-            }
-
-            int allocated = 0;
-            for (int j = 0; j < casesForAgent && caseIndex < caseIds.size(); j++, caseIndex++) {
-                Long caseId = caseIds.get(caseIndex);
-                com.finx.allocationreallocationservice.domain.entity.Case caseEntity = caseMap.get(caseId);
-                String geographyCode = caseEntity != null ? caseEntity.getGeographyCode() : null;
-
-                allocations.add(CaseAllocation.builder()
-                        .caseId(caseId)
-                        .primaryAgentId(agent.getId())
-                        .allocatedToType("USER")
-                        .allocationType("PRIMARY")
-                        .status(AllocationStatus.ALLOCATED)
-                        .allocationRuleId(ruleId)
-                        .allocatedAt(LocalDateTime.now())
-                        .workloadPercentage(new java.math.BigDecimal("100.00"))
-                        .geographyCode(geographyCode)
-                        .build());
-
-                historyEntries.add(AllocationHistory.builder()
-                        .caseId(caseId)
-                        .allocatedToUserId(agent.getId())
-                        .newOwnerType("USER")
-                        .action(AllocationAction.ALLOCATED)
-                        .reason("PERCENTAGE_SPLIT allocation: " + ruleName + " (" + percentage + "%)")
-                        .allocatedAt(LocalDateTime.now())
-                        .build());
-
-                allocated++;
-            }
-
-            if (allocated > 0) {
-                agentCaseCount.put(agent.getId(), allocated);
-                results.add(AllocationRuleExecutionResponseDTO.AllocationResultDTO.builder()
-                        .agentId(agent.getId())
-                        .allocated(allocated)
-                        .build());
-            }
-        }
-
-        caseAllocationRepository.saveAll(allocations);
-        allocationHistoryRepository.saveAll(historyEntries);
-
-        // Update user statistics
-        updateUserStatistics(agentCaseCount);
-
-        log.info("PERCENTAGE_SPLIT allocation completed: {} cases allocated to {} agents", caseIndex, agents.size());
-        return results;
-    }
-
-    private List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> allocateByCapacity(
-            List<Long> caseIds, List<UserDTO> agents, int totalCases, Long ruleId, String ruleName,
-            Map<Long, com.finx.allocationreallocationservice.domain.entity.Case> caseMap) {
-
-        List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> results = new ArrayList<>();
-        List<CaseAllocation> allocations = new ArrayList<>();
-        List<AllocationHistory> historyEntries = new ArrayList<>();
-        Map<Long, Integer> agentCaseCount = new HashMap<>();
-
-        // Calculate available capacity for each agent
-        Map<Long, Integer> agentCapacity = new HashMap<>();
-        int totalAvailableCapacity = 0;
-
-        for (UserDTO agent : agents) {
-            long currentWorkload = caseAllocationRepository.countByPrimaryAgentIdAndStatus(
-                    agent.getId(), AllocationStatus.ALLOCATED);
-            int capacity = agent.getCapacity() != null ? agent.getCapacity() : 100;
-            int availableCapacity = Math.max(0, capacity - (int) currentWorkload);
-
-            agentCapacity.put(agent.getId(), availableCapacity);
-            totalAvailableCapacity += availableCapacity;
-        }
-
-        if (totalAvailableCapacity == 0) {
-            log.warn("No available capacity among agents. Using equal distribution.");
-            return allocateEqually(caseIds, agents, totalCases, ruleId, ruleName, caseMap);
-        }
-
-        int caseIndex = 0;
-
-        for (UserDTO agent : agents) {
-            if (caseIndex >= totalCases)
-                break;
-
-            int availableCapacity = agentCapacity.get(agent.getId());
-            if (availableCapacity <= 0)
-                continue;
-
-            // Calculate cases for this agent based on capacity proportion
-            int casesForAgent = (int) Math.round((double) totalCases * availableCapacity / totalAvailableCapacity);
-            casesForAgent = Math.min(casesForAgent, availableCapacity);
-            casesForAgent = Math.min(casesForAgent, totalCases - caseIndex);
-
-            int allocated = 0;
-            for (int i = 0; i < casesForAgent && caseIndex < caseIds.size(); i++, caseIndex++) {
-                Long caseId = caseIds.get(caseIndex);
-                com.finx.allocationreallocationservice.domain.entity.Case caseEntity = caseMap.get(caseId);
-                String geographyCode = caseEntity != null ? caseEntity.getGeographyCode() : null;
-
-                allocations.add(CaseAllocation.builder()
-                        .caseId(caseId)
-                        .primaryAgentId(agent.getId())
-                        .allocatedToType("USER")
-                        .allocationType("PRIMARY")
-                        .status(AllocationStatus.ALLOCATED)
-                        .allocationRuleId(ruleId)
-                        .allocatedAt(LocalDateTime.now())
-                        .workloadPercentage(new java.math.BigDecimal("100.00"))
-                        .geographyCode(geographyCode)
-                        .build());
-
-                historyEntries.add(AllocationHistory.builder()
-                        .caseId(caseId)
-                        .allocatedToUserId(agent.getId())
-                        .newOwnerType("USER")
-                        .action(AllocationAction.ALLOCATED)
-                        .reason("CAPACITY_BASED allocation: " + ruleName)
-                        .allocatedAt(LocalDateTime.now())
-                        .build());
-
-                allocated++;
-            }
-
-            if (allocated > 0) {
-                agentCaseCount.put(agent.getId(), allocated);
-                results.add(AllocationRuleExecutionResponseDTO.AllocationResultDTO.builder()
-                        .agentId(agent.getId())
-                        .allocated(allocated)
-                        .build());
-            }
+    private Map<String, Integer> countCasesByGeography(List<String> geographies, List<String> buckets) {
+        List<Object[]> rows;
+        if (geographies != null && !geographies.isEmpty() && buckets != null && !buckets.isEmpty()) {
+            rows = caseReadRepository.countUnallocatedGroupedByGeographyAndBucket(geographies, buckets);
+        } else if (geographies != null && !geographies.isEmpty()) {
+            rows = caseReadRepository.countUnallocatedGroupedByGeography(geographies);
+        } else if (buckets != null && !buckets.isEmpty()) {
+            rows = caseReadRepository.countUnallocatedGroupedByGeographyForBuckets(buckets);
+        } else {
+            rows = caseReadRepository.countAllUnallocatedGroupedByGeography();
         }
-
-        caseAllocationRepository.saveAll(allocations);
-        allocationHistoryRepository.saveAll(historyEntries);
-
-        // Update user statistics
-        updateUserStatistics(agentCaseCount);
-
-        log.info("CAPACITY_BASED allocation completed: {} cases allocated to {} agents", caseIndex, agents.size());
-        return results;
-    }
-
-    private List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> allocateByGeography(
-            List<Long> caseIds, List<UserDTO> agents, int totalCases, Long ruleId, String ruleName,
-            Map<Long, com.finx.allocationreallocationservice.domain.entity.Case> caseMap) {
-        // Geography-based allocation uses equal distribution among agents
-        return allocateEqually(caseIds, agents, totalCases, ruleId, ruleName, caseMap);
+        return toGeographyCounts(rows);
     }
 
-    private List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> allocateEqually(
-            List<Long> caseIds, List<UserDTO> agents, int totalCases, Long ruleId, String ruleName,
-            Map<Long, com.finx.allocationreallocationservice.domain.entity.Case> caseMap) {
-
-        List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> results = new ArrayList<>();
-        List<CaseAllocation> allocations = new ArrayList<>();
-        List<AllocationHistory> historyEntries = new ArrayList<>();
-        Map<Long, Integer> agentCaseCount = new HashMap<>();
-
-        int casesPerAgent = totalCases / agents.size();
-        int remainder = totalCases % agents.size();
-        int caseIndex = 0;
-
-        for (int i = 0; i < agents.size(); i++) {
-            UserDTO agent = agents.get(i);
-
-            // Distribute remainder to first few agents
-            int casesForAgent = casesPerAgent + (i < remainder ? 1 : 0);
-
-            int allocated = 0;
-            for (int j = 0; j < casesForAgent && caseIndex < caseIds.size(); j++, caseIndex++) {
-                Long caseId = caseIds.get(caseIndex);
-                com.finx.allocationreallocationservice.domain.entity.Case caseEntity = caseMap.get(caseId);
-                String geographyCode = caseEntity != null ? caseEntity.getGeographyCode() : null;
-
-                allocations.add(CaseAllocation.builder()
-                        .caseId(caseId)
-                        .primaryAgentId(agent.getId())
-                        .allocatedToType("USER")
-                        .allocationType("PRIMARY")
-                        .status(AllocationStatus.ALLOCATED)
-                        .allocationRuleId(ruleId)
-                        .allocatedAt(LocalDateTime.now())
-                        .workloadPercentage(new java.math.BigDecimal("100.00"))
-                        .geographyCode(geographyCode)
-                        .build());
-
-                historyEntries.add(AllocationHistory.builder()
-                        .caseId(caseId)
-                        .allocatedToUserId(agent.getId())
-                        .newOwnerType("USER")
-                        .action(AllocationAction.ALLOCATED)
-                        .reason("Equal allocation: " + ruleName)
-                        .allocatedAt(LocalDateTime.now())
-                        .build());
-
-                allocated++;
-            }
-
-            if (allocated > 0) {
-                agentCaseCount.put(agent.getId(), allocated);
-                results.add(AllocationRuleExecutionResponseDTO.AllocationResultDTO.builder()
-                        .agentId(agent.getId())
-                        .allocated(allocated)
-                        .build());
+    private Map<String, Integer> toGeographyCounts(List<Object[]> rows) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counts.put((String) row[0], ((Number) row[1]).intValue());
             }
         }
-
-        caseAllocationRepository.saveAll(allocations);
-        allocationHistoryRepository.saveAll(historyEntries);
-
-        // Update user statistics
-        updateUserStatistics(agentCaseCount);
-
-        log.info("Equal allocation completed: {} cases allocated to {} agents", caseIndex, agents.size());
-        return results;
+        return counts;
     }
 
-    /**
-     * Update user statistics after allocation
-     * Updates current_case_count and allocation_percentage
-     * 
-     * @param agentCaseCount Map of agentId to number of cases allocated
-     */
-    @SuppressWarnings("null")
-    private void updateUserStatistics(Map<Long, Integer> agentCaseCount) {
-        log.info("Updating user statistics for {} agents", agentCaseCount.size());
-
-        for (Map.Entry<Long, Integer> entry : agentCaseCount.entrySet()) {
-            Long agentId = entry.getKey();
-            Integer casesAllocated = entry.getValue();
-
-            try {
-                User user = userRepository.findById(agentId).orElse(null);
-                if (user == null) {
-                    log.warn("User {} not found for statistics update", agentId);
-                    continue;
-                }
-
-                // Update current_case_count
-                Integer currentCaseCount = user.getCurrentCaseCount() != null ? user.getCurrentCaseCount() : 0;
-                Integer newCaseCount = currentCaseCount + casesAllocated;
-                user.setCurrentCaseCount(newCaseCount);
-
-                // Calculate and update allocation_percentage
-                // Formula: (current_case_count / max_case_capacity) * 100
-                Integer maxCapacity = user.getMaxCaseCapacity() != null ? user.getMaxCaseCapacity() : 100;
-                if (maxCapacity > 0) {
-                    double allocationPercentage = ((double) newCaseCount / maxCapacity) * 100.0;
-                    // Round to 2 decimal places
-                    allocationPercentage = Math.round(allocationPercentage * 100.0) / 100.0;
-                    user.setAllocationPercentage(allocationPercentage);
-                } else {
-                    log.warn("User {} has invalid max capacity: {}", agentId, maxCapacity);
-                    user.setAllocationPercentage(0.0);
-                }
-
-                user.setUpdatedAt(LocalDateTime.now());
-                userRepository.save(user);
-
-                log.info("Updated user {} statistics: currentCaseCount={}, allocationPercentage={}%",
-                        agentId, newCaseCount, user.getAllocationPercentage());
-
-            } catch (Exception e) {
-                log.error("Failed to update statistics for user {}: {}", agentId, e.getMessage(), e);
-            }
+    private void mergeCounts(int[] target, int[] counts) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += counts[i];
         }
     }
 
@@ -1013,20 +744,18 @@ public class AllocationServiceImpl implements AllocationService {
     }
 
     @Override
-    public byte[] exportFailedContactUpdateRows(String batchId) {
+    public StreamingResponseBody exportFailedContactUpdateRows(String batchId) {
         log.info("Exporting failed contact update rows for batch: {}", batchId);
 
         if (!contactUpdateBatchRepository.existsByBatchId(batchId)) {
             throw new ResourceNotFoundException("Contact update batch not found: " + batchId);
         }
 
-        List<BatchError> errors = batchErrorRepository.findByBatchId(batchId);
-
-        if (errors.isEmpty()) {
+        if (!batchErrorRepository.existsByBatchId(batchId)) {
             throw new BusinessException("No errors found for batch: " + batchId);
         }
 
-        return csvExporter.exportBatchErrors(errors);
+        return streamBatchErrors(batchId);
     }
 
     @Override
@@ -1269,9 +998,14 @@ public class AllocationServiceImpl implements AllocationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Not transactional: cases are committed chunk by chunk (or partition by
+     * partition), and the rule's status moves READY_FOR_APPLY -> APPLYING ->
+     * ACTIVE / PARTIALLY_APPLIED in short transactions of its own, so no
+     * enclosing transaction can roll back the status while cases stay allocated.
+     */
     @SuppressWarnings("null")
     @Override
-    @Transactional
     @CacheEvict(value = "allocationRules", allEntries = true)
     public AllocationRuleExecutionResponseDTO applyAllocationRule(Long ruleId,
             AllocationRuleExecutionRequestDTO request) {
@@ -1282,8 +1016,9 @@ public class AllocationServiceImpl implements AllocationService {
         AllocationRule rule = allocationRuleRepository.findById(ruleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Allocation rule not found: " + ruleId));
 
-        // Enforce lifecycle: apply() allowed only if status == READY_FOR_APPLY
-        if (rule.getStatus() != RuleStatus.READY_FOR_APPLY) {
+        // Enforce lifecycle: apply() allowed only if status == READY_FOR_APPLY, or to finish a partial apply
+        RuleStatus previousStatus = rule.getStatus();
+        if (previousStatus != RuleStatus.READY_FOR_APPLY && previousStatus != RuleStatus.PARTIALLY_APPLIED) {
             throw new ValidationException(
                     "Simulation required before applying rule. Current status: " + rule.getStatus());
         }
@@ -1322,18 +1057,19 @@ public class AllocationServiceImpl implements AllocationService {
         }
 
         // Determine which cases to allocate
-        List<Long> unallocatedCaseIds;
+        List<Long> requestedCaseIds = request.getCaseIds();
+        boolean useRequestedCases = requestedCaseIds != null && !requestedCaseIds.isEmpty();
+        int availableCases;
 
-        if (request.getCaseIds() != null && !request.getCaseIds().isEmpty()) {
+        if (useRequestedCases) {
             // Use provided case IDs from simulate response
-            unallocatedCaseIds = request.getCaseIds();
-            log.info("Using {} provided case IDs from request", unallocatedCaseIds.size());
+            log.info("Using {} provided case IDs from request", requestedCaseIds.size());
 
             // Validate that provided cases exist and are unallocated
             List<com.finx.allocationreallocationservice.domain.entity.Case> requestedCases = caseReadRepository
-                    .findAllById(unallocatedCaseIds);
+                    .findAllById(requestedCaseIds);
 
-            if (requestedCases.size() != unallocatedCaseIds.size()) {
+            if (requestedCases.size() != requestedCaseIds.size()) {
                 throw new ValidationException("caseIds", "Some provided case IDs do not exist");
             }
 
@@ -1344,99 +1080,155 @@ public class AllocationServiceImpl implements AllocationService {
                             "Case ID " + caseEntity.getId() + " is already allocated");
                 }
             }
+            availableCases = requestedCaseIds.size();
         } else {
-            // Fetch all matching unallocated cases based on rule criteria
-            List<com.finx.allocationreallocationservice.domain.entity.Case> matchingCases = getUnallocatedCasesMatchingFilters(
-                    geographies, buckets);
-
-            unallocatedCaseIds = matchingCases.stream()
-                    .map(com.finx.allocationreallocationservice.domain.entity.Case::getId)
-                    .collect(Collectors.toList());
-
-            log.info("Fetched {} unallocated cases matching rule criteria", unallocatedCaseIds.size());
+            // Count matching unallocated cases; they are streamed in chunks during allocation
+            availableCases = (int) countUnallocatedCasesMatchingFilters(geographies, buckets);
+            log.info("Found {} unallocated cases matching rule criteria", availableCases);
         }
 
-        if (unallocatedCaseIds.isEmpty()) {
+        if (availableCases == 0) {
             throw new BusinessException("No unallocated cases available for allocation");
         }
 
-        int maxCases = request.getMaxCases() != null ? request.getMaxCases() : unallocatedCaseIds.size();
-        int casesToAllocate = Math.min(maxCases, unallocatedCaseIds.size());
+        int maxCases = request.getMaxCases() != null ? request.getMaxCases() : availableCases;
+        int casesToAllocate = Math.min(maxCases, availableCases);
 
         log.info("Found {} unallocated cases, allocating {} cases to {} agents",
-                unallocatedCaseIds.size(), casesToAllocate, agents.size());
-
-        // Fetch case entities to get geography codes
-        List<com.finx.allocationreallocationservice.domain.entity.Case> cases = caseReadRepository
-                .findAllById(unallocatedCaseIds);
-
-        // Create a map of caseId to Case entity for quick lookup
-        Map<Long, com.finx.allocationreallocationservice.domain.entity.Case> caseMap = cases.stream()
-                .collect(Collectors.toMap(
-                        com.finx.allocationreallocationservice.domain.entity.Case::getId,
-                        c -> c));
-
-        // Allocate cases based on rule type
-        List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> results;
-        if ("PERCENTAGE_SPLIT".equals(ruleType)) {
-            results = allocateByPercentage(unallocatedCaseIds, agents, request.getPercentages(), casesToAllocate,
-                    ruleId, rule.getName(), caseMap);
-        } else if ("CAPACITY_BASED".equals(ruleType)) {
-            results = allocateByCapacity(unallocatedCaseIds, agents, casesToAllocate, ruleId, rule.getName(), caseMap);
-        } else if ("GEOGRAPHY".equals(ruleType)) {
-            results = allocateByGeography(unallocatedCaseIds, agents, casesToAllocate, ruleId, rule.getName(), caseMap);
-        } else {
-            // Default to equal distribution
-            results = allocateEqually(unallocatedCaseIds, agents, casesToAllocate, ruleId, rule.getName(), caseMap);
+                availableCases, casesToAllocate, agents.size());
+
+        // Work out how many cases each agent receives with the rule type's strategy
+        AllocationStrategy strategy = allocationStrategyRegistry.get(ruleType);
+        Map<String, Integer> casesByGeography = null;
+        if (strategy.requiresGeographyCounts()) {
+            casesByGeography = useRequestedCases
+                    ? toGeographyCounts(caseReadRepository.countGroupedByGeographyForIds(requestedCaseIds))
+                    : countCasesByGeography(geographies, buckets);
+        }
+        List<AgentQuota> quotas = strategy.plan(AllocationContext.builder()
+                .ruleName(rule.getName())
+                .agents(agents)
+                .percentages("PERCENTAGE_SPLIT".equals(ruleType) ? request.getPercentages() : null)
+                .totalCases(casesToAllocate)
+                .currentWorkloads(agentWorkloadSnapshotService.getWorkloads(agentIds))
+                .casesByGeography(casesByGeography)
+                .build());
+
+        // Geography-scoped plans pick their cases from all matching ones
+        int casesToScan = strategy.requiresGeographyCounts() ? availableCases : casesToAllocate;
+
+        // Claim the rule before any case is written; a concurrent apply of the same rule fails here
+        if (!ruleStateWriter.startApplying(ruleId)) {
+            throw new BusinessException("Rule " + ruleId + " is already being applied or is no longer "
+                    + "ready to apply");
+        }
+
+        // Allocate chunk by chunk, each in its own transaction; large runs are partitioned across the rule executor
+        AgentQuotaCounter counter = new AgentQuotaCounter(quotas);
+        boolean parallel = parallelEnabled && casesToAllocate >= parallelThreshold;
+        int[] allocatedPerQuota = new int[quotas.size()];
+        int[] failedChunks = new int[1];
+        PartitionedRuleExecutor.Run parallelRun = parallel ? partitionedRuleExecutor.start(counter, ruleId) : null;
+        Consumer<List<UnallocatedCaseRow>> partitionConsumer = parallel
+                ? parallelRun::submit
+                : rows -> allocateChunk(rows, counter, ruleId, allocatedPerQuota, failedChunks);
+
+        log.info("Applying rule {} in {} mode", ruleId, parallel ? "partitioned parallel" : "serial");
+
+        RuntimeException runError = null;
+        try {
+            if (useRequestedCases) {
+                List<Long> idsToAllocate = requestedCaseIds.subList(0, casesToScan);
+                for (int from = 0; from < idsToAllocate.size() && !counter.isExhausted(); from += ruleChunkSize) {
+                    partitionConsumer.accept(caseReadRepository.findRowsByIdIn(
+                            idsToAllocate.subList(from, Math.min(from + ruleChunkSize, idsToAllocate.size()))));
+                }
+            } else {
+                forEachUnallocatedChunk(geographies, buckets, casesToScan, counter::isExhausted, partitionConsumer);
+            }
+        } catch (RuntimeException e) {
+            // Chunks committed so far stay; the rule's status records the partial result below
+            log.error("Applying rule {} stopped early: {}", ruleId, e.getMessage(), e);
+            runError = e;
+        }
+        int failedPartitions = failedChunks[0];
+        if (parallel) {
+            PartitionedRuleExecutor.Result parallelResult = parallelRun.await();
+            mergeCounts(allocatedPerQuota, parallelResult.allocated());
+            failedPartitions += parallelResult.failedPartitions();
+        }
+
+        // Merge partition results per agent
+        Map<Long, Integer> allocatedPerAgent = new java.util.LinkedHashMap<>();
+        for (int i = 0; i < quotas.size(); i++) {
+            if (allocatedPerQuota[i] > 0) {
+                allocatedPerAgent.merge(quotas.get(i).agentId(), allocatedPerQuota[i], Integer::sum);
+            }
         }
+        List<AllocationRuleExecutionResponseDTO.AllocationResultDTO> results = allocatedPerAgent.entrySet().stream()
+                .map(entry -> AllocationRuleExecutionResponseDTO.AllocationResultDTO.builder()
+                        .agentId(entry.getKey())
+                        .allocated(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
 
         int totalAllocated = results.stream()
                 .mapToInt(AllocationRuleExecutionResponseDTO.AllocationResultDTO::getAllocated)
                 .sum();
 
-        // Update rule status to ACTIVE
-        rule.setStatus(RuleStatus.ACTIVE);
-        allocationRuleRepository.save(rule);
-
-        log.info("Successfully allocated {} cases and marked rule {} as ACTIVE", totalAllocated, ruleId);
+        // ACTIVE only when every chunk committed; otherwise the rule can be applied again for the rest
+        RuleStatus finalStatus;
+        if (runError == null && failedPartitions == 0) {
+            finalStatus = RuleStatus.ACTIVE;
+        } else if (totalAllocated > 0 || previousStatus == RuleStatus.PARTIALLY_APPLIED) {
+            finalStatus = RuleStatus.PARTIALLY_APPLIED;
+        } else {
+            finalStatus = RuleStatus.READY_FOR_APPLY;
+        }
+        ruleStateWriter.finishApplying(ruleId, previousStatus, finalStatus,
+                Map.of("totalCasesAllocated", totalAllocated, "failedPartitions", failedPartitions));
 
-        saveAuditLog("ALLOCATION_RULE", ruleId, "APPLY",
-                Map.of("previousStatus", "READY_FOR_APPLY"),
-                Map.of("status", "ACTIVE", "totalCasesAllocated", totalAllocated));
+        if (runError != null) {
+            throw runError;
+        }
+        log.info("Allocated {} cases and marked rule {} as {} ({} failed partitions)", totalAllocated, ruleId,
+                finalStatus, failedPartitions);
 
         return AllocationRuleExecutionResponseDTO.builder()
                 .ruleId(ruleId)
                 .totalCasesAllocated(totalAllocated)
+                .failedPartitions(failedPartitions)
                 .allocations(results)
-                .status(RuleStatus.ACTIVE.name())
+                .status(finalStatus.name())
                 .build();
     }
 
-    @SuppressWarnings("null")
+    /**
+     * Serial apply: allocate one chunk in its own transaction; a failed chunk
+     * is rolled back, releases its claims and is counted
+     */
+    private void allocateChunk(List<UnallocatedCaseRow> rows, AgentQuotaCounter counter, Long ruleId,
+            int[] allocatedPerQuota, int[] failedChunks) {
+        try {
+            mergeCounts(allocatedPerQuota, partitionWriter.allocatePartitionInNewTransaction(rows, counter, ruleId));
+        } catch (RuntimeException e) {
+            failedChunks[0]++;
+            log.error("Allocation chunk of {} cases for rule {} failed: {}", rows.size(), ruleId, e.getMessage(), e);
+        }
+    }
+
     @Transactional
     public void deallocateCase(Long caseId, String reason) {
         log.info("Deallocating case: {} with reason: {}", caseId, reason);
 
-        CaseAllocation allocation = caseAllocationRepository.findFirstByCaseIdOrderByAllocatedAtDesc(caseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Case allocation not found for case: " + caseId));
-
-        Long previousAgentId = allocation.getPrimaryAgentId();
-
-        allocation.setStatus(AllocationStatus.DEALLOCATED);
-        allocation.setDeallocatedAt(LocalDateTime.now());
-        caseAllocationRepository.save(allocation);
-
-        AllocationHistory history = AllocationHistory.builder()
-                .caseId(caseId)
-                .allocatedFromUserId(previousAgentId)
-                .previousOwnerType("USER")
-                .action(com.finx.allocationreallocationservice.domain.enums.AllocationAction.DEALLOCATED)
-                .reason(reason)
-                .allocatedAt(LocalDateTime.now())
-                .build();
-        allocationHistoryRepository.save(history);
+        List<AllocationBulkWriter.ClosedAllocation> closed = deallocateCases(List.of(caseId), reason);
+        if (closed.isEmpty()) {
+            throw new ResourceNotFoundException("Active case allocation not found for case: " + caseId);
+        }
 
-        saveAuditLog("CASE_ALLOCATION", allocation.getId(), "DEALLOCATE", allocation, null);
+        for (AllocationBulkWriter.ClosedAllocation allocation : closed) {
+            saveAuditLog("CASE_ALLOCATION", allocation.allocationId(), "DEALLOCATE", allocation, null);
+        }
     }
 
     @Override
@@ -1445,28 +1237,83 @@ public class AllocationServiceImpl implements AllocationService {
         log.info("Bulk deallocating {} cases", request.getCaseIds().size());
 
         String jobId = "DEALLOC_JOB_" + System.currentTimeMillis();
-        int successful = 0;
-        int failed = 0;
+        List<Long> caseIds = request.getCaseIds().stream()
+                .filter(java.util.Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
 
-        for (Long caseId : request.getCaseIds()) {
-            try {
-                deallocateCase(caseId, request.getReason());
-                successful++;
-            } catch (Exception e) {
-                log.error("Failed to deallocate case {}: {}", caseId, e.getMessage());
-                failed++;
-            }
+        Set<Long> deallocatedCaseIds = deallocateCases(caseIds, request.getReason()).stream()
+                .map(AllocationBulkWriter.ClosedAllocation::caseId)
+                .collect(Collectors.toSet());
+
+        List<BulkDeallocationResponseDTO.CaseResultDTO> results = new ArrayList<>(caseIds.size());
+        for (Long caseId : caseIds) {
+            boolean success = deallocatedCaseIds.contains(caseId);
+            results.add(BulkDeallocationResponseDTO.CaseResultDTO.builder()
+                    .caseId(caseId)
+                    .success(success)
+                    .message(success ? "Deallocated" : "No active allocation found for case")
+                    .build());
+        }
+        int failed = caseIds.size() - deallocatedCaseIds.size();
+        if (failed > 0) {
+            log.warn("Bulk deallocation {}: {} out of {} cases had no active allocation", jobId, failed,
+                    caseIds.size());
         }
 
         return BulkDeallocationResponseDTO.builder()
                 .jobId(jobId)
-                .totalCases(request.getCaseIds().size())
-                .successfulDeallocations(successful)
+                .totalCases(caseIds.size())
+                .successfulDeallocations(deallocatedCaseIds.size())
                 .failedDeallocations(failed)
                 .status("COMPLETED")
+                .results(results)
                 .build();
     }
 
+    /**
+     * Close the active allocations of the given cases with one statement per
+     * table: allocations are closed with UPDATE ... RETURNING, history rows are
+     * batch inserted, the cases go back to UNALLOCATED and the agent counts
+     * are reduced by one aggregated delta per agent.
+     *
+     * @return The allocations that were closed
+     */
+    private List<AllocationBulkWriter.ClosedAllocation> deallocateCases(List<Long> caseIds, String reason) {
+        List<AllocationBulkWriter.ClosedAllocation> closed = allocationBulkWriter.closeActiveAllocations(caseIds);
+        if (closed.isEmpty()) {
+            return closed;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AllocationHistory> history = new ArrayList<>(closed.size());
+        Map<Long, Integer> agentDeltas = new HashMap<>();
+        Set<Long> deallocatedCaseIds = new java.util.HashSet<>();
+        for (AllocationBulkWriter.ClosedAllocation allocation : closed) {
+            // new_owner_id is NOT NULL; a deallocation keeps the released agent there
+            history.add(AllocationHistory.builder()
+                    .caseId(allocation.caseId())
+                    .externalCaseId(allocation.externalCaseId())
+                    .allocatedToUserId(allocation.agentId())
+                    .allocatedFromUserId(allocation.agentId())
+                    .previousOwnerType("USER")
+                    .action(AllocationAction.DEALLOCATED)
+                    .reason(reason)
+                    .allocatedAt(now)
+                    .build());
+            agentDeltas.merge(allocation.agentId(), -1, Integer::sum);
+            deallocatedCaseIds.add(allocation.caseId());
+        }
+
+        allocationBulkWriter.insertHistory(history);
+        allocationBulkWriter.revertCases(deallocatedCaseIds);
+        agentStatisticsUpdater.applyDeltas(agentDeltas);
+
+        log.info("Deallocated {} allocations of {} cases across {} agents", closed.size(), deallocatedCaseIds.size(),
+                agentDeltas.size());
+        return closed;
+    }
+
     @Override
     public List<AgentWorkloadDTO> getAgentWorkload(List<Long> agentIds, List<String> geographies) {
         log.info("Fetching agent workload for agentIds: {}, geographies: {}", agentIds, geographies);
@@ -1505,20 +1352,22 @@ public class AllocationServiceImpl implements AllocationService {
             }
         }
 
+        Map<Long, Integer> workloads = agentWorkloadSnapshotService.getWorkloads(
+                agents.stream().map(UserDTO::getId).collect(Collectors.toList()));
+
         return agents.stream()
                 .map(agent -> {
-                    long allocated = caseAllocationRepository.countByPrimaryAgentIdAndStatus(
-                            agent.getId(), AllocationStatus.ALLOCATED);
+                    int allocated = workloads.get(agent.getId());
                     int capacity = agent.getCapacity() != null ? agent.getCapacity() : 100;
-                    int available = Math.max(0, capacity - (int) allocated);
+                    int available = Math.max(0, capacity - allocated);
                     double utilization = capacity > 0 ? (allocated * 100.0 / capacity) : 0.0;
 
                     return AgentWorkloadDTO.builder()
                             .agentId(agent.getId())
                             .agentName(agent.getUsername())
                             .geography(agent.getGeography())
-                            .totalAllocated((int) allocated)
-                            .activeAllocations((int) allocated)
+                            .totalAllocated(allocated)
+                            .activeAllocations(allocated)
                             .capacity(capacity)
                             .availableCapacity(available)
                             .utilizationPercentage(Math.round(utilization * 100.0) / 100.0)
@@ -1539,4 +1388,10 @@ public class AllocationServiceImpl implements AllocationService {
                 .completedAt(batch.getCompletedAt())
                 .build();
     }
+
+    private StreamingResponseBody streamBatchErrors(String batchId) {
+        Pageable page = PageRequest.of(0, exportPageSize);
+        return outputStream -> csvExporter.writeBatchErrors(outputStream,
+                lastId -> batchErrorRepository.findExportPage(batchId, lastId, page));
+    }
 }
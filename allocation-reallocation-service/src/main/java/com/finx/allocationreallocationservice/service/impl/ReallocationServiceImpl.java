@@ -7,28 +7,28 @@ import com.finx.allocationreallocationservice.domain.dto.ReallocationByAgentRequ
 import com.finx.allocationreallocationservice.domain.dto.ReallocationByFilterRequestDTO;
 import com.finx.allocationreallocationservice.domain.dto.ReallocationResponseDTO;
 import com.finx.allocationreallocationservice.domain.entity.AllocationBatch;
-import com.finx.allocationreallocationservice.domain.entity.AllocationHistory;
 import com.finx.allocationreallocationservice.domain.entity.AuditLog;
-import com.finx.allocationreallocationservice.domain.entity.BatchError;
-import com.finx.allocationreallocationservice.domain.entity.CaseAllocation;
-import com.finx.allocationreallocationservice.domain.enums.AllocationAction;
+import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
 import com.finx.allocationreallocationservice.domain.enums.BatchStatus;
 import com.finx.allocationreallocationservice.exception.ResourceNotFoundException;
+import com.finx.allocationreallocationservice.exception.ValidationException;
 import com.finx.allocationreallocationservice.repository.AllocationBatchRepository;
-import com.finx.allocationreallocationservice.repository.AllocationHistoryRepository;
 import com.finx.allocationreallocationservice.repository.AuditLogRepository;
 import com.finx.allocationreallocationservice.repository.BatchErrorRepository;
-import com.finx.allocationreallocationservice.repository.CaseAllocationRepository;
 import com.finx.allocationreallocationservice.service.ReallocationService;
 import com.finx.allocationreallocationservice.service.async.AllocationBatchProcessingService;
+import com.finx.allocationreallocationservice.service.reallocation.ChunkedReallocationExecutor;
+import com.finx.allocationreallocationservice.service.reallocation.ReallocationFilter;
 import com.finx.allocationreallocationservice.util.csv.CsvExporter;
-import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.finx.allocationreallocationservice.exception.BusinessException;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionSynchronization;
@@ -37,10 +37,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -48,15 +47,15 @@ import java.util.stream.Collectors;
 public class ReallocationServiceImpl implements ReallocationService {
 
     private final AllocationBatchRepository allocationBatchRepository;
-    private final CaseAllocationRepository caseAllocationRepository;
-    private final AllocationHistoryRepository allocationHistoryRepository;
+    private final ChunkedReallocationExecutor reallocationExecutor;
     private final AllocationBatchProcessingService batchProcessingService;
     private final AuditLogRepository auditLogRepository;
     private final BatchErrorRepository batchErrorRepository;
     private final CsvExporter csvExporter;
     private final ObjectMapper objectMapper;
-    private final com.finx.allocationreallocationservice.repository.UserRepository userRepository;
-    private final com.finx.allocationreallocationservice.repository.CaseReadRepository caseReadRepository;
+
+    @Value("${allocation.export.page-size:5000}")
+    private int exportPageSize;
 
     @SuppressWarnings("null")
     @Override
@@ -102,186 +101,83 @@ public class ReallocationServiceImpl implements ReallocationService {
                 .build();
     }
 
-    @SuppressWarnings("null")
     @Override
-    @Transactional
     public ReallocationResponseDTO reallocateByAgent(ReallocationByAgentRequestDTO request) {
         log.info("Processing reallocation from user {} to user {}",
                 request.getFromUserId(), request.getToUserId());
 
-        String jobId = "REALLOC_JOB_" + System.currentTimeMillis();
-
-        List<CaseAllocation> allocations = caseAllocationRepository.findByPrimaryAgentId(request.getFromUserId());
-
-        if (allocations.isEmpty()) {
-            return ReallocationResponseDTO.builder()
-                    .jobId(jobId)
-                    .status("COMPLETED")
-                    .casesReallocated(0L)
-                    .build();
-        }
-
-        List<CaseAllocation> oldAllocations = allocations.stream().map(alloc -> alloc.toBuilder().build())
-                .collect(Collectors.toList());
-
-        int casesReallocated = allocations.size();
-
-        // Update allocations with new agent and maintain/update fields
-        allocations.forEach(alloc -> {
-            alloc.setPrimaryAgentId(request.getToUserId());
-
-            // Maintain workload_percentage (default 100.00 if not set)
-            if (alloc.getWorkloadPercentage() == null) {
-                alloc.setWorkloadPercentage(new java.math.BigDecimal("100.00"));
-            }
+        Map<String, Object> criteria = new HashMap<>();
+        criteria.put("fromUserId", request.getFromUserId());
 
-            // Update geography code from case entity if possible
-            try {
-                java.util.Optional<com.finx.allocationreallocationservice.domain.entity.Case> caseOpt = caseReadRepository
-                        .findById(alloc.getCaseId());
-                if (caseOpt.isPresent() && caseOpt.get().getGeographyCode() != null) {
-                    alloc.setGeographyCode(caseOpt.get().getGeographyCode());
-                }
-            } catch (Exception e) {
-                log.warn("Failed to fetch case entity for caseId {}: {}", alloc.getCaseId(), e.getMessage());
-            }
-        });
-
-        caseAllocationRepository.saveAll(allocations);
-
-        List<AllocationHistory> history = allocations.stream()
-                .map(alloc -> AllocationHistory.builder()
-                        .caseId(alloc.getCaseId())
-                        .allocatedToUserId(request.getToUserId())
-                        .allocatedFromUserId(request.getFromUserId())
-                        .newOwnerType("USER")
-                        .previousOwnerType("USER")
-                        .allocatedAt(LocalDateTime.now())
-                        .action(AllocationAction.REALLOCATED)
-                        .reason(request.getReason())
-                        .build())
-                .collect(Collectors.toList());
-        allocationHistoryRepository.saveAll(history);
-
-        for (int i = 0; i < allocations.size(); i++) {
-            saveAuditLog("CASE_ALLOCATION", allocations.get(i).getId(), "REALLOCATE_BY_AGENT", oldAllocations.get(i),
-                    allocations.get(i));
-        }
-
-        // Update user statistics
-        java.util.Map<Long, Integer> decrements = new java.util.HashMap<>();
-        java.util.Map<Long, Integer> increments = new java.util.HashMap<>();
-        decrements.put(request.getFromUserId(), casesReallocated);
-        increments.put(request.getToUserId(), casesReallocated);
-        updateUserStatisticsForReallocation(decrements, increments);
-
-        return ReallocationResponseDTO.builder()
-                .jobId(jobId)
-                .status("COMPLETED")
-                .casesReallocated((long) casesReallocated)
-                .build();
+        return runReallocation(ReallocationFilter.byAgent(request.getFromUserId()), criteria, request.getToUserId(),
+                request.getReason(), Boolean.TRUE.equals(request.getDryRun()), "REALLOCATE_BY_AGENT");
     }
 
-    @SuppressWarnings("null")
     @Override
-    @Transactional
     public ReallocationResponseDTO reallocateByFilter(ReallocationByFilterRequestDTO request) {
         log.info("Processing reallocation by filter to user {}", request.getToUserId());
 
-        String jobId = "REALLOC_JOB_" + System.currentTimeMillis();
+        Map<String, Object> criteria = request.getFilterCriteria();
+        ReallocationFilter filter = new ReallocationFilter(
+                parseStatus(criteria.get("status")),
+                criteria.get("fromUserId") != null ? Long.valueOf(criteria.get("fromUserId").toString()) : null,
+                criteria.get("geographyCode") != null ? criteria.get("geographyCode").toString() : null,
+                criteria.get("bucket") != null ? criteria.get("bucket").toString() : null);
 
-        Specification<CaseAllocation> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            if (request.getFilterCriteria() != null) {
-                // This is a simplified example. A real implementation would need to handle
-                // different fields and operators.
-                if (request.getFilterCriteria().get("bucket") != null) {
-                    predicates
-                            .add(criteriaBuilder.equal(root.get("bucket"), request.getFilterCriteria().get("bucket")));
-                }
-                if (request.getFilterCriteria().get("status") != null) {
-                    predicates
-                            .add(criteriaBuilder.equal(root.get("status"), request.getFilterCriteria().get("status")));
-                }
-            }
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
+        return runReallocation(filter, criteria, request.getToUserId(), request.getReason(),
+                Boolean.TRUE.equals(request.getDryRun()), "REALLOCATE_BY_FILTER");
+    }
 
-        List<CaseAllocation> allocations = caseAllocationRepository.findAll(spec);
+    /**
+     * Count (dry run) or execute a chunked reallocation job. Each case keeps its
+     * own allocation_history row; the job itself is audited once.
+     */
+    private ReallocationResponseDTO runReallocation(ReallocationFilter filter, Map<String, Object> criteria,
+            Long toUserId, String reason, boolean dryRun, String auditAction) {
+        String jobId = "REALLOC_JOB_" + System.currentTimeMillis();
 
-        if (allocations.isEmpty()) {
+        if (dryRun) {
+            long matching = reallocationExecutor.count(filter, toUserId);
+            log.info("Reallocation dry run {}: {} allocations would move to user {}", jobId, matching, toUserId);
             return ReallocationResponseDTO.builder()
                     .jobId(jobId)
-                    .status("COMPLETED")
-                    .estimatedCases(0L)
+                    .status("DRY_RUN")
+                    .casesReallocated(0L)
+                    .estimatedCases(matching)
                     .build();
         }
 
-        List<CaseAllocation> oldAllocations = allocations.stream().map(alloc -> alloc.toBuilder().build())
-                .collect(Collectors.toList());
-
-        // Track agent changes for statistics update
-        java.util.Map<Long, Integer> decrements = new java.util.HashMap<>();
-        java.util.Map<Long, Integer> increments = new java.util.HashMap<>();
+        ChunkedReallocationExecutor.Result result = reallocationExecutor.execute(jobId, filter, toUserId, reason);
 
-        // Update allocations with new agent and maintain/update fields
-        allocations.forEach(alloc -> {
-            Long oldAgentId = alloc.getPrimaryAgentId();
-            decrements.put(oldAgentId, decrements.getOrDefault(oldAgentId, 0) + 1);
-            alloc.setPrimaryAgentId(request.getToUserId());
-
-            // Maintain workload_percentage (default 100.00 if not set)
-            if (alloc.getWorkloadPercentage() == null) {
-                alloc.setWorkloadPercentage(new java.math.BigDecimal("100.00"));
-            }
-
-            // Update geography code from case entity if possible
-            try {
-                java.util.Optional<com.finx.allocationreallocationservice.domain.entity.Case> caseOpt = caseReadRepository
-                        .findById(alloc.getCaseId());
-                if (caseOpt.isPresent() && caseOpt.get().getGeographyCode() != null) {
-                    alloc.setGeographyCode(caseOpt.get().getGeographyCode());
-                }
-            } catch (Exception e) {
-                log.warn("Failed to fetch case entity for caseId {}: {}", alloc.getCaseId(), e.getMessage());
-            }
-        });
-        increments.put(request.getToUserId(), allocations.size());
-
-        caseAllocationRepository.saveAll(allocations);
-
-        List<AllocationHistory> history = new ArrayList<>();
-        for (int i = 0; i < allocations.size(); i++) {
-            CaseAllocation oldAlloc = oldAllocations.get(i);
-            CaseAllocation newAlloc = allocations.get(i);
-            history.add(AllocationHistory.builder()
-                    .caseId(newAlloc.getCaseId())
-                    .allocatedToUserId(request.getToUserId())
-                    .allocatedFromUserId(oldAlloc.getPrimaryAgentId())
-                    .newOwnerType("USER")
-                    .previousOwnerType("USER")
-                    .allocatedAt(LocalDateTime.now())
-                    .action(AllocationAction.REALLOCATED)
-                    .reason(request.getReason())
-                    .build());
-        }
-        allocationHistoryRepository.saveAll(history);
-
-        for (int i = 0; i < allocations.size(); i++) {
-            saveAuditLog("CASE_ALLOCATION", allocations.get(i).getId(), "REALLOCATE_BY_FILTER", oldAllocations.get(i),
-                    allocations.get(i));
+        if (result.reallocated() > 0) {
+            Map<String, Object> after = new HashMap<>();
+            after.put("jobId", jobId);
+            after.put("toUserId", toUserId);
+            after.put("casesReallocated", result.reallocated());
+            saveAuditLog("USER", toUserId, auditAction, criteria, after);
         }
 
-        // Update user statistics
-        updateUserStatisticsForReallocation(decrements, increments);
-
         return ReallocationResponseDTO.builder()
                 .jobId(jobId)
-                .status("COMPLETED")
-                .estimatedCases((long) allocations.size())
+                .status(result.failed() > 0 ? BatchStatus.PARTIALLY_COMPLETED.name() : BatchStatus.COMPLETED.name())
+                .casesReallocated(result.reallocated())
+                .estimatedCases(result.matched())
+                .casesFailed(result.failed())
+                .chunksProcessed(result.chunks())
                 .build();
     }
 
+    private AllocationStatus parseStatus(Object status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return AllocationStatus.valueOf(status.toString().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("filterCriteria.status", "Unknown allocation status: " + status);
+        }
+    }
+
     @Override
     public AllocationBatchStatusDTO getReallocationBatchStatus(String batchId) {
         log.info("Fetching reallocation batch status for: {}", batchId);
@@ -299,115 +195,18 @@ public class ReallocationServiceImpl implements ReallocationService {
     }
 
     @Override
-    public byte[] exportFailedReallocationRows(String batchId) {
+    public StreamingResponseBody exportFailedReallocationRows(String batchId) {
         log.info("Exporting failed reallocation rows for batch: {}", batchId);
 
         if (!allocationBatchRepository.existsByBatchId(batchId)) {
             throw new ResourceNotFoundException("Reallocation batch not found: " + batchId);
         }
 
-        List<BatchError> errors = batchErrorRepository.findByBatchId(batchId);
-
-        if (errors.isEmpty()) {
+        if (!batchErrorRepository.existsByBatchId(batchId)) {
             throw new BusinessException("No errors found for batch: " + batchId);
         }
 
-        return csvExporter.exportBatchErrors(errors);
-    }
-
-    /**
-     * Update user statistics after reallocation
-     * Decreases current_case_count for old agents and increases for new agents
-     * Recalculates allocation_percentage for all affected agents
-     * 
-     * @param agentDecrements Map of agentId to number of cases removed
-     * @param agentIncrements Map of agentId to number of cases added
-     */
-    @SuppressWarnings("null")
-    private void updateUserStatisticsForReallocation(Map<Long, Integer> agentDecrements,
-            Map<Long, Integer> agentIncrements) {
-        log.info("Updating user statistics for reallocation: {} agents decremented, {} agents incremented",
-                agentDecrements.size(), agentIncrements.size());
-
-        // Process decrements (cases removed from old agents)
-        for (Map.Entry<Long, Integer> entry : agentDecrements.entrySet()) {
-            Long agentId = entry.getKey();
-            Integer casesRemoved = entry.getValue();
-
-            try {
-                com.finx.allocationreallocationservice.domain.entity.User user = userRepository.findById(agentId)
-                        .orElse(null);
-                if (user == null) {
-                    log.warn("User {} not found for statistics update (decrement)", agentId);
-                    continue;
-                }
-
-                // Decrease current_case_count
-                Integer currentCaseCount = user.getCurrentCaseCount() != null ? user.getCurrentCaseCount() : 0;
-                Integer newCaseCount = Math.max(0, currentCaseCount - casesRemoved); // Ensure non-negative
-                user.setCurrentCaseCount(newCaseCount);
-
-                // Recalculate allocation_percentage
-                Integer maxCapacity = user.getMaxCaseCapacity() != null ? user.getMaxCaseCapacity() : 100;
-                if (maxCapacity > 0) {
-                    double allocationPercentage = ((double) newCaseCount / maxCapacity) * 100.0;
-                    allocationPercentage = Math.round(allocationPercentage * 100.0) / 100.0;
-                    user.setAllocationPercentage(allocationPercentage);
-                } else {
-                    user.setAllocationPercentage(0.0);
-                }
-
-                user.setUpdatedAt(LocalDateTime.now());
-                userRepository.save(user);
-
-                log.info(
-                        "Decremented user {} statistics: removed {} cases, currentCaseCount={}, allocationPercentage={}%",
-                        agentId, casesRemoved, newCaseCount, user.getAllocationPercentage());
-
-            } catch (Exception e) {
-                log.error("Failed to update statistics for user {} (decrement): {}", agentId, e.getMessage(), e);
-            }
-        }
-
-        // Process increments (cases added to new agents)
-        for (Map.Entry<Long, Integer> entry : agentIncrements.entrySet()) {
-            Long agentId = entry.getKey();
-            Integer casesAdded = entry.getValue();
-
-            try {
-                com.finx.allocationreallocationservice.domain.entity.User user = userRepository.findById(agentId)
-                        .orElse(null);
-                if (user == null) {
-                    log.warn("User {} not found for statistics update (increment)", agentId);
-                    continue;
-                }
-
-                // Increase current_case_count
-                Integer currentCaseCount = user.getCurrentCaseCount() != null ? user.getCurrentCaseCount() : 0;
-                Integer newCaseCount = currentCaseCount + casesAdded;
-                user.setCurrentCaseCount(newCaseCount);
-
-                // Recalculate allocation_percentage
-                Integer maxCapacity = user.getMaxCaseCapacity() != null ? user.getMaxCaseCapacity() : 100;
-                if (maxCapacity > 0) {
-                    double allocationPercentage = ((double) newCaseCount / maxCapacity) * 100.0;
-                    allocationPercentage = Math.round(allocationPercentage * 100.0) / 100.0;
-                    user.setAllocationPercentage(allocationPercentage);
-                } else {
-                    user.setAllocationPercentage(0.0);
-                }
-
-                user.setUpdatedAt(LocalDateTime.now());
-                userRepository.save(user);
-
-                log.info(
-                        "Incremented user {} statistics: added {} cases, currentCaseCount={}, allocationPercentage={}%",
-                        agentId, casesAdded, newCaseCount, user.getAllocationPercentage());
-
-            } catch (Exception e) {
-                log.error("Failed to update statistics for user {} (increment): {}", agentId, e.getMessage(), e);
-            }
-        }
+        return streamBatchErrors(batchId);
     }
 
     @SuppressWarnings("null")
@@ -428,4 +227,10 @@ public class ReallocationServiceImpl implements ReallocationService {
             log.error("Error creating audit log", e);
         }
     }
+
+    private StreamingResponseBody streamBatchErrors(String batchId) {
+        Pageable page = PageRequest.of(0, exportPageSize);
+        return outputStream -> csvExporter.writeBatchErrors(outputStream,
+                lastId -> batchErrorRepository.findExportPage(batchId, lastId, page));
+    }
 }
@@ -0,0 +1,113 @@
+package com.finx.allocationreallocationservice.service.persistence;
+
+import com.finx.allocationreallocationservice.service.workload.AgentWorkloadSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Set-based maintenance of users.current_case_count and allocation_percentage
+ *
+ * All per-agent deltas of an operation are applied in one UPDATE ... FROM (VALUES ...)
+ * statement. The new count is computed from the row value inside the statement,
+ * so concurrent batches never overwrite each other's increments, and the
+ * allocation_percentage is derived in SQL as
+ * round(current_case_count / max_case_capacity * 100, 2).
+ *
+ * The UPDATE itself may visit the rows in any order, so the user rows are first
+ * locked with SELECT ... ORDER BY id FOR UPDATE; concurrent batches then lock
+ * users in the same order and cannot deadlock on each other. The same deltas
+ * are forwarded to the in-memory workload snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgentStatisticsUpdater {
+
+    private static final String LOCK_USERS_SQL = "SELECT id FROM users WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AgentWorkloadSnapshotService agentWorkloadSnapshotService;
+
+    /**
+     * Add allocated cases to agents
+     *
+     * @param agentCaseCount Map of agentId to number of cases allocated
+     */
+    public void applyAllocations(Map<Long, Integer> agentCaseCount) {
+        applyDeltas(agentCaseCount);
+    }
+
+    /**
+     * Move cases between agents
+     *
+     * @param agentDecrements Map of agentId to number of cases removed
+     * @param agentIncrements Map of agentId to number of cases added
+     */
+    public void applyReallocation(Map<Long, Integer> agentDecrements, Map<Long, Integer> agentIncrements) {
+        Map<Long, Integer> deltas = new TreeMap<>(agentIncrements);
+        agentDecrements.forEach((agentId, removed) -> deltas.merge(agentId, -removed, Integer::sum));
+        applyDeltas(deltas);
+    }
+
+    /**
+     * Apply net case count deltas (positive or negative) for any number of agents
+     * in one statement. Counts never drop below zero.
+     *
+     * @param deltas Map of agentId to net change in current_case_count
+     * @return Number of user rows updated
+     */
+    public int applyDeltas(Map<Long, Integer> deltas) {
+        Map<Long, Integer> sorted = new TreeMap<>();
+        deltas.forEach((agentId, delta) -> {
+            if (agentId != null && delta != null && delta != 0) {
+                sorted.merge(agentId, delta, Integer::sum);
+            }
+        });
+        sorted.values().removeIf(delta -> delta == 0);
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+
+        Long[] ids = sorted.keySet().toArray(new Long[0]);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOCK_USERS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        }, rs -> {
+        });
+
+        StringBuilder sql = new StringBuilder("UPDATE users u SET " +
+                "current_case_count = GREATEST(0, COALESCE(u.current_case_count, 0) + d.delta), " +
+                "allocation_percentage = CASE WHEN COALESCE(u.max_case_capacity, 100) > 0 " +
+                "THEN ROUND(GREATEST(0, COALESCE(u.current_case_count, 0) + d.delta) * 100.0 " +
+                "/ COALESCE(u.max_case_capacity, 100), 2) ELSE 0 END, " +
+                "updated_at = NOW() FROM (VALUES ");
+
+        List<Object> params = new ArrayList<>(sorted.size() * 2);
+        boolean first = true;
+        for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+            sql.append(first ? "" : ", ").append("(CAST(? AS BIGINT), CAST(? AS INTEGER))");
+            params.add(entry.getKey());
+            params.add(entry.getValue());
+            first = false;
+        }
+        sql.append(") AS d(user_id, delta) WHERE u.id = d.user_id");
+
+        int updated = jdbcTemplate.update(sql.toString(), params.toArray());
+        agentWorkloadSnapshotService.recordDeltas(sorted);
+        if (updated < sorted.size()) {
+            log.warn("Statistics update matched {} out of {} agents", updated, sorted.size());
+        }
+        log.info("Updated statistics for {} agents in one statement", updated);
+        log.debug("Agent case count deltas: {}", sorted);
+        return updated;
+    }
+}
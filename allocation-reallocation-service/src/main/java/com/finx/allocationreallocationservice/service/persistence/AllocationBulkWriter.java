@@ -0,0 +1,407 @@
+package com.finx.allocationreallocationservice.service.persistence;
+
+import com.finx.allocationreallocationservice.domain.entity.AllocationHistory;
+import com.finx.allocationreallocationservice.domain.entity.CaseAllocation;
+import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
+import com.finx.allocationreallocationservice.repository.AllocationHistoryRepository;
+import com.finx.allocationreallocationservice.repository.CaseAllocationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulk persistence for allocations, allocation history and the cases table
+ *
+ * CaseAllocation and AllocationHistory use IDENTITY ids, so Hibernate cannot
+ * batch their inserts. When allocation.persistence.jdbc-batch-enabled is true
+ * (default) rows are written with JdbcTemplate.batchUpdate and the cases table
+ * is updated with one UPDATE ... FROM (VALUES ...) statement per slice.
+ * When disabled, the previous JPA saveAll / per-row update path is used.
+ *
+ * Every write is recorded in the "allocation.persistence.write" timer, tagged
+ * by mode (jdbc / jpa) and operation, so both paths can be compared from
+ * /actuator/metrics.
+ */
+@Slf4j
+@Component
+public class AllocationBulkWriter {
+
+    private static final String INSERT_ALLOCATION_SQL = "INSERT INTO allocations (case_id, external_case_id, " +
+            "allocated_to_id, allocated_to_type, secondary_agent_id, allocation_type, workload_percentage, " +
+            "geography_code, allocation_status, allocated_by, allocated_at, allocation_rule_id, batch_id, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HISTORY_SQL = "INSERT INTO allocation_history (case_id, external_case_id, " +
+            "new_owner_id, new_owner_type, allocated_to_username, previous_owner_id, previous_owner_type, " +
+            "action_type, reason, changed_by, changed_at, batch_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ALLOCATION_OWNER_SQL = "UPDATE allocations SET allocated_to_id = ?, " +
+            "workload_percentage = ?, geography_code = ?, updated_at = ? WHERE id = ?";
+
+    private static final String CLOSE_ALLOCATIONS_SQL = "UPDATE allocations SET allocation_status = 'DEALLOCATED', " +
+            "deallocated_at = NOW(), updated_at = NOW() " +
+            "WHERE case_id = ANY(?) AND allocation_status = 'ALLOCATED' " +
+            "RETURNING id, case_id, allocated_to_id, external_case_id";
+
+    private static final String REVERT_CASES_SQL = "UPDATE cases SET allocated_to_user_id = NULL, allocated_at = NULL, " +
+            "case_status = 'UNALLOCATED', updated_at = NOW() WHERE id = ANY(?)";
+
+    // Self-join: "prev" still sees the row as it was before the update
+    private static final String MOVE_ALLOCATIONS_SQL = "UPDATE allocations a SET allocated_to_id = ?, " +
+            "workload_percentage = COALESCE(a.workload_percentage, 100.00), " +
+            "geography_code = COALESCE(c.geography_code, a.geography_code), updated_at = NOW() " +
+            "FROM allocations prev LEFT JOIN cases c ON c.id = prev.case_id " +
+            "WHERE prev.id = a.id AND a.id = ANY(?) AND a.allocation_status = ? AND a.allocated_to_id <> ? " +
+            "RETURNING a.id, a.case_id, a.external_case_id, prev.allocated_to_id AS previous_owner_id";
+
+    private static final String REASSIGN_CASES_SQL = "UPDATE cases SET allocated_to_user_id = ?, updated_at = NOW() " +
+            "WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CaseAllocationRepository caseAllocationRepository;
+    private final AllocationHistoryRepository allocationHistoryRepository;
+    private final MeterRegistry meterRegistry;
+    private final CaseTimelineCacheEvictor caseTimelineCacheEvictor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${allocation.persistence.jdbc-batch-enabled:true}")
+    private boolean jdbcBatchEnabled;
+
+    @Value("${allocation.persistence.jdbc-batch-size:1000}")
+    private int jdbcBatchSize;
+
+    public AllocationBulkWriter(JdbcTemplate jdbcTemplate,
+            CaseAllocationRepository caseAllocationRepository,
+            AllocationHistoryRepository allocationHistoryRepository,
+            MeterRegistry meterRegistry,
+            CaseTimelineCacheEvictor caseTimelineCacheEvictor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.caseAllocationRepository = caseAllocationRepository;
+        this.allocationHistoryRepository = allocationHistoryRepository;
+        this.meterRegistry = meterRegistry;
+        this.caseTimelineCacheEvictor = caseTimelineCacheEvictor;
+    }
+
+    /**
+     * Insert new allocation rows
+     * Generated ids are not written back to the entities in JDBC mode.
+     */
+    public void insertAllocations(List<CaseAllocation> allocations) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+        record("insert_allocations", allocations.size(), () -> {
+            if (!jdbcBatchEnabled) {
+                caseAllocationRepository.saveAll(allocations);
+                return allocations.size();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.batchUpdate(INSERT_ALLOCATION_SQL, allocations, jdbcBatchSize, (ps, a) -> {
+                LocalDateTime allocatedAt = a.getAllocatedAt() != null ? a.getAllocatedAt() : now;
+                ps.setLong(1, a.getCaseId());
+                ps.setString(2, a.getExternalCaseId());
+                ps.setLong(3, a.getPrimaryAgentId());
+                ps.setString(4, a.getAllocatedToType() != null ? a.getAllocatedToType() : "USER");
+                ps.setObject(5, a.getSecondaryAgentId(), Types.BIGINT);
+                ps.setString(6, a.getAllocationType() != null ? a.getAllocationType() : "PRIMARY");
+                ps.setBigDecimal(7, a.getWorkloadPercentage());
+                ps.setString(8, a.getGeographyCode());
+                ps.setString(9, a.getStatus().name());
+                ps.setObject(10, a.getAllocatedBy(), Types.BIGINT);
+                ps.setTimestamp(11, Timestamp.valueOf(allocatedAt));
+                ps.setObject(12, a.getAllocationRuleId(), Types.BIGINT);
+                ps.setString(13, a.getBatchId());
+                ps.setTimestamp(14, Timestamp.valueOf(now));
+                ps.setTimestamp(15, Timestamp.valueOf(now));
+            });
+            return allocations.size();
+        });
+    }
+
+    /**
+     * Insert allocation history rows; the cases' cached timelines are dropped after commit
+     */
+    public void insertHistory(List<AllocationHistory> history) {
+        if (history.isEmpty()) {
+            return;
+        }
+        record("insert_history", history.size(), () -> {
+            if (!jdbcBatchEnabled) {
+                allocationHistoryRepository.saveAll(history);
+                return history.size();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, history, jdbcBatchSize, (ps, h) -> {
+                ps.setLong(1, h.getCaseId());
+                ps.setString(2, h.getExternalCaseId());
+                ps.setObject(3, h.getAllocatedToUserId(), Types.BIGINT);
+                ps.setString(4, h.getNewOwnerType() != null ? h.getNewOwnerType() : "USER");
+                ps.setString(5, h.getAllocatedToUsername());
+                ps.setObject(6, h.getAllocatedFromUserId(), Types.BIGINT);
+                ps.setString(7, h.getPreviousOwnerType());
+                ps.setString(8, h.getAction().name());
+                ps.setString(9, h.getReason());
+                ps.setObject(10, h.getAllocatedBy(), Types.BIGINT);
+                ps.setTimestamp(11, Timestamp.valueOf(h.getAllocatedAt() != null ? h.getAllocatedAt() : now));
+                ps.setString(12, h.getBatchId());
+            });
+            return history.size();
+        });
+        caseTimelineCacheEvictor.evictAll(history.stream().map(AllocationHistory::getCaseId).toList());
+    }
+
+    /**
+     * Persist owner changes of existing allocation rows (reallocation)
+     * In JDBC mode managed entities are detached after the update so Hibernate
+     * does not flush the same change a second time at commit.
+     */
+    public void updateAllocationOwners(List<CaseAllocation> allocations) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+        record("update_allocation_owners", allocations.size(), () -> {
+            if (!jdbcBatchEnabled) {
+                caseAllocationRepository.saveAll(allocations);
+                return allocations.size();
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPDATE_ALLOCATION_OWNER_SQL, allocations, jdbcBatchSize, (ps, a) -> {
+                ps.setLong(1, a.getPrimaryAgentId());
+                ps.setBigDecimal(2, a.getWorkloadPercentage());
+                ps.setString(3, a.getGeographyCode());
+                ps.setTimestamp(4, now);
+                ps.setLong(5, a.getId());
+            });
+            for (CaseAllocation allocation : allocations) {
+                if (entityManager.contains(allocation)) {
+                    entityManager.detach(allocation);
+                }
+            }
+            return allocations.size();
+        });
+    }
+
+    /**
+     * Mark cases as ALLOCATED to the allocation's primary agent
+     *
+     * @return Number of case rows updated
+     */
+    public int markCasesAllocated(List<CaseAllocation> allocations) {
+        return updateCases(allocations, true);
+    }
+
+    /**
+     * Move cases to the allocation's new primary agent; case_status is unchanged
+     *
+     * @return Number of case rows updated
+     */
+    public int reassignCases(List<CaseAllocation> allocations) {
+        return updateCases(allocations, false);
+    }
+
+    /**
+     * Close every ALLOCATED allocation of the given cases in one
+     * UPDATE ... RETURNING statement
+     *
+     * @return One entry per closed allocation
+     */
+    public List<ClosedAllocation> closeActiveAllocations(Collection<Long> caseIds) {
+        if (caseIds.isEmpty()) {
+            return List.of();
+        }
+        Long[] ids = caseIds.toArray(new Long[0]);
+        List<ClosedAllocation> closed = new ArrayList<>();
+        record("close_allocations", ids.length, () -> {
+            closed.addAll(jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(CLOSE_ALLOCATIONS_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", ids));
+                return ps;
+            }, (rs, rowNum) -> new ClosedAllocation(
+                    rs.getLong("id"),
+                    rs.getLong("case_id"),
+                    rs.getLong("allocated_to_id"),
+                    rs.getString("external_case_id"))));
+            return closed.size();
+        });
+        return closed;
+    }
+
+    /**
+     * Return cases to the unallocated pool in one statement
+     *
+     * @return Number of case rows updated
+     */
+    public int revertCases(Collection<Long> caseIds) {
+        if (caseIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = caseIds.toArray(new Long[0]);
+        return record("revert_cases", ids.length, () -> jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(REVERT_CASES_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        }));
+    }
+
+    /**
+     * Move the given allocations to a new owner in one UPDATE ... RETURNING
+     * statement. Rows no longer in the expected status or already owned by the
+     * new owner are skipped. The geography code is refreshed from the case.
+     *
+     * @return One entry per moved allocation, with its previous owner
+     */
+    public List<MovedAllocation> moveAllocations(Collection<Long> allocationIds, AllocationStatus status,
+            Long newOwnerId) {
+        if (allocationIds.isEmpty()) {
+            return List.of();
+        }
+        Long[] ids = allocationIds.toArray(new Long[0]);
+        List<MovedAllocation> moved = new ArrayList<>();
+        record("move_allocations", ids.length, () -> {
+            moved.addAll(jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(MOVE_ALLOCATIONS_SQL);
+                ps.setLong(1, newOwnerId);
+                ps.setArray(2, con.createArrayOf("bigint", ids));
+                ps.setString(3, status.name());
+                ps.setLong(4, newOwnerId);
+                return ps;
+            }, (rs, rowNum) -> new MovedAllocation(
+                    rs.getLong("id"),
+                    rs.getLong("case_id"),
+                    rs.getLong("previous_owner_id"),
+                    rs.getString("external_case_id"))));
+            return moved.size();
+        });
+        return moved;
+    }
+
+    /**
+     * Point cases at a new owner in one statement; allocated_at and
+     * case_status are unchanged
+     *
+     * @return Number of case rows updated
+     */
+    public int reassignCasesTo(Collection<Long> caseIds, Long userId) {
+        if (caseIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = caseIds.toArray(new Long[0]);
+        return record("reassign_cases", ids.length, () -> jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(REASSIGN_CASES_SQL);
+            ps.setLong(1, userId);
+            ps.setArray(2, con.createArrayOf("bigint", ids));
+            return ps;
+        }));
+    }
+
+    private int updateCases(List<CaseAllocation> allocations, boolean markAllocated) {
+        if (allocations.isEmpty()) {
+            return 0;
+        }
+        String operation = markAllocated ? "mark_cases_allocated" : "reassign_cases";
+        int updated = record(operation, allocations.size(), () -> jdbcBatchEnabled
+                ? updateCasesFromValues(allocations, markAllocated)
+                : updateCasesPerRow(allocations, markAllocated));
+        if (updated < allocations.size()) {
+            log.warn("Only {} out of {} cases found in cases table for {}", updated, allocations.size(), operation);
+        }
+        return updated;
+    }
+
+    private int updateCasesFromValues(List<CaseAllocation> allocations, boolean markAllocated) {
+        int updated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < allocations.size(); from += jdbcBatchSize) {
+            List<CaseAllocation> slice = allocations.subList(from, Math.min(from + jdbcBatchSize, allocations.size()));
+
+            StringBuilder sql = new StringBuilder("UPDATE cases c SET allocated_to_user_id = v.user_id, " +
+                    "allocated_at = v.allocated_at, ");
+            if (markAllocated) {
+                sql.append("case_status = 'ALLOCATED', ");
+            }
+            sql.append("updated_at = NOW() FROM (VALUES ");
+
+            List<Object> params = new ArrayList<>(slice.size() * 3);
+            for (int i = 0; i < slice.size(); i++) {
+                CaseAllocation allocation = slice.get(i);
+                sql.append(i == 0 ? "" : ", ").append("(CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP))");
+                params.add(allocation.getCaseId());
+                params.add(allocation.getPrimaryAgentId());
+                params.add(Timestamp.valueOf(allocation.getAllocatedAt() != null ? allocation.getAllocatedAt() : now));
+            }
+            sql.append(") AS v(case_id, user_id, allocated_at) WHERE c.id = v.case_id");
+
+            updated += jdbcTemplate.update(sql.toString(), params.toArray());
+        }
+        return updated;
+    }
+
+    private int updateCasesPerRow(List<CaseAllocation> allocations, boolean markAllocated) {
+        String updateSql = markAllocated
+                ? "UPDATE cases SET allocated_to_user_id = ?, allocated_at = ?, " +
+                        "case_status = 'ALLOCATED', updated_at = NOW() WHERE id = ?"
+                : "UPDATE cases SET allocated_to_user_id = ?, allocated_at = ?, " +
+                        "updated_at = NOW() WHERE id = ?";
+
+        int updatedCount = 0;
+        for (CaseAllocation allocation : allocations) {
+            try {
+                updatedCount += jdbcTemplate.update(
+                        updateSql,
+                        allocation.getPrimaryAgentId(),
+                        allocation.getAllocatedAt(),
+                        allocation.getCaseId());
+            } catch (Exception e) {
+                log.error("Failed to update cases table for case {}: {}", allocation.getCaseId(), e.getMessage());
+            }
+        }
+        return updatedCount;
+    }
+
+    /**
+     * Allocation closed by closeActiveAllocations
+     */
+    public record ClosedAllocation(Long allocationId, Long caseId, Long agentId, String externalCaseId) {
+    }
+
+    /**
+     * Allocation moved by moveAllocations
+     */
+    public record MovedAllocation(Long allocationId, Long caseId, Long previousAgentId, String externalCaseId) {
+    }
+
+    private int record(String operation, int rows, Supplier<Integer> write) {
+        String mode = jdbcBatchEnabled ? "jdbc" : "jpa";
+        long start = System.nanoTime();
+        int result = write.get();
+        long elapsedNanos = System.nanoTime() - start;
+
+        Timer.builder("allocation.persistence.write")
+                .tag("mode", mode)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        log.debug("{} [{}]: {} rows in {} ms ({} rows/s)", operation, mode, rows, elapsedMs,
+                elapsedMs > 0 ? rows * 1000L / elapsedMs : rows);
+        return result;
+    }
+}
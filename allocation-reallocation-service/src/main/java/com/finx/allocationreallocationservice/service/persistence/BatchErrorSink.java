@@ -0,0 +1,225 @@
+package com.finx.allocationreallocationservice.service.persistence;
+
+import com.finx.allocationreallocationservice.domain.entity.BatchError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, bounded writer for batch_errors rows
+ *
+ * Errors are queued and written by a single background thread with multi-row
+ * INSERT statements, either when flush-size rows are buffered or when
+ * flush-interval-ms has passed. The queue is bounded: producers block when it
+ * is full, so memory stays flat however many rows of a file fail. Callers
+ * must call flush() before they report a batch as finished; it returns once
+ * every error queued before the call is in the database.
+ */
+@Slf4j
+@Component
+public class BatchErrorSink {
+
+    private static final String INSERT_PREFIX = "INSERT INTO batch_errors (error_id, batch_id, row_number, case_id, " +
+            "external_case_id, error_type, error_message, field_name, module, created_at) VALUES ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${allocation.batch-errors.queue-capacity:20000}")
+    private int queueCapacity;
+
+    @Value("${allocation.batch-errors.flush-size:1000}")
+    private int flushSize;
+
+    @Value("${allocation.batch-errors.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${allocation.batch-errors.flush-timeout-ms:60000}")
+    private long flushTimeoutMs;
+
+    private BlockingQueue<Object> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    public BatchErrorSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "batch-error-sink");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(flushTimeoutMs);
+    }
+
+    /**
+     * Queue errors; blocks while the queue is full
+     */
+    public void submit(Collection<BatchError> errors) {
+        for (BatchError error : errors) {
+            put(error);
+        }
+    }
+
+    /**
+     * Queue errors once the current transaction commits, or right away when
+     * there is none, so errors of a rolled back chunk are never written
+     */
+    public void submitAfterCommit(Collection<BatchError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<BatchError> copy = new ArrayList<>(errors);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(copy);
+                }
+            });
+        } else {
+            submit(errors);
+        }
+    }
+
+    /**
+     * flush() once the current transaction commits, or right away when there
+     * is none; registered after submitAfterCommit, it waits for those errors too
+     */
+    public void flushAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        flush();
+                    } catch (RuntimeException e) {
+                        log.error("Failed to flush batch errors after commit: {}", e.getMessage());
+                    }
+                }
+            });
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * Wait until every error queued before this call has been written
+     */
+    public void flush() {
+        CountDownLatch written = new CountDownLatch(1);
+        put(written);
+        try {
+            if (!written.await(flushTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out flushing batch errors");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while flushing batch errors", e);
+        }
+    }
+
+    private void put(Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing batch errors", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<BatchError> buffer = new ArrayList<>(flushSize);
+        long lastWrite = System.currentTimeMillis();
+        while (running || !queue.isEmpty()) {
+            Object item;
+            try {
+                item = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (item instanceof BatchError error) {
+                buffer.add(error);
+            } else if (item instanceof CountDownLatch written) {
+                write(buffer);
+                lastWrite = System.currentTimeMillis();
+                written.countDown();
+                continue;
+            }
+
+            if (buffer.size() >= flushSize
+                    || (!buffer.isEmpty() && System.currentTimeMillis() - lastWrite >= flushIntervalMs)) {
+                write(buffer);
+                lastWrite = System.currentTimeMillis();
+            }
+        }
+        write(buffer);
+    }
+
+    private void write(List<BatchError> buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        try {
+            insert(buffer);
+        } catch (Exception e) {
+            // Keep the rows that can be written
+            log.error("Failed to write {} batch errors in one statement, retrying one by one: {}", buffer.size(),
+                    e.getMessage());
+            for (BatchError error : buffer) {
+                try {
+                    insert(List.of(error));
+                } catch (Exception rowError) {
+                    log.error("Dropping batch error for batch {} row {}: {}", error.getBatchId(), error.getRowNumber(),
+                            rowError.getMessage());
+                }
+            }
+        }
+        buffer.clear();
+    }
+
+    private void insert(List<BatchError> errors) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> params = new ArrayList<>(errors.size() * 10);
+        for (int i = 0; i < errors.size(); i++) {
+            BatchError error = errors.get(i);
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            params.add(error.getErrorId());
+            params.add(error.getBatchId());
+            params.add(error.getRowNumber());
+            params.add(error.getCaseId());
+            params.add(error.getExternalCaseId());
+            params.add(error.getErrorType() != null ? error.getErrorType().name() : null);
+            params.add(error.getErrorMessage());
+            params.add(error.getFieldName());
+            params.add(error.getModule());
+            params.add(now);
+        }
+        jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+}
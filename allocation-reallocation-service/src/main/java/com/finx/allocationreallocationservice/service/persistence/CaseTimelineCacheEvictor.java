@@ -0,0 +1,67 @@
+package com.finx.allocationreallocationservice.service.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Drops case-sourcing's cached case timelines when this service writes
+ * timeline events
+ *
+ * case-sourcing caches timelines in the shared Redis through its
+ * RedisCacheManager, under "caseTimeline::<caseId>". Inside a transaction the
+ * keys are deleted after commit, so a concurrent read cannot cache the old
+ * state again. A Redis failure is only logged; the entry then expires on
+ * its own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaseTimelineCacheEvictor {
+
+    private static final String KEY_PREFIX = "caseTimeline::";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public void evict(Long caseId) {
+        if (caseId != null) {
+            evictAll(List.of(caseId));
+        }
+    }
+
+    public void evictAll(Collection<Long> caseIds) {
+        List<String> keys = caseIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(caseId -> KEY_PREFIX + caseId)
+                .toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(keys);
+                }
+            });
+        } else {
+            delete(keys);
+        }
+    }
+
+    private void delete(List<String> keys) {
+        try {
+            redisTemplate.delete(keys);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} case timelines: {}", keys.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.finx.allocationreallocationservice.service.reallocation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs reallocation jobs in keyset-paged chunks
+ *
+ * Matching allocation IDs are read with "a.id > lastId ORDER BY a.id LIMIT n"
+ * on the allocations table (joining cases and loan_details only when the
+ * filter needs them), and each chunk is moved to the new owner in its own
+ * transaction by ReallocationChunkWriter. Memory use is bounded by the chunk
+ * size, and a failed chunk is rolled back on its own without undoing the
+ * chunks before it. Progress is logged after every chunk.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedReallocationExecutor {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReallocationChunkWriter chunkWriter;
+
+    @Value("${allocation.reallocation.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Number of allocations a job with this filter would move
+     */
+    public long count(ReallocationFilter filter, Long toUserId) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) ");
+        appendFromWhere(sql, params, filter, toUserId);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, params.toArray());
+        return count != null ? count : 0L;
+    }
+
+    public Result execute(String jobId, ReallocationFilter filter, Long toUserId, String reason) {
+        long matched = count(filter, toUserId);
+        log.info("Reallocation {}: {} allocations match {} for user {}", jobId, matched, filter, toUserId);
+        if (matched == 0) {
+            return new Result(0, 0, 0, 0);
+        }
+
+        long reallocated = 0;
+        long failed = 0;
+        long processed = 0;
+        int chunks = 0;
+        long lastId = 0L;
+
+        while (true) {
+            List<Long> allocationIds = nextChunk(filter, toUserId, lastId);
+            if (allocationIds.isEmpty()) {
+                break;
+            }
+            lastId = allocationIds.get(allocationIds.size() - 1);
+
+            try {
+                reallocated += chunkWriter.reallocateChunk(allocationIds, filter.status(), toUserId, reason, jobId);
+            } catch (RuntimeException e) {
+                failed += allocationIds.size();
+                log.error("Reallocation {}: chunk ending at allocation {} failed: {}", jobId, lastId,
+                        e.getMessage(), e);
+            }
+            chunks++;
+            processed += allocationIds.size();
+            log.info("Reallocation {}: chunk {} done, {}/{} allocations processed ({}%)", jobId, chunks, processed,
+                    matched, Math.min(100, processed * 100 / matched));
+
+            if (allocationIds.size() < chunkSize) {
+                break;
+            }
+        }
+
+        log.info("Reallocation {} finished: {} reallocated, {} failed in {} chunks", jobId, reallocated, failed,
+                chunks);
+        return new Result(matched, reallocated, failed, chunks);
+    }
+
+    private List<Long> nextChunk(ReallocationFilter filter, Long toUserId, long lastId) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT a.id ");
+        appendFromWhere(sql, params, filter, toUserId);
+        sql.append(" AND a.id > ? ORDER BY a.id LIMIT ?");
+        params.add(lastId);
+        params.add(chunkSize);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+    }
+
+    private void appendFromWhere(StringBuilder sql, List<Object> params, ReallocationFilter filter, Long toUserId) {
+        boolean joinCases = filter.geographyCode() != null || filter.bucket() != null;
+        sql.append("FROM allocations a");
+        if (joinCases) {
+            sql.append(" JOIN cases c ON c.id = a.case_id");
+        }
+        if (filter.bucket() != null) {
+            sql.append(" JOIN loan_details l ON l.id = c.loan_id");
+        }
+
+        sql.append(" WHERE a.allocation_status = ? AND a.allocated_to_id <> ?");
+        params.add(filter.status().name());
+        params.add(toUserId);
+        if (filter.fromUserId() != null) {
+            sql.append(" AND a.allocated_to_id = ?");
+            params.add(filter.fromUserId());
+        }
+        if (filter.geographyCode() != null) {
+            sql.append(" AND c.geography_code = ?");
+            params.add(filter.geographyCode());
+        }
+        if (filter.bucket() != null) {
+            sql.append(" AND l.bucket = ?");
+            params.add(filter.bucket());
+        }
+    }
+
+    /**
+     * Outcome of a reallocation job
+     *
+     * @param matched     Allocations matching the filter when the job started
+     * @param reallocated Allocations moved to the new owner
+     * @param failed      Allocations of chunks that failed and were rolled back
+     * @param chunks      Number of chunks processed
+     */
+    public record Result(long matched, long reallocated, long failed, int chunks) {
+    }
+}
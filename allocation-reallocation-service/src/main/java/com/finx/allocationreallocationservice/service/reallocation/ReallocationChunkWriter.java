@@ -0,0 +1,78 @@
+package com.finx.allocationreallocationservice.service.reallocation;
+
+import com.finx.allocationreallocationservice.domain.entity.AllocationHistory;
+import com.finx.allocationreallocationservice.domain.enums.AllocationAction;
+import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
+import com.finx.allocationreallocationservice.service.persistence.AgentStatisticsUpdater;
+import com.finx.allocationreallocationservice.service.persistence.AllocationBulkWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one chunk of a reallocation job in its own transaction
+ *
+ * Kept as a separate bean so the REQUIRES_NEW boundary is applied by the proxy.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReallocationChunkWriter {
+
+    private final AllocationBulkWriter allocationBulkWriter;
+    private final AgentStatisticsUpdater agentStatisticsUpdater;
+
+    /**
+     * Move a chunk of allocations to a new owner: one owner UPDATE, batched
+     * history, one cases UPDATE and one statistics UPDATE
+     *
+     * @return Number of allocations moved
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int reallocateChunk(List<Long> allocationIds, AllocationStatus status, Long toUserId, String reason,
+            String jobId) {
+        List<AllocationBulkWriter.MovedAllocation> moved = allocationBulkWriter.moveAllocations(allocationIds, status,
+                toUserId);
+        if (moved.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AllocationHistory> history = new ArrayList<>(moved.size());
+        List<Long> caseIds = new ArrayList<>(moved.size());
+        Map<Long, Integer> agentDeltas = new HashMap<>();
+        for (AllocationBulkWriter.MovedAllocation allocation : moved) {
+            history.add(AllocationHistory.builder()
+                    .caseId(allocation.caseId())
+                    .externalCaseId(allocation.externalCaseId())
+                    .allocatedToUserId(toUserId)
+                    .allocatedFromUserId(allocation.previousAgentId())
+                    .newOwnerType("USER")
+                    .previousOwnerType("USER")
+                    .allocatedAt(now)
+                    .action(AllocationAction.REALLOCATED)
+                    .reason(reason)
+                    .batchId(jobId)
+                    .build());
+            caseIds.add(allocation.caseId());
+            agentDeltas.merge(allocation.previousAgentId(), -1, Integer::sum);
+        }
+        allocationBulkWriter.insertHistory(history);
+
+        // Only active allocations are reflected on the case and in agent counts
+        if (status == AllocationStatus.ALLOCATED) {
+            allocationBulkWriter.reassignCasesTo(caseIds, toUserId);
+            agentDeltas.merge(toUserId, moved.size(), Integer::sum);
+            agentStatisticsUpdater.applyDeltas(agentDeltas);
+        }
+        return moved.size();
+    }
+}
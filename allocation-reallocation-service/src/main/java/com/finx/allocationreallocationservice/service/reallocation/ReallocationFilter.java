@@ -0,0 +1,22 @@
+package com.finx.allocationreallocationservice.service.reallocation;
+
+import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
+
+/**
+ * Selects the allocations a reallocation job moves. Null fields do not filter.
+ *
+ * @param status         Allocation status to match (ALLOCATED when not given)
+ * @param fromUserId     Current owner
+ * @param geographyCode  Geography of the case
+ * @param bucket         Bucket of the case's loan
+ */
+public record ReallocationFilter(AllocationStatus status, Long fromUserId, String geographyCode, String bucket) {
+
+    public ReallocationFilter {
+        status = status != null ? status : AllocationStatus.ALLOCATED;
+    }
+
+    public static ReallocationFilter byAgent(Long fromUserId) {
+        return new ReallocationFilter(AllocationStatus.ALLOCATED, fromUserId, null, null);
+    }
+}
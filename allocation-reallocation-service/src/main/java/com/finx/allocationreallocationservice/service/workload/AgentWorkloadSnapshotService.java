@@ -0,0 +1,113 @@
+package com.finx.allocationreallocationservice.service.workload;
+
+import com.finx.allocationreallocationservice.domain.enums.AllocationStatus;
+import com.finx.allocationreallocationservice.repository.CaseAllocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AgentWorkloadSnapshotService
+ * Purpose: In-memory count of ALLOCATED allocations per agent
+ *
+ * The snapshot is loaded with one GROUP BY allocated_to_id query and kept
+ * current by the deltas of allocations, reallocations and deallocations done
+ * by this service instance (applied after their transaction commits). Changes
+ * made elsewhere are picked up by a full reload once the snapshot is older
+ * than allocation.workload.snapshot-max-age-ms, which bounds the staleness.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentWorkloadSnapshotService {
+
+    private final CaseAllocationRepository caseAllocationRepository;
+
+    @Value("${allocation.workload.snapshot-max-age-ms:60000}")
+    private long snapshotMaxAgeMs;
+
+    private volatile Map<Long, Integer> workloads = new ConcurrentHashMap<>();
+    private volatile long loadedAtMillis = 0L;
+
+    /**
+     * Current workload for each requested agent; agents without allocations map to 0
+     */
+    public Map<Long, Integer> getWorkloads(Collection<Long> agentIds) {
+        Map<Long, Integer> snapshot = currentSnapshot();
+        Map<Long, Integer> result = new HashMap<>();
+        for (Long agentId : agentIds) {
+            result.put(agentId, snapshot.getOrDefault(agentId, 0));
+        }
+        return result;
+    }
+
+    public int getWorkload(Long agentId) {
+        return currentSnapshot().getOrDefault(agentId, 0);
+    }
+
+    /**
+     * Apply per-agent workload changes. Inside a transaction the deltas are
+     * applied only after commit, so rolled back work never shows up.
+     *
+     * @param deltas Map of agentId to net change in ALLOCATED cases
+     */
+    public void recordDeltas(Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> copy = new HashMap<>(deltas);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyDeltas(copy);
+                }
+            });
+        } else {
+            applyDeltas(copy);
+        }
+    }
+
+    /**
+     * Reload the whole snapshot from the allocations table
+     */
+    public synchronized void refresh() {
+        Map<Long, Integer> loaded = new ConcurrentHashMap<>();
+        List<Object[]> rows = caseAllocationRepository.countGroupedByPrimaryAgent(AllocationStatus.ALLOCATED);
+        for (Object[] row : rows) {
+            loaded.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        workloads = loaded;
+        loadedAtMillis = System.currentTimeMillis();
+        log.debug("Loaded agent workload snapshot for {} agents", loaded.size());
+    }
+
+    private Map<Long, Integer> currentSnapshot() {
+        if (System.currentTimeMillis() - loadedAtMillis > snapshotMaxAgeMs) {
+            synchronized (this) {
+                if (System.currentTimeMillis() - loadedAtMillis > snapshotMaxAgeMs) {
+                    refresh();
+                }
+            }
+        }
+        return workloads;
+    }
+
+    private void applyDeltas(Map<Long, Integer> deltas) {
+        Map<Long, Integer> snapshot = workloads;
+        deltas.forEach((agentId, delta) -> {
+            if (agentId != null && delta != null && delta != 0) {
+                snapshot.compute(agentId, (id, current) -> Math.max(0, (current != null ? current : 0) + delta));
+            }
+        });
+    }
+}
@@ -1,32 +1,48 @@
 package com.finx.allocationreallocationservice.util.csv;
 
-import com.finx.allocationreallocationservice.domain.entity.BatchError;
+import com.finx.allocationreallocationservice.domain.dto.BatchErrorExportRow;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.LongFunction;
 
+/**
+ * Writes batch errors as CSV straight to the response stream, one keyset page
+ * at a time, so memory stays bounded by one page regardless of the export size.
+ */
 @Slf4j
 @Component
 public class CsvExporter {
 
     private static final String CSV_DELIMITER = ",";
     private static final String LINE_SEPARATOR = "\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
 
-    public byte[] exportBatchErrors(List<BatchError> errors) {
-        log.info("Exporting {} batch errors to CSV", errors.size());
+    /**
+     * @param pageAfter Next page of errors with id greater than the argument; empty when done
+     * @return Number of rows written
+     */
+    public long writeBatchErrors(OutputStream outputStream, LongFunction<List<BatchErrorExportRow>> pageAfter)
+            throws IOException {
+        // The stream belongs to the servlet container; flush but do not close it
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        try (PrintWriter writer = new PrintWriter(outputStream, false, StandardCharsets.UTF_8)) {
-            // Write header
-            writer.write("Row Number,External Case ID,Error Type,Error Message");
-            writer.write(LINE_SEPARATOR);
+        // Write header
+        writer.write("Row Number,External Case ID,Error Type,Error Message");
+        writer.write(LINE_SEPARATOR);
 
-            // Write data rows
-            for (BatchError error : errors) {
+        // Write data rows
+        long written = 0;
+        List<BatchErrorExportRow> page = pageAfter.apply(0L);
+        while (!page.isEmpty()) {
+            for (BatchErrorExportRow error : page) {
                 writer.write(String.valueOf(error.getRowNumber()));
                 writer.write(CSV_DELIMITER);
                 writer.write(escapeCsv(error.getExternalCaseId()));
@@ -36,11 +52,14 @@ public class CsvExporter {
                 writer.write(escapeCsv(error.getErrorMessage()));
                 writer.write(LINE_SEPARATOR);
             }
-
+            written += page.size();
             writer.flush();
+            page = pageAfter.apply(page.get(page.size() - 1).getId());
         }
 
-        return outputStream.toByteArray();
+        writer.flush();
+        log.info("Exported {} batch errors to CSV", written);
+        return written;
     }
 
     private String escapeCsv(String value) {
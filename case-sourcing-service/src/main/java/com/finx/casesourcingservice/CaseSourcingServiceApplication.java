@@ -5,12 +5,16 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableFeignClients
 @EnableCaching
+@EnableScheduling
 @ComponentScan(basePackages = { "com.finx.casesourcingservice" })
 @EnableJpaRepositories(basePackages = { "com.finx.casesourcingservice.repository" })
 @EntityScan(basePackages = { "com.finx.casesourcingservice.domain.entity" })
@@ -0,0 +1,24 @@
+package com.finx.casesourcingservice.client;
+
+import com.finx.casesourcingservice.client.dto.SmsSendRequest;
+import com.finx.casesourcingservice.client.dto.SmsSendResponse;
+import com.finx.casesourcingservice.domain.dto.CommonResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Feign Client for Communication Service
+ */
+@FeignClient(name = "communication-service")
+public interface CommunicationServiceClient {
+
+    /**
+     * Send one SMS template to many recipients in a single provider call
+     *
+     * @param request Template ID and recipients with their own variables
+     * @return CommonResponse with one message ID per recipient
+     */
+    @PostMapping("/comm/sms/send")
+    CommonResponse<SmsSendResponse> sendSms(@RequestBody SmsSendRequest request);
+}
@@ -0,0 +1,36 @@
+package com.finx.casesourcingservice.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SMS Request DTO for communication-service
+ * Aligned with communication-service SmsSendRequest format
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SmsSendRequest {
+    private String templateId;
+    private List<SmsRecipient> recipients;
+    private Long userId;
+
+    /**
+     * SMS Recipient with dynamic variables (VAR1, VAR2, etc.) and the case it is sent for
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SmsRecipient {
+        private String mobile;
+        private Map<String, Object> variables;
+        private Long caseId;
+    }
+}
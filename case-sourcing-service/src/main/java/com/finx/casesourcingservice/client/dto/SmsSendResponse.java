@@ -0,0 +1,22 @@
+package com.finx.casesourcingservice.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * SMS send result returned by communication-service; the raw provider
+ * response is not needed here and is ignored
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SmsSendResponse {
+    private String status;
+    private String message;
+    private List<String> messageIds;
+}
@@ -7,6 +7,9 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration for asynchronous processing
@@ -31,4 +34,34 @@ public class AsyncConfig {
 
         return executor;
     }
+
+    /**
+     * Runs the field checks of large upload chunks in parallel, one thread per core
+     */
+    @Bean(name = "caseValidationExecutor")
+    public Executor caseValidationExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        log.info("Creating case validation executor with {} threads", threads);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.setThreadNamePrefix("case-validate-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        return executor;
+    }
+
+    /**
+     * One virtual thread per case timeline source query
+     */
+    @Bean(name = "timelineExecutor", destroyMethod = "close")
+    public ExecutorService timelineExecutor() {
+        log.info("Creating virtual thread executor for case timelines");
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("timeline-", 0).factory());
+    }
 }
@@ -124,6 +124,8 @@ public class RedisConfig {
         cacheConfigurations.put("unallocatedCaseDetails", defaultCacheConfiguration.entryTtl(Duration.ofMinutes(60)));
         cacheConfigurations.put("intakeReport", defaultCacheConfiguration.entryTtl(Duration.ofMinutes(60)));
         cacheConfigurations.put("unallocatedCasesReport", defaultCacheConfiguration.entryTtl(Duration.ofMinutes(60)));
+        // Other services evict caseTimeline::<caseId> when they write events; the TTL is the fallback
+        cacheConfigurations.put("caseTimeline", defaultCacheConfiguration.entryTtl(Duration.ofMinutes(2)));
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultCacheConfiguration)
@@ -1,6 +1,7 @@
 package com.finx.casesourcingservice.controller;
 
 import com.finx.casesourcingservice.domain.dto.*;
+import com.finx.casesourcingservice.domain.enums.SearchCountMode;
 import com.finx.casesourcingservice.service.CaseSourcingService;
 import com.finx.casesourcingservice.service.PTPService;
 import com.finx.casesourcingservice.util.ResponseWrapper;
@@ -18,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -175,16 +177,15 @@ public class CaseSourcingController {
      * Returns CSV file
      */
     @GetMapping("/source/{batchId}/errors/export")
-    public ResponseEntity<byte[]> exportFailedCases(@PathVariable String batchId) {
+    public ResponseEntity<StreamingResponseBody> exportFailedCases(@PathVariable String batchId) {
         log.info("GET /case/source/{}/errors/export - Exporting failed cases", batchId);
 
-        byte[] csvData = caseSourcingService.exportFailedCases(batchId);
+        StreamingResponseBody csvData = caseSourcingService.exportFailedCases(batchId);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv"));
         headers.setContentDispositionFormData("attachment",
                 "failed_cases_" + batchId + ".csv");
-        headers.setContentLength(csvData.length);
 
         return ResponseEntity.ok()
                 .headers(headers)
@@ -223,16 +224,15 @@ public class CaseSourcingController {
      * Returns CSV file
      */
     @GetMapping("/source/{batchId}/export")
-    public ResponseEntity<byte[]> exportCases(@PathVariable String batchId) {
+    public ResponseEntity<StreamingResponseBody> exportCases(@PathVariable String batchId) {
         log.info("GET /case/source/{}/export - Exporting cases", batchId);
 
-        byte[] csvData = caseSourcingService.exportBatchCases(batchId);
+        StreamingResponseBody csvData = caseSourcingService.exportBatchCases(batchId);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv"));
         headers.setContentDispositionFormData("attachment",
                 "cases_" + batchId + ".csv");
-        headers.setContentLength(csvData.length);
 
         return ResponseEntity.ok()
                 .headers(headers)
@@ -292,6 +292,7 @@ public class CaseSourcingController {
     /**
      * FR-CS-5: Advanced case search with filters
      * GET /api/v1/case/search
+     * Deep pages: pass the last caseId of the previous page as afterCaseId
      */
     @GetMapping("/search")
     @Operation(summary = "Advanced case search", description = "Search cases with multiple filters")
@@ -306,6 +307,9 @@ public class CaseSourcingController {
             @RequestParam(required = false) Integer maxDpd,
             @RequestParam(required = false) String geographyCode,
             @RequestParam(required = false) Long allocatedToUserId,
+            @RequestParam(required = false) String importBatchId,
+            @RequestParam(required = false) Long afterCaseId,
+            @RequestParam(required = false) SearchCountMode countMode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
@@ -322,6 +326,9 @@ public class CaseSourcingController {
                 .maxDpd(maxDpd)
                 .geographyCode(geographyCode)
                 .allocatedToUserId(allocatedToUserId)
+                .importBatchId(importBatchId)
+                .afterCaseId(afterCaseId)
+                .countMode(countMode)
                 .build();
 
         Pageable pageable = PageRequest.of(page, size);
@@ -368,12 +375,16 @@ public class CaseSourcingController {
      */
     @GetMapping("/ptp/due")
     @Operation(summary = "Get PTPs due", description = "Get all PTPs due on a specific date (defaults to today)")
-    public ResponseEntity<CommonResponse<List<PTPCaseDTO>>> getPTPsDue(
+    public ResponseEntity<CommonResponse<Page<PTPCaseDTO>>> getPTPsDue(
             @RequestParam(required = false) LocalDate dueDate,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         LocalDate targetDate = dueDate != null ? dueDate : LocalDate.now();
-        log.info("GET /case/ptp/due - Fetching PTPs due on: {} for user: {}", targetDate, userId);
-        List<PTPCaseDTO> ptps = ptpService.getPTPsDue(targetDate, userId);
+        log.info("GET /case/ptp/due - Fetching PTPs due on: {} for user: {} (page: {}, size: {})",
+                targetDate, userId, page, size);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<PTPCaseDTO> ptps = ptpService.getPTPsDue(targetDate, userId, pageable);
         return ResponseWrapper.ok("PTPs due retrieved successfully.", ptps);
     }
 
@@ -383,10 +394,13 @@ public class CaseSourcingController {
      */
     @GetMapping("/ptp/broken")
     @Operation(summary = "Get broken PTPs", description = "Get all PTPs that are past due date (broken commitments)")
-    public ResponseEntity<CommonResponse<List<PTPCaseDTO>>> getBrokenPTPs(
-            @RequestParam(required = false) Long userId) {
-        log.info("GET /case/ptp/broken - Fetching broken PTPs for user: {}", userId);
-        List<PTPCaseDTO> ptps = ptpService.getBrokenPTPs(userId);
+    public ResponseEntity<CommonResponse<Page<PTPCaseDTO>>> getBrokenPTPs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /case/ptp/broken - Fetching broken PTPs for user: {} (page: {}, size: {})", userId, page, size);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<PTPCaseDTO> ptps = ptpService.getBrokenPTPs(userId, pageable);
         return ResponseWrapper.ok("Broken PTPs retrieved successfully.", ptps);
     }
 
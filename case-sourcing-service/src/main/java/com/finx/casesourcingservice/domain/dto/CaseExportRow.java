@@ -0,0 +1,29 @@
+package com.finx.casesourcingservice.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a case with its loan and primary customer used by the CSV export
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseExportRow {
+    private Long id;
+    private String caseNumber;
+    private String externalCaseId;
+    private String customerName;
+    private String mobileNumber;
+    private String loanAccountNumber;
+    private BigDecimal totalOutstanding;
+    private Integer dpd;
+    private String bucket;
+    private String caseStatus;
+    private Long allocatedToUserId;
+    private LocalDateTime createdAt;
+}
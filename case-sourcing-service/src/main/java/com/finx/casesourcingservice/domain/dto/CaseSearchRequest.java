@@ -1,5 +1,6 @@
 package com.finx.casesourcingservice.domain.dto;
 
+import com.finx.casesourcingservice.domain.enums.SearchCountMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -46,10 +47,16 @@ public class CaseSearchRequest {
     private String ptpStatus;
     private Long allocatedToUserId;
     private Long allocatedToAgencyId;
+    private String importBatchId;
 
     // Date filters
     private String caseOpenedFrom;
     private String caseOpenedTo;
     private String ptpDateFrom;
     private String ptpDateTo;
+
+    // Paging: results are ordered by case ID, newest first. When set, the page
+    // starts after this case ID (keyset) instead of at the page offset.
+    private Long afterCaseId;
+    private SearchCountMode countMode;
 }
@@ -0,0 +1,41 @@
+package com.finx.casesourcingservice.domain.dto;
+
+import com.finx.casesourcingservice.domain.enums.PTPStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a PTP with its case, loan and primary customer used by the PTP due and broken lists
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PTPCaseRow {
+    private Long ptpId;
+    private LocalDate ptpDate;
+    private BigDecimal ptpAmount;
+    private PTPStatus ptpStatus;
+    private LocalDateTime commitmentDate;
+    private String ptpNotes;
+    private Boolean reminderSent;
+    private Long userId;
+    private Long caseId;
+    private String caseNumber;
+    private String externalCaseId;
+    private String caseStatus;
+    private String loanAccountNumber;
+    private BigDecimal totalOutstanding;
+    private Integer dpd;
+    private String bucket;
+    private String productType;
+    private String customerName;
+    private String mobileNumber;
+    private String email;
+    private String city;
+    private String state;
+}
@@ -0,0 +1,13 @@
+package com.finx.casesourcingservice.domain.enums;
+
+/**
+ * How the total of a case search is computed
+ */
+public enum SearchCountMode {
+    // Exact COUNT(*) of all matching cases
+    EXACT,
+    // Planner row estimate; small results are still counted exactly
+    ESTIMATE,
+    // No count; the total only tells whether a next page exists
+    NONE
+}
@@ -1,7 +1,11 @@
 package com.finx.casesourcingservice.repository;
 
+import com.finx.casesourcingservice.domain.dto.BatchErrorExportRow;
 import com.finx.casesourcingservice.domain.entity.BatchError;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +16,16 @@ public interface BatchErrorRepository extends JpaRepository<BatchError, Long> {
     List<BatchError> findByBatchId(String batchId);
 
     Long countByBatchId(String batchId);
+
+    boolean existsByBatchId(String batchId);
+
+    /**
+     * Keyset page of a batch's errors for the CSV export; a projection, so
+     * pages are not kept as managed entities in an open persistence context
+     */
+    @Query("SELECT new com.finx.casesourcingservice.domain.dto.BatchErrorExportRow(e.id, e.rowNumber, " +
+           "e.externalCaseId, e.errorType, e.errorMessage) " +
+           "FROM BatchError e WHERE e.batchId = :batchId AND e.id > :lastId ORDER BY e.id")
+    List<BatchErrorExportRow> findExportPage(@Param("batchId") String batchId, @Param("lastId") Long lastId,
+                                             Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package com.finx.casesourcingservice.repository;
 
+import com.finx.casesourcingservice.domain.dto.CaseExportRow;
 import com.finx.casesourcingservice.domain.entity.Case;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,9 +27,29 @@ public interface CaseRepository extends JpaRepository<Case, Long> {
 
     Long countByImportBatchId(String importBatchId);
 
+    boolean existsByImportBatchId(String importBatchId);
+
+    /**
+     * Next page of a batch export: cases of the batch with id above lastId,
+     * joined with loan and primary customer in one statement
+     */
+    @Query("SELECT new com.finx.casesourcingservice.domain.dto.CaseExportRow(c.id, c.caseNumber, c.externalCaseId, " +
+           "cu.fullName, cu.mobileNumber, l.loanAccountNumber, l.totalOutstanding, l.dpd, l.bucket, c.caseStatus, " +
+           "c.allocatedToUserId, c.createdAt) " +
+           "FROM Case c JOIN c.loan l LEFT JOIN l.primaryCustomer cu " +
+           "WHERE c.importBatchId = :batchId AND c.id > :lastId ORDER BY c.id")
+    List<CaseExportRow> findExportPage(@Param("batchId") String batchId, @Param("lastId") Long lastId,
+                                       Pageable pageable);
+
     @Query("SELECT COUNT(c) FROM Case c")
     Long countTotalCases();
 
+    /**
+     * External case IDs of the given list that already exist
+     */
+    @Query("SELECT DISTINCT c.externalCaseId FROM Case c WHERE c.externalCaseId IN :externalCaseIds")
+    List<String> findExistingExternalCaseIds(@Param("externalCaseIds") Collection<String> externalCaseIds);
+
     // Unallocated Report Queries
     @Query("SELECT CAST(c.createdAt AS date) as date, COUNT(c) as count, c.loan.bucket as bucket, c.importBatchId as batchId " +
            "FROM Case c WHERE c.caseStatus = 'UNALLOCATED' AND c.createdAt BETWEEN :startDate AND :endDate " +
@@ -2,11 +2,21 @@ package com.finx.casesourcingservice.repository;
 
 import com.finx.casesourcingservice.domain.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByCustomerCode(String customerCode);
+
+    /**
+     * ID and customer code of the existing customers among the given codes
+     */
+    @Query("SELECT c.id, c.customerCode FROM Customer c WHERE c.customerCode IN :customerCodes")
+    List<Object[]> findIdsByCustomerCodeIn(@Param("customerCodes") Collection<String> customerCodes);
 }
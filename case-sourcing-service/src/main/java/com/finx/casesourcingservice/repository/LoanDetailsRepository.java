@@ -2,8 +2,19 @@ package com.finx.casesourcingservice.repository;
 
 import com.finx.casesourcingservice.domain.entity.LoanDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface LoanDetailsRepository extends JpaRepository<LoanDetails, Long> {
+
+    /**
+     * Loan account numbers of the given list that already exist
+     */
+    @Query("SELECT l.loanAccountNumber FROM LoanDetails l WHERE l.loanAccountNumber IN :loanAccountNumbers")
+    List<String> findExistingLoanAccountNumbers(@Param("loanAccountNumbers") Collection<String> loanAccountNumbers);
 }
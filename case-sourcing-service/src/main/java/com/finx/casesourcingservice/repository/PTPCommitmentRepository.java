@@ -1,5 +1,6 @@
 package com.finx.casesourcingservice.repository;
 
+import com.finx.casesourcingservice.domain.dto.PTPCaseRow;
 import com.finx.casesourcingservice.domain.entity.PTPCommitment;
 import com.finx.casesourcingservice.domain.enums.PTPStatus;
 import org.springframework.data.domain.Page;
@@ -19,11 +20,27 @@ import java.util.Optional;
 @Repository
 public interface PTPCommitmentRepository extends JpaRepository<PTPCommitment, Long> {
 
+    /**
+     * PTP, case, loan and primary customer columns of the PTP list views, read in one join
+     */
+    String PTP_CASE_ROW = "new com.finx.casesourcingservice.domain.dto.PTPCaseRow(p.id, p.ptpDate, p.ptpAmount, " +
+            "p.ptpStatus, p.commitmentDate, p.notes, p.reminderSent, p.userId, c.id, c.caseNumber, " +
+            "c.externalCaseId, c.caseStatus, l.loanAccountNumber, l.totalOutstanding, l.dpd, l.bucket, " +
+            "l.productType, cu.fullName, cu.mobileNumber, cu.email, cu.city, cu.state) ";
+
+    String PTP_CASE_FROM = "FROM PTPCommitment p JOIN Case c ON c.id = p.caseId JOIN c.loan l " +
+            "LEFT JOIN l.primaryCustomer cu ";
+
     /**
      * Find all PTPs for a specific case
      */
     List<PTPCommitment> findByCaseIdOrderByCreatedAtDesc(Long caseId);
 
+    /**
+     * Newest PTPs of a case, up to the page size
+     */
+    List<PTPCommitment> findByCaseIdOrderByCreatedAtDesc(Long caseId, Pageable pageable);
+
     /**
      * Find latest PTP for a case
      */
@@ -38,27 +55,40 @@ public interface PTPCommitmentRepository extends JpaRepository<PTPCommitment, Lo
      * Find PTPs due on a specific date with PENDING status
      * FR-PTP-2: Get PTPs due today
      */
-    @Query("SELECT p FROM PTPCommitment p WHERE p.ptpDate = :dueDate AND p.ptpStatus = 'PENDING'")
-    List<PTPCommitment> findPTPsDueOnDate(@Param("dueDate") LocalDate dueDate);
+    @Query(value = "SELECT " + PTP_CASE_ROW + PTP_CASE_FROM +
+                   "WHERE p.ptpDate = :dueDate AND p.ptpStatus = 'PENDING' ORDER BY p.id",
+           countQuery = "SELECT COUNT(p) FROM PTPCommitment p WHERE p.ptpDate = :dueDate AND p.ptpStatus = 'PENDING'")
+    Page<PTPCaseRow> findPTPsDueOnDate(@Param("dueDate") LocalDate dueDate, Pageable pageable);
 
     /**
      * Find PTPs due today for a specific user
      */
-    @Query("SELECT p FROM PTPCommitment p WHERE p.ptpDate = :dueDate AND p.ptpStatus = 'PENDING' AND p.userId = :userId")
-    List<PTPCommitment> findPTPsDueForUser(@Param("dueDate") LocalDate dueDate, @Param("userId") Long userId);
+    @Query(value = "SELECT " + PTP_CASE_ROW + PTP_CASE_FROM +
+                   "WHERE p.ptpDate = :dueDate AND p.ptpStatus = 'PENDING' AND p.userId = :userId ORDER BY p.id",
+           countQuery = "SELECT COUNT(p) FROM PTPCommitment p " +
+                        "WHERE p.ptpDate = :dueDate AND p.ptpStatus = 'PENDING' AND p.userId = :userId")
+    Page<PTPCaseRow> findPTPsDueForUser(@Param("dueDate") LocalDate dueDate, @Param("userId") Long userId,
+                                        Pageable pageable);
 
     /**
-     * Find broken PTPs (past due date with PENDING status)
+     * Find broken PTPs (past due date with PENDING status), oldest first
      * FR-PTP-3: Get broken PTPs for follow-up
      */
-    @Query("SELECT p FROM PTPCommitment p WHERE p.ptpDate < :today AND p.ptpStatus = 'PENDING'")
-    List<PTPCommitment> findBrokenPTPs(@Param("today") LocalDate today);
+    @Query(value = "SELECT " + PTP_CASE_ROW + PTP_CASE_FROM +
+                   "WHERE p.ptpDate < :today AND p.ptpStatus = 'PENDING' ORDER BY p.ptpDate, p.id",
+           countQuery = "SELECT COUNT(p) FROM PTPCommitment p WHERE p.ptpDate < :today AND p.ptpStatus = 'PENDING'")
+    Page<PTPCaseRow> findBrokenPTPs(@Param("today") LocalDate today, Pageable pageable);
 
     /**
      * Find broken PTPs for a specific user
      */
-    @Query("SELECT p FROM PTPCommitment p WHERE p.ptpDate < :today AND p.ptpStatus = 'PENDING' AND p.userId = :userId")
-    List<PTPCommitment> findBrokenPTPsForUser(@Param("today") LocalDate today, @Param("userId") Long userId);
+    @Query(value = "SELECT " + PTP_CASE_ROW + PTP_CASE_FROM +
+                   "WHERE p.ptpDate < :today AND p.ptpStatus = 'PENDING' AND p.userId = :userId " +
+                   "ORDER BY p.ptpDate, p.id",
+           countQuery = "SELECT COUNT(p) FROM PTPCommitment p " +
+                        "WHERE p.ptpDate < :today AND p.ptpStatus = 'PENDING' AND p.userId = :userId")
+    Page<PTPCaseRow> findBrokenPTPsForUser(@Param("today") LocalDate today, @Param("userId") Long userId,
+                                           Pageable pageable);
 
     /**
      * Find PTPs requiring reminder (1 day before due date, reminder not sent)
@@ -4,6 +4,7 @@ import com.finx.casesourcingservice.domain.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -63,14 +64,14 @@ public interface CaseSourcingService {
     BatchUploadResponseDTO reuploadCases(String batchId, MultipartFile file, String uploadedBy);
 
     /**
-     * Export failed cases to CSV
+     * Export failed cases to CSV, streamed in keyset pages
      */
-    byte[] exportFailedCases(String batchId);
+    StreamingResponseBody exportFailedCases(String batchId);
 
     /**
-     * Export batch cases to CSV
+     * Export batch cases to CSV, streamed in keyset pages
      */
-    byte[] exportBatchCases(String batchId);
+    StreamingResponseBody exportBatchCases(String batchId);
 
     /**
      * Get intake report for a date range
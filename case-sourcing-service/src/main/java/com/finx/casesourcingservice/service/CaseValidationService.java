@@ -3,30 +3,181 @@ package com.finx.casesourcingservice.service;
 import com.finx.casesourcingservice.domain.dto.csv.CaseCsvRowDTO;
 import com.finx.casesourcingservice.domain.dto.csv.CaseValidationResult;
 import com.finx.casesourcingservice.repository.CaseRepository;
-import lombok.RequiredArgsConstructor;
+import com.finx.casesourcingservice.util.BloomFilter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 /**
  * Service for validating case CSV records
+ *
+ * Upload chunks are validated in two phases. Phase one runs the field checks
+ * (required fields, formats, business rules), which need no database access,
+ * in parallel slices on the caseValidationExecutor. Phase two detects
+ * duplicate external case IDs: repeats within the chunk through a hash set,
+ * existing cases through one IN query per chunk. A per-batch DuplicateProbe
+ * can front that query with a Bloom filter of existing external IDs, so IDs
+ * that are definitely new are not sent to the database at all.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CaseValidationService {
 
     private final CaseRepository caseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor caseValidationExecutor;
 
     private static final Pattern MOBILE_PATTERN = Pattern.compile("^[6-9]\\d{9}$");
     private static final List<String> SUPPORTED_LANGUAGES = List.of("en", "hi", "ta", "te", "mr", "kn", "ml", "gu", "bn", "pa");
 
+    /**
+     * Chunks with at least this many rows are field-checked in parallel
+     */
+    @Value("${case-sourcing.validation.parallel-threshold:1000}")
+    private int parallelThreshold;
+
+    @Value("${case-sourcing.validation.slice-size:500}")
+    private int sliceSize;
+
+    /**
+     * Load a Bloom filter of existing external case IDs at the start of a batch
+     */
+    @Value("${case-sourcing.validation.bloom-filter.enabled:false}")
+    private boolean bloomFilterEnabled;
+
+    @Value("${case-sourcing.validation.bloom-filter.false-positive-rate:0.01}")
+    private double bloomFilterFalsePositiveRate;
+
+    public CaseValidationService(CaseRepository caseRepository, JdbcTemplate jdbcTemplate,
+            @Qualifier("caseValidationExecutor") Executor caseValidationExecutor) {
+        this.caseRepository = caseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.caseValidationExecutor = caseValidationExecutor;
+    }
+
     /**
      * Validate a single CSV row
      */
     public CaseValidationResult validateCaseRow(CaseCsvRowDTO row) {
+        CaseValidationResult result = validateFields(row);
+
+        // Check for duplicates
+        checkDuplicates(row, result);
+
+        result.setValid(result.getErrors().isEmpty());
+        return result;
+    }
+
+    /**
+     * Duplicate probe for one upload batch. With the Bloom filter enabled this
+     * reads every existing external case ID once.
+     */
+    @Transactional(readOnly = true)
+    public DuplicateProbe openDuplicateProbe() {
+        if (!bloomFilterEnabled) {
+            return DuplicateProbe.NONE;
+        }
+
+        Long estimatedCases = jdbcTemplate.queryForObject(
+                "SELECT GREATEST(reltuples, 0)::BIGINT FROM pg_class WHERE oid = 'cases'::regclass", Long.class);
+        // Headroom for the IDs this batch adds
+        long expected = (estimatedCases != null ? estimatedCases : 0L) * 5 / 4 + 100_000L;
+        BloomFilter bloomFilter = new BloomFilter(expected, bloomFilterFalsePositiveRate);
+
+        long started = System.currentTimeMillis();
+        long[] loaded = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT external_case_id FROM cases WHERE external_case_id IS NOT NULL");
+            ps.setFetchSize(10_000);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            bloomFilter.add(rs.getString(1));
+            loaded[0]++;
+        });
+        log.info("Loaded {} external case IDs into duplicate Bloom filter in {} ms", loaded[0],
+                System.currentTimeMillis() - started);
+        return new DuplicateProbe(bloomFilter);
+    }
+
+    /**
+     * Validate the rows of an upload chunk in two phases: parallel field checks,
+     * then duplicate detection within the chunk and against existing cases.
+     *
+     * @return One result per row, in row order
+     */
+    public List<CaseValidationResult> validateChunk(List<CaseCsvRowDTO> rows, DuplicateProbe probe) {
+        List<CaseValidationResult> results = validateFieldsInParallel(rows);
+
+        Set<String> seenInChunk = new HashSet<>();
+        Set<String> candidates = new HashSet<>();
+        boolean[] repeated = new boolean[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String externalCaseId = rows.get(i).getExternalCaseId();
+            if (isNullOrEmpty(externalCaseId)) {
+                continue;
+            }
+            if (!seenInChunk.add(externalCaseId)) {
+                repeated[i] = true;
+                results.get(i).addError("externalCaseId", "Duplicate case - External Case ID repeated in file");
+            } else if (probe.mightExist(externalCaseId)) {
+                candidates.add(externalCaseId);
+            }
+        }
+
+        Set<String> existing = candidates.isEmpty()
+                ? Set.of()
+                : new HashSet<>(caseRepository.findExistingExternalCaseIds(candidates));
+        for (int i = 0; i < rows.size(); i++) {
+            CaseValidationResult result = results.get(i);
+            if (!repeated[i] && existing.contains(rows.get(i).getExternalCaseId())) {
+                result.addError("externalCaseId", "Duplicate case - External Case ID already exists");
+            }
+            result.setValid(result.getErrors().isEmpty());
+        }
+        return results;
+    }
+
+    private List<CaseValidationResult> validateFieldsInParallel(List<CaseCsvRowDTO> rows) {
+        if (rows.size() < parallelThreshold) {
+            List<CaseValidationResult> results = new ArrayList<>(rows.size());
+            rows.forEach(row -> results.add(validateFields(row)));
+            return results;
+        }
+
+        List<CompletableFuture<List<CaseValidationResult>>> slices = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += sliceSize) {
+            List<CaseCsvRowDTO> slice = rows.subList(from, Math.min(from + sliceSize, rows.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> {
+                List<CaseValidationResult> sliceResults = new ArrayList<>(slice.size());
+                slice.forEach(row -> sliceResults.add(validateFields(row)));
+                return sliceResults;
+            }, caseValidationExecutor));
+        }
+
+        List<CaseValidationResult> results = new ArrayList<>(rows.size());
+        slices.forEach(slice -> results.addAll(slice.join()));
+        return results;
+    }
+
+    /**
+     * Checks of a single row that need no database access
+     */
+    private CaseValidationResult validateFields(CaseCsvRowDTO row) {
         CaseValidationResult result = CaseValidationResult.builder()
                 .rowNumber(row.getRowNumber())
                 .externalCaseId(row.getExternalCaseId())
@@ -42,10 +193,6 @@ public class CaseValidationService {
         // Business rule validations
         validateBusinessRules(row, result);
 
-        // Check for duplicates
-        checkDuplicates(row, result);
-
-        result.setValid(result.getErrors().isEmpty());
         return result;
     }
 
@@ -141,4 +288,37 @@ public class CaseValidationService {
     private boolean isNullOrEmpty(String value) {
         return value == null || value.trim().isEmpty();
     }
+
+    /**
+     * Tells whether an external case ID may already exist. Without a Bloom
+     * filter every ID is a candidate for the database lookup. IDs inserted by
+     * the batch are added after each chunk, so later chunks see them.
+     */
+    public static class DuplicateProbe {
+
+        static final DuplicateProbe NONE = new DuplicateProbe(null);
+
+        private final BloomFilter bloomFilter;
+
+        DuplicateProbe(BloomFilter bloomFilter) {
+            this.bloomFilter = bloomFilter;
+        }
+
+        public boolean mightExist(String externalCaseId) {
+            return bloomFilter == null || bloomFilter.mightContain(externalCaseId);
+        }
+
+        public void recordInserted(Collection<String> externalCaseIds) {
+            if (bloomFilter == null) {
+                return;
+            }
+            synchronized (bloomFilter) {
+                externalCaseIds.forEach(id -> {
+                    if (id != null) {
+                        bloomFilter.add(id);
+                    }
+                });
+            }
+        }
+    }
 }
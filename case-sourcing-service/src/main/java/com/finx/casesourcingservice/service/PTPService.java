@@ -25,18 +25,20 @@ public interface PTPService {
      * FR-PTP-2: Get all PTPs due on a specific date
      *
      * @param dueDate Date to check for due PTPs
-     * @param userId  Optional user filter
-     * @return List of cases with PTPs due on the specified date
+     * @param userId   Optional user filter
+     * @param pageable Page of the list, ordered by PTP ID
+     * @return Page of cases with PTPs due on the specified date
      */
-    List<PTPCaseDTO> getPTPsDue(LocalDate dueDate, Long userId);
+    Page<PTPCaseDTO> getPTPsDue(LocalDate dueDate, Long userId, Pageable pageable);
 
     /**
      * FR-PTP-3: Get all broken PTPs (past due date with PENDING status)
      *
-     * @param userId Optional user filter
-     * @return List of cases with broken PTPs requiring follow-up
+     * @param userId   Optional user filter
+     * @param pageable Page of the list, oldest PTP date first
+     * @return Page of cases with broken PTPs requiring follow-up
      */
-    List<PTPCaseDTO> getBrokenPTPs(Long userId);
+    Page<PTPCaseDTO> getBrokenPTPs(Long userId, Pageable pageable);
 
     /**
      * Get PTP details by ID
@@ -1,12 +1,11 @@
 package com.finx.casesourcingservice.service.async;
 
 import com.finx.casesourcingservice.domain.dto.csv.CaseCsvRowDTO;
-import com.finx.casesourcingservice.domain.dto.csv.CaseValidationResult;
-import com.finx.casesourcingservice.domain.entity.*;
+import com.finx.casesourcingservice.domain.entity.CaseBatch;
 import com.finx.casesourcingservice.domain.enums.BatchStatus;
-import com.finx.casesourcingservice.domain.enums.ErrorType;
-import com.finx.casesourcingservice.repository.*;
+import com.finx.casesourcingservice.repository.CaseBatchRepository;
 import com.finx.casesourcingservice.service.CaseValidationService;
+import com.finx.casesourcingservice.service.persistence.BatchErrorSink;
 import com.finx.casesourcingservice.util.csv.CsvParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,17 +13,21 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Async service for processing case upload batches
+ *
+ * The CSV file is streamed in chunks; every chunk is ingested in its own
+ * transaction by CaseIngestionChunkProcessor. If a chunk fails as a whole, its
+ * rows are retried one by one so that a single bad row is recorded as a batch
+ * error instead of failing the other rows of the chunk.
  */
 @Slf4j
 @Service
@@ -32,91 +35,64 @@ import java.util.List;
 public class BatchProcessingService {
 
     private final CsvParser csvParser;
-    private final CaseValidationService validationService;
     private final CaseBatchRepository caseBatchRepository;
-    private final BatchErrorRepository batchErrorRepository;
-    private final CustomerRepository customerRepository;
-    private final LoanDetailsRepository loanDetailsRepository;
-    private final CaseRepository caseRepository;
+    private final CaseIngestionChunkProcessor chunkProcessor;
+    private final CaseValidationService validationService;
+    private final BatchErrorSink batchErrorSink;
+
+    /**
+     * Number of CSV rows ingested per transaction
+     */
+    @Value("${case-sourcing.batch.chunk-size:2000}")
+    private int chunkSize;
 
     /**
      * Process batch asynchronously
      */
     @Async("batchProcessingExecutor")
     public void processBatchAsync(String batchId, String filePath) {
-        log.info("Starting async processing for batch: {}", batchId);
+        log.info("Starting async processing for batch: {} (chunk size {})", batchId, chunkSize);
         Path path = Paths.get(filePath);
 
         try {
-            // Update batch status to PROCESSING
             CaseBatch batch = caseBatchRepository.findByBatchId(batchId)
                     .orElseThrow(() -> new RuntimeException("Batch not found: " + batchId));
 
-            // Parse CSV
-            List<CaseCsvRowDTO> rows = csvParser.parseCaseCsv(path);
-            batch.setTotalCases(rows.size());
-            caseBatchRepository.save(batch);
+            IngestionTotals totals = new IngestionTotals();
+            CaseValidationService.DuplicateProbe duplicateProbe = validationService.openDuplicateProbe();
+            int totalRows = csvParser.parseCaseCsvInChunks(path, chunkSize, chunk -> {
+                ingestChunk(batchId, chunk, duplicateProbe, totals);
 
-            int validCount = 0;
-            int invalidCount = 0;
-            int duplicateCount = 0;
-
-            // Process each row
-            for (CaseCsvRowDTO row : rows) {
-                try {
-                    // Validate row
-                    CaseValidationResult validationResult = validationService.validateCaseRow(row);
+                // Publish progress after every chunk
+                batch.setTotalCases(totals.processed());
+                batch.setValidCases(totals.valid);
+                batch.setInvalidCases(totals.invalid);
+                batch.setDuplicateCases(totals.duplicates);
+                caseBatchRepository.save(batch);
+            });
 
-                    if (validationResult.isValid()) {
-                        // Create case in separate transaction
-                        processSingleRow(row, batchId);
-                        validCount++;
-                    } else {
-                        // Log errors
-                        for (String error : validationResult.getErrors()) {
-                            logBatchErrorInNewTransaction(batchId, row, error);
-
-                            // Check if it's a duplicate error
-                            if (error.contains("Duplicate")) {
-                                duplicateCount++;
-                            }
-                        }
-                        invalidCount++;
-                    }
-                } catch (org.springframework.dao.DataIntegrityViolationException e) {
-                    log.error("Database constraint violation for row {}: {}", row.getRowNumber(), e.getMessage());
-                    String errorMsg = "Database constraint violation: ";
-                    if (e.getMessage().contains("loan_account_number")) {
-                        errorMsg += "Duplicate loan account number: " + row.getLoanAccountNumber();
-                        duplicateCount++;
-                    } else if (e.getMessage().contains("external_case_id")) {
-                        errorMsg += "Duplicate external case ID: " + row.getExternalCaseId();
-                        duplicateCount++;
-                    } else {
-                        errorMsg += e.getMessage();
-                    }
-                    logBatchErrorInNewTransaction(batchId, row, errorMsg);
-                    invalidCount++;
-                } catch (Exception e) {
-                    log.error("Error processing row {}: {}", row.getRowNumber(), e.getMessage(), e);
-                    logBatchErrorInNewTransaction(batchId, row, "System error: " + e.getMessage());
-                    invalidCount++;
-                }
-            }
+            // All error rows must be visible before the batch reports COMPLETED
+            batchErrorSink.flush();
 
             // Update batch with final counts
-            batch.setValidCases(validCount);
-            batch.setInvalidCases(invalidCount);
-            batch.setDuplicateCases(duplicateCount);
+            batch.setTotalCases(totalRows);
+            batch.setValidCases(totals.valid);
+            batch.setInvalidCases(totals.invalid);
+            batch.setDuplicateCases(totals.duplicates);
             batch.setStatus(BatchStatus.COMPLETED);
             batch.setCompletedAt(LocalDateTime.now());
             caseBatchRepository.save(batch);
 
             log.info("Batch {} processing completed. Valid: {}, Invalid: {}, Duplicates: {}",
-                    batchId, validCount, invalidCount, duplicateCount);
+                    batchId, totals.valid, totals.invalid, totals.duplicates);
 
         } catch (Exception e) {
             log.error("Fatal error processing batch {}: {}", batchId, e.getMessage(), e);
+            try {
+                batchErrorSink.flush();
+            } catch (Exception flushError) {
+                log.error("Failed to flush batch errors for batch {}: {}", batchId, flushError.getMessage());
+            }
 
             // Update batch status to FAILED
             caseBatchRepository.findByBatchId(batchId).ifPresent(batch -> {
@@ -133,133 +109,57 @@ public class BatchProcessingService {
         }
     }
 
-    /**
-     * Process a single row in its own transaction
-     */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void processSingleRow(CaseCsvRowDTO row, String batchId) {
-        createCase(row, batchId);
-    }
-
-    @SuppressWarnings("null")
-    private void createCase(CaseCsvRowDTO row, String batchId) {
-        // Create or get customer
-        Customer customer = createOrGetCustomer(row);
-
-        // Create loan details
-        LoanDetails loanDetails = createLoanDetails(row, customer);
-
-        // Create case
-        Case caseEntity = Case.builder()
-                .caseNumber(generateCaseNumber())
-                .externalCaseId(row.getExternalCaseId())
-                .loan(loanDetails)
-                .caseStatus("UNALLOCATED")
-                .casePriority("MEDIUM")
-                .caseOpenedAt(LocalDateTime.now())
-                .sourceType("MANUAL")
-                .importBatchId(batchId)
-                .geographyCode(row.getGeographyCode() != null ? row.getGeographyCode().toUpperCase() : null)
-                .isArchived(false)
-                .build();
-
-        caseRepository.save(caseEntity);
-    }
-
-    @SuppressWarnings("null")
-    private Customer createOrGetCustomer(CaseCsvRowDTO row) {
-        return customerRepository.findByCustomerCode(row.getCustomerCode())
-                .orElseGet(() -> {
-                    // Customer not found, create a new one
-                    Customer newCustomer = Customer.builder()
-                            .customerCode(row.getCustomerCode())
-                            .fullName(row.getFullName())
-                            .mobileNumber(row.getMobileNumber())
-                            .languagePreference(row.getLanguage() != null ? row.getLanguage().toLowerCase() : "en")
-                            .customerType("INDIVIDUAL")
-                            .isActive(true)
-                            .build();
-                    return customerRepository.save(newCustomer);
-                });
-    }
-
-    @SuppressWarnings("null")
-    private LoanDetails createLoanDetails(CaseCsvRowDTO row, Customer customer) {
-        return loanDetailsRepository.save(LoanDetails.builder()
-                .loanAccountNumber(row.getLoanAccountNumber())
-                .primaryCustomer(customer)
-                .productCode(null) // Not available in CSV
-                .interestAmount(null) // Not available in CSV
-                .penaltyAmount(null) // Not available in CSV
-                .totalOutstanding(parseBigDecimal(row.getTotalOutstanding()))
-                .emiAmount(null) // Not available in CSV
-                .dpd(parseInteger(row.getDpd()))
-                .sourceSystem("CSV_UPLOAD")
-                .build());
-    }
-
-    private java.math.BigDecimal parseBigDecimal(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
+    private void ingestChunk(String batchId, List<CaseCsvRowDTO> chunk,
+            CaseValidationService.DuplicateProbe duplicateProbe, IngestionTotals totals) {
         try {
-            return new java.math.BigDecimal(value.trim());
-        } catch (NumberFormatException e) {
-            log.warn("Failed to parse BigDecimal: {}", value);
-            return null;
+            totals.add(chunkProcessor.processChunk(batchId, chunk, duplicateProbe));
+            return;
+        } catch (Exception e) {
+            log.warn("Chunk of {} rows starting at row {} failed for batch {}: {}. Retrying row by row",
+                    chunk.size(), chunk.get(0).getRowNumber(), batchId, e.getMessage());
         }
-    }
 
-    private Integer parseInteger(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            log.warn("Failed to parse Integer: {}", value);
-            return null;
+        for (CaseCsvRowDTO row : chunk) {
+            try {
+                totals.add(chunkProcessor.processChunk(batchId, List.of(row), duplicateProbe));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Database constraint violation for row {}: {}", row.getRowNumber(), e.getMessage());
+                String errorMsg = "Database constraint violation: ";
+                if (e.getMessage().contains("loan_account_number")) {
+                    errorMsg += "Duplicate loan account number: " + row.getLoanAccountNumber();
+                    totals.duplicates++;
+                } else if (e.getMessage().contains("external_case_id")) {
+                    errorMsg += "Duplicate external case ID: " + row.getExternalCaseId();
+                    totals.duplicates++;
+                } else {
+                    errorMsg += e.getMessage();
+                }
+                chunkProcessor.recordRowFailure(batchId, row, errorMsg);
+                totals.invalid++;
+            } catch (Exception e) {
+                log.error("Error processing row {}: {}", row.getRowNumber(), e.getMessage(), e);
+                chunkProcessor.recordRowFailure(batchId, row, "System error: " + e.getMessage());
+                totals.invalid++;
+            }
         }
     }
 
     /**
-     * Log batch error in a new transaction
+     * Running counts of a batch
      */
-    @SuppressWarnings("null")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void logBatchErrorInNewTransaction(String batchId, CaseCsvRowDTO row, String errorMessage) {
-        ErrorType errorType = determineErrorType(errorMessage);
-
-        batchErrorRepository.save(BatchError.builder()
-                .batchId(batchId)
-                .rowNumber(row.getRowNumber())
-                .externalCaseId(row.getExternalCaseId())
-                .errorType(errorType)
-                .errorMessage(errorMessage)
-                .build());
-    }
-
-    @SuppressWarnings("null")
-    private void logBatchError(String batchId, CaseCsvRowDTO row, String errorMessage) {
-        logBatchErrorInNewTransaction(batchId, row, errorMessage);
-    }
-
-    private ErrorType determineErrorType(String errorMessage) {
-        if (errorMessage.contains("Duplicate")) {
-            return ErrorType.DUPLICATE_ERROR;
-        } else if (errorMessage.contains("required") || errorMessage.contains("Invalid")) {
-            return ErrorType.VALIDATION_ERROR;
-        } else if (errorMessage.contains("System error")) {
-            return ErrorType.SYSTEM_ERROR;
-        } else {
-            return ErrorType.DATA_ERROR;
+    private static final class IngestionTotals {
+        private int valid;
+        private int invalid;
+        private int duplicates;
+
+        void add(CaseIngestionChunkProcessor.ChunkResult result) {
+            valid += result.valid();
+            invalid += result.invalid();
+            duplicates += result.duplicates();
         }
-    }
 
-    private String generateCaseNumber() {
-        // Format: CASE-YYYY-NNNNNN
-        String year = String.valueOf(LocalDate.now().getYear());
-        long count = caseRepository.countTotalCases();
-        return String.format("CASE-%s-%06d", year, count + 1);
+        int processed() {
+            return valid + invalid;
+        }
     }
 }
@@ -0,0 +1,283 @@
+package com.finx.casesourcingservice.service.async;
+
+import com.finx.casesourcingservice.domain.dto.csv.CaseCsvRowDTO;
+import com.finx.casesourcingservice.domain.dto.csv.CaseValidationResult;
+import com.finx.casesourcingservice.domain.entity.BatchError;
+import com.finx.casesourcingservice.domain.entity.Case;
+import com.finx.casesourcingservice.domain.entity.Customer;
+import com.finx.casesourcingservice.domain.entity.LoanDetails;
+import com.finx.casesourcingservice.domain.enums.ErrorType;
+import com.finx.casesourcingservice.repository.CustomerRepository;
+import com.finx.casesourcingservice.repository.LoanDetailsRepository;
+import com.finx.casesourcingservice.service.CaseValidationService;
+import com.finx.casesourcingservice.service.casenumber.CaseNumberAllocator;
+import com.finx.casesourcingservice.service.persistence.BatchErrorSink;
+import com.finx.casesourcingservice.service.persistence.CaseBulkWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ingests one chunk of a case upload in its own transaction
+ *
+ * This service is separate from BatchProcessingService so that the
+ * REQUIRES_NEW propagation is applied through the Spring proxy. Per chunk it
+ * validates all rows (see CaseValidationService.validateChunk), resolves
+ * existing customers and loan account numbers with IN queries, and inserts
+ * customers, loans and cases in dependency order with multi-row statements.
+ * Row-level problems are collected as BatchError rows and handed to the
+ * BatchErrorSink once the chunk commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CaseIngestionChunkProcessor {
+
+    private final CaseValidationService validationService;
+    private final CustomerRepository customerRepository;
+    private final LoanDetailsRepository loanDetailsRepository;
+    private final CaseNumberAllocator caseNumberAllocator;
+    private final BatchErrorSink batchErrorSink;
+    private final CaseBulkWriter caseBulkWriter;
+
+    /**
+     * Validate and persist one chunk of case rows
+     *
+     * @return Number of created, invalid and duplicate rows in this chunk
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult processChunk(String batchId, List<CaseCsvRowDTO> rows,
+            CaseValidationService.DuplicateProbe duplicateProbe) {
+        ChunkErrors errors = new ChunkErrors(batchId);
+
+        List<CaseCsvRowDTO> validRows = new ArrayList<>(rows.size());
+        List<CaseValidationResult> results = validationService.validateChunk(rows, duplicateProbe);
+        for (int i = 0; i < rows.size(); i++) {
+            if (results.get(i).isValid()) {
+                validRows.add(rows.get(i));
+            } else {
+                errors.reject(rows.get(i), results.get(i).getErrors());
+            }
+        }
+
+        List<CaseCsvRowDTO> newLoanRows = filterNewLoans(validRows, errors);
+        if (newLoanRows.isEmpty()) {
+            return errors.save(0);
+        }
+
+        Map<String, Long> customerIds = resolveCustomers(newLoanRows);
+
+        List<LoanDetails> loans = new ArrayList<>(newLoanRows.size());
+        for (CaseCsvRowDTO row : newLoanRows) {
+            loans.add(LoanDetails.builder()
+                    .loanAccountNumber(row.getLoanAccountNumber())
+                    .primaryCustomer(Customer.builder().id(customerIds.get(row.getCustomerCode())).build())
+                    .totalOutstanding(parseBigDecimal(row.getTotalOutstanding()))
+                    .dpd(parseInteger(row.getDpd()))
+                    .sourceSystem("CSV_UPLOAD")
+                    .build());
+        }
+        Map<String, Long> loanIds = caseBulkWriter.insertLoans(loans);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Case> cases = new ArrayList<>(newLoanRows.size());
+        for (CaseCsvRowDTO row : newLoanRows) {
+            Long loanId = loanIds.get(row.getLoanAccountNumber());
+            if (loanId == null) {
+                // Inserted by a concurrent upload after the existence check
+                errors.reject(row, List.of("Duplicate loan account number: " + row.getLoanAccountNumber()));
+                continue;
+            }
+            cases.add(Case.builder()
+                    .externalCaseId(row.getExternalCaseId())
+                    .loan(LoanDetails.builder().id(loanId).build())
+                    .caseStatus("UNALLOCATED")
+                    .casePriority("MEDIUM")
+                    .caseOpenedAt(now)
+                    .sourceType("MANUAL")
+                    .importBatchId(batchId)
+                    .geographyCode(row.getGeographyCode() != null ? row.getGeographyCode().toUpperCase() : null)
+                    .isArchived(false)
+                    .build());
+        }
+        List<String> caseNumbers = caseNumberAllocator.allocate(cases.size());
+        for (int i = 0; i < cases.size(); i++) {
+            cases.get(i).setCaseNumber(caseNumbers.get(i));
+        }
+        int created = caseBulkWriter.insertCases(cases);
+        // A rolled back chunk only leaves false positives in the probe
+        duplicateProbe.recordInserted(cases.stream().map(Case::getExternalCaseId).toList());
+
+        return errors.save(created);
+    }
+
+    /**
+     * Record a row that could not be ingested on its own
+     */
+    public void recordRowFailure(String batchId, CaseCsvRowDTO row, String errorMessage) {
+        batchErrorSink.submit(List.of(toBatchError(batchId, row, errorMessage)));
+    }
+
+    /**
+     * Rows whose loan account number is neither in the database nor repeated
+     * earlier in the chunk; the others are rejected as duplicates
+     */
+    private List<CaseCsvRowDTO> filterNewLoans(List<CaseCsvRowDTO> rows, ChunkErrors errors) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> loanAccountNumbers = new HashSet<>();
+        rows.forEach(row -> loanAccountNumbers.add(row.getLoanAccountNumber()));
+        Set<String> existing = new HashSet<>(loanDetailsRepository.findExistingLoanAccountNumbers(loanAccountNumbers));
+
+        Set<String> seen = new HashSet<>();
+        List<CaseCsvRowDTO> newLoanRows = new ArrayList<>(rows.size());
+        for (CaseCsvRowDTO row : rows) {
+            if (existing.contains(row.getLoanAccountNumber()) || !seen.add(row.getLoanAccountNumber())) {
+                errors.reject(row, List.of("Duplicate loan account number: " + row.getLoanAccountNumber()));
+            } else {
+                newLoanRows.add(row);
+            }
+        }
+        return newLoanRows;
+    }
+
+    /**
+     * Customer ID by customer code for all rows; customers not found are
+     * created from the first row that references them
+     */
+    private Map<String, Long> resolveCustomers(List<CaseCsvRowDTO> rows) {
+        Map<String, CaseCsvRowDTO> firstRowByCode = new LinkedHashMap<>();
+        rows.forEach(row -> firstRowByCode.putIfAbsent(row.getCustomerCode(), row));
+
+        Map<String, Long> customerIds = toIdMap(customerRepository.findIdsByCustomerCodeIn(firstRowByCode.keySet()));
+
+        List<Customer> newCustomers = new ArrayList<>();
+        firstRowByCode.forEach((code, row) -> {
+            if (!customerIds.containsKey(code)) {
+                newCustomers.add(Customer.builder()
+                        .customerCode(code)
+                        .fullName(row.getFullName())
+                        .mobileNumber(row.getMobileNumber())
+                        .languagePreference(row.getLanguage() != null ? row.getLanguage().toLowerCase() : "en")
+                        .customerType("INDIVIDUAL")
+                        .isActive(true)
+                        .build());
+            }
+        });
+        if (newCustomers.isEmpty()) {
+            return customerIds;
+        }
+
+        customerIds.putAll(caseBulkWriter.insertCustomers(newCustomers));
+
+        // Customers created by a concurrent upload are skipped by ON CONFLICT; read their IDs
+        Set<String> unresolved = new HashSet<>(firstRowByCode.keySet());
+        unresolved.removeAll(customerIds.keySet());
+        if (!unresolved.isEmpty()) {
+            customerIds.putAll(toIdMap(customerRepository.findIdsByCustomerCodeIn(unresolved)));
+        }
+        return customerIds;
+    }
+
+    private Map<String, Long> toIdMap(List<Object[]> rows) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : rows) {
+            ids.put((String) row[1], ((Number) row[0]).longValue());
+        }
+        return ids;
+    }
+
+    private BigDecimal parseBigDecimal(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Failed to parse BigDecimal: {}", value);
+            return null;
+        }
+    }
+
+    private Integer parseInteger(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Failed to parse Integer: {}", value);
+            return null;
+        }
+    }
+
+    private BatchError toBatchError(String batchId, CaseCsvRowDTO row, String errorMessage) {
+        return BatchError.builder()
+                .batchId(batchId)
+                .rowNumber(row.getRowNumber())
+                .externalCaseId(row.getExternalCaseId())
+                .errorType(determineErrorType(errorMessage))
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    private ErrorType determineErrorType(String errorMessage) {
+        if (errorMessage.contains("Duplicate")) {
+            return ErrorType.DUPLICATE_ERROR;
+        } else if (errorMessage.contains("required") || errorMessage.contains("Invalid")) {
+            return ErrorType.VALIDATION_ERROR;
+        } else if (errorMessage.contains("System error")) {
+            return ErrorType.SYSTEM_ERROR;
+        } else {
+            return ErrorType.DATA_ERROR;
+        }
+    }
+
+    /**
+     * Rejected rows of a chunk and their error rows
+     */
+    private final class ChunkErrors {
+        private final String batchId;
+        private final List<BatchError> batchErrors = new ArrayList<>();
+        private int invalid;
+        private int duplicates;
+
+        private ChunkErrors(String batchId) {
+            this.batchId = batchId;
+        }
+
+        void reject(CaseCsvRowDTO row, List<String> messages) {
+            for (String message : messages) {
+                batchErrors.add(toBatchError(batchId, row, message));
+                if (message.contains("Duplicate")) {
+                    duplicates++;
+                }
+            }
+            invalid++;
+        }
+
+        ChunkResult save(int created) {
+            batchErrorSink.submitAfterCommit(batchErrors);
+            return new ChunkResult(created, invalid, duplicates);
+        }
+    }
+
+    /**
+     * Outcome of one chunk
+     */
+    public record ChunkResult(int valid, int invalid, int duplicates) {
+    }
+}
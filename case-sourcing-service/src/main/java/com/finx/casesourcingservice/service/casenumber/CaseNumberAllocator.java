@@ -0,0 +1,74 @@
+package com.finx.casesourcingservice.service.casenumber;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out case numbers in the format CASE-YYYY-NNNNNN
+ *
+ * Numbers come from blocks reserved with one nextval on the year's sequence
+ * (see CaseNumberSequences) and are then handed out from memory, so the cases
+ * table is never counted. Each nextval returns a block no other caller or
+ * service instance receives, which keeps numbers unique across instances.
+ * Numbers left in a block when the service stops are skipped, so the sequence
+ * of case numbers can have gaps.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaseNumberAllocator {
+
+    private final CaseNumberSequences caseNumberSequences;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Integer, Long> blockSizeByYear = new ConcurrentHashMap<>();
+
+    private int blockYear;
+    private long next;
+    private long limit;
+
+    public String next() {
+        return allocate(1).get(0);
+    }
+
+    /**
+     * Allocate the given number of case numbers for the current year
+     */
+    public List<String> allocate(int count) {
+        int year = LocalDate.now().getYear();
+        List<String> numbers = new ArrayList<>(count);
+        lock.lock();
+        try {
+            while (numbers.size() < count) {
+                if (blockYear != year || next >= limit) {
+                    reserveBlock(year);
+                }
+                numbers.add(String.format("%s%06d", prefix(year), next++));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return numbers;
+    }
+
+    private void reserveBlock(int year) {
+        long blockSize = blockSizeByYear.computeIfAbsent(year, caseNumberSequences::ensureSequence);
+        long start = caseNumberSequences.nextBlockStart(year);
+        blockYear = year;
+        next = start;
+        limit = start + blockSize;
+        log.debug("Reserved case numbers {} to {} for {}", start, limit - 1, year);
+    }
+
+    static String prefix(int year) {
+        return "CASE-" + year + "-";
+    }
+}
@@ -0,0 +1,31 @@
+package com.finx.casesourcingservice.service.casenumber;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates a year's case number sequence in a transaction of its own
+ *
+ * Separate bean so the REQUIRES_NEW boundary goes through the Spring proxy.
+ * When two instances race, the loser fails on the catalog's unique index and
+ * only this short transaction is rolled back; the caller can then read the
+ * sequence the winner committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaseNumberSequenceCreator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createSequence(String sequence, long start, int blockSize) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                + " START WITH " + start + " INCREMENT BY " + blockSize + " MINVALUE 1");
+        log.info("Created case number sequence {} starting at {} with blocks of {}", sequence, start, blockSize);
+    }
+}
@@ -0,0 +1,93 @@
+package com.finx.casesourcingservice.service.casenumber;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-year PostgreSQL sequences behind CaseNumberAllocator
+ *
+ * Each year has its own sequence case_number_seq_YYYY. It is created on first
+ * use, starting after the highest CASE-YYYY-NNNNNN number already in cases,
+ * with INCREMENT BY the block size, so one nextval reserves a whole block.
+ * Creation runs in its own transaction (CaseNumberSequenceCreator) so that a
+ * rolled back ingestion chunk does not take the sequence with it, and a lost
+ * creation race does not abort the caller's transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaseNumberSequences {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CaseNumberSequenceCreator sequenceCreator;
+
+    /**
+     * Numbers reserved per nextval; only used when a year's sequence is created
+     */
+    @Value("${case-sourcing.case-number.block-size:1000}")
+    private int blockSize;
+
+    /**
+     * Make sure the sequence of the year exists
+     *
+     * @return The sequence's increment, i.e. the size of every block it hands out
+     */
+    public long ensureSequence(int year) {
+        String sequence = sequenceName(year);
+        Long increment = findIncrement(sequence);
+        if (increment != null) {
+            return increment;
+        }
+
+        long start = highestCaseNumber(year) + 1;
+        try {
+            sequenceCreator.createSequence(sequence, start, blockSize);
+        } catch (DataAccessException e) {
+            // Another instance created it at the same time; its sequence is committed by now
+            log.debug("Case number sequence {} created concurrently: {}", sequence, e.getMessage());
+        }
+
+        increment = findIncrement(sequence);
+        if (increment == null) {
+            throw new IllegalStateException("Case number sequence could not be created: " + sequence);
+        }
+        return increment;
+    }
+
+    /**
+     * Reserve the next block of the year; the block is [start, start + increment)
+     */
+    public long nextBlockStart(int year) {
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('" + sequenceName(year) + "')", Long.class);
+        if (start == null) {
+            throw new IllegalStateException("No value returned by case number sequence for year " + year);
+        }
+        return start;
+    }
+
+    private Long findIncrement(String sequence) {
+        List<Long> increments = jdbcTemplate.queryForList(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+                Long.class, sequence);
+        return increments.isEmpty() ? null : increments.get(0);
+    }
+
+    private long highestCaseNumber(int year) {
+        String prefix = CaseNumberAllocator.prefix(year);
+        Long highest = jdbcTemplate.queryForObject(
+                "SELECT MAX(CAST(SUBSTRING(case_number FROM ?) AS BIGINT)) FROM cases "
+                        + "WHERE case_number LIKE ? AND SUBSTRING(case_number FROM ?) ~ '^[0-9]+$'",
+                Long.class, prefix.length() + 1, prefix + "%", prefix.length() + 1);
+        return highest != null ? highest : 0L;
+    }
+
+    private String sequenceName(int year) {
+        return "case_number_seq_" + year;
+    }
+}
@@ -12,16 +12,21 @@ import com.finx.casesourcingservice.repository.CaseBatchRepository;
 import com.finx.casesourcingservice.repository.BatchErrorRepository;
 import com.finx.casesourcingservice.service.CaseSourcingService;
 import com.finx.casesourcingservice.service.async.BatchProcessingService;
+import com.finx.casesourcingservice.service.search.CaseSearchEngine;
+import com.finx.casesourcingservice.service.timeline.CaseTimelineService;
 import com.finx.casesourcingservice.util.csv.CsvExporter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -41,6 +46,11 @@ public class CaseSourcingServiceImpl implements CaseSourcingService {
         private final BatchErrorRepository batchErrorRepository;
         private final BatchProcessingService batchProcessingService;
         private final CsvExporter csvExporter;
+        private final CaseSearchEngine caseSearchEngine;
+        private final CaseTimelineService caseTimelineService;
+
+        @Value("${case-sourcing.export.page-size:5000}")
+        private int exportPageSize;
 
         @Override
         @Transactional(readOnly = true)
@@ -332,35 +342,35 @@ public class CaseSourcingServiceImpl implements CaseSourcingService {
                 return "BATCH_" + LocalDateTime.now().format(formatter);
         }
 
+        /**
+         * The error and case exports are streamed: existence is checked up front so
+         * an unknown batch still fails with a regular error response, then the
+         * returned body pages through the batch by id while writing to the socket.
+         */
         @Override
-        @Transactional(readOnly = true)
-        public byte[] exportFailedCases(String batchId) {
+        public StreamingResponseBody exportFailedCases(String batchId) {
                 log.info("Exporting failed cases for batch: {}", batchId);
 
-                List<BatchError> errors = batchErrorRepository.findByBatchId(batchId);
-
-                if (errors.isEmpty()) {
+                if (!batchErrorRepository.existsByBatchId(batchId)) {
                         throw new BusinessException("No errors found for batch: " + batchId);
                 }
 
-                return csvExporter.exportBatchErrors(errors);
+                Pageable page = PageRequest.of(0, exportPageSize);
+                return outputStream -> csvExporter.writeBatchErrors(outputStream,
+                                lastId -> batchErrorRepository.findExportPage(batchId, lastId, page));
         }
 
         @Override
-        @Transactional(readOnly = true)
-        public byte[] exportBatchCases(String batchId) {
+        public StreamingResponseBody exportBatchCases(String batchId) {
                 log.info("Exporting cases for batch: {}", batchId);
 
-                // Find all cases for this batch
-                List<Case> cases = caseRepository.findAll().stream()
-                                .filter(c -> batchId.equals(c.getImportBatchId()))
-                                .collect(Collectors.toList());
-
-                if (cases.isEmpty()) {
+                if (!caseRepository.existsByImportBatchId(batchId)) {
                         throw new BusinessException("No cases found for batch: " + batchId);
                 }
 
-                return csvExporter.exportCases(cases);
+                Pageable page = PageRequest.of(0, exportPageSize);
+                return outputStream -> csvExporter.writeCases(outputStream,
+                                lastId -> caseRepository.findExportPage(batchId, lastId, page));
         }
 
         @Override
@@ -539,42 +549,13 @@ public class CaseSourcingServiceImpl implements CaseSourcingService {
         public Page<CaseSearchResultDTO> searchCases(CaseSearchRequest request, Pageable pageable) {
                 log.info("Searching cases with request: {}", request);
 
-                // TODO: Implement advanced case search with dynamic query building
-                // For now, return empty page to allow compilation
-                return Page.empty(pageable);
+                return caseSearchEngine.search(request, pageable);
         }
 
         @Override
-        @Transactional(readOnly = true)
         public CaseTimelineDTO getCaseTimeline(Long caseId) {
                 log.info("Fetching case timeline for caseId: {}", caseId);
 
-                // Verify case exists
-                Case caseEntity = caseRepository.findById(caseId)
-                                .orElseThrow(() -> new BusinessException("Case not found: " + caseId));
-
-                // TODO: Implement timeline event aggregation from multiple sources
-                // (calls, PTPs, payments, notes, communications, etc.)
-                // For now, return basic structure to allow compilation
-                return CaseTimelineDTO.builder()
-                                .caseId(caseEntity.getId())
-                                .caseNumber(caseEntity.getCaseNumber())
-                                .customerName(caseEntity.getLoan().getPrimaryCustomer().getFullName())
-                                .loanAccountNumber(caseEntity.getLoan().getLoanAccountNumber())
-                                .events(new ArrayList<>())
-                                .summary(TimelineSummaryDTO.builder()
-                                                .totalEvents(0)
-                                                .totalCalls(0)
-                                                .totalPTPs(0)
-                                                .totalPayments(0)
-                                                .totalNotes(0)
-                                                .totalMessages(0)
-                                                .connectedCalls(0)
-                                                .failedCalls(0)
-                                                .activePTPs(0)
-                                                .keptPTPs(0)
-                                                .brokenPTPs(0)
-                                                .build())
-                                .build();
+                return caseTimelineService.getTimeline(caseId);
         }
 }
@@ -8,6 +8,9 @@ import com.finx.casesourcingservice.exception.BusinessException;
 import com.finx.casesourcingservice.repository.CaseRepository;
 import com.finx.casesourcingservice.repository.PTPCommitmentRepository;
 import com.finx.casesourcingservice.service.PTPService;
+import com.finx.casesourcingservice.service.ptp.PTPLifecycleJob;
+import com.finx.casesourcingservice.service.ptp.PTPStatisticsQuery;
+import com.finx.casesourcingservice.service.timeline.CaseTimelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -15,10 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +30,9 @@ public class PTPServiceImpl implements PTPService {
 
     private final PTPCommitmentRepository ptpRepository;
     private final CaseRepository caseRepository;
+    private final CaseTimelineService caseTimelineService;
+    private final PTPStatisticsQuery ptpStatisticsQuery;
+    private final PTPLifecycleJob ptpLifecycleJob;
 
     @Override
     @Transactional
@@ -62,6 +65,7 @@ public class PTPServiceImpl implements PTPService {
         caseEntity.setPtpStatus("PENDING");
         caseEntity.setCaseStatus("PTP");
         caseRepository.save(caseEntity);
+        caseTimelineService.evict(request.getCaseId());
 
         log.info("PTP captured successfully with ID: {}", saved.getId());
 
@@ -70,38 +74,35 @@ public class PTPServiceImpl implements PTPService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<PTPCaseDTO> getPTPsDue(LocalDate dueDate, Long userId) {
+    public Page<PTPCaseDTO> getPTPsDue(LocalDate dueDate, Long userId, Pageable pageable) {
         log.info("Fetching PTPs due on: {} for user: {}", dueDate, userId);
 
-        List<PTPCommitment> ptps;
+        Page<PTPCaseRow> ptps;
         if (userId != null) {
-            ptps = ptpRepository.findPTPsDueForUser(dueDate, userId);
+            ptps = ptpRepository.findPTPsDueForUser(dueDate, userId, pageable);
         } else {
-            ptps = ptpRepository.findPTPsDueOnDate(dueDate);
+            ptps = ptpRepository.findPTPsDueOnDate(dueDate, pageable);
         }
 
-        return ptps.stream()
-                .map(this::mapToPTPCaseDTO)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        return ptps.map(row -> mapToPTPCaseDTO(row, today));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PTPCaseDTO> getBrokenPTPs(Long userId) {
+    public Page<PTPCaseDTO> getBrokenPTPs(Long userId, Pageable pageable) {
         log.info("Fetching broken PTPs for user: {}", userId);
 
         LocalDate today = LocalDate.now();
-        List<PTPCommitment> ptps;
+        Page<PTPCaseRow> ptps;
 
         if (userId != null) {
-            ptps = ptpRepository.findBrokenPTPsForUser(today, userId);
+            ptps = ptpRepository.findBrokenPTPsForUser(today, userId, pageable);
         } else {
-            ptps = ptpRepository.findBrokenPTPs(today);
+            ptps = ptpRepository.findBrokenPTPs(today, pageable);
         }
 
-        return ptps.stream()
-                .map(this::mapToPTPCaseDTO)
-                .collect(Collectors.toList());
+        return ptps.map(row -> mapToPTPCaseDTO(row, today));
     }
 
     @Override
@@ -160,6 +161,7 @@ public class PTPServiceImpl implements PTPService {
         }
 
         caseRepository.save(caseEntity);
+        caseTimelineService.evict(ptp.getCaseId());
 
         log.info("PTP status updated successfully");
 
@@ -171,73 +173,7 @@ public class PTPServiceImpl implements PTPService {
     public PTPStatsDTO getPTPStats(Long userId) {
         log.info("Fetching PTP statistics for user: {}", userId);
 
-        // Get all PTPs for user
-        List<PTPCommitment> allPTPs = ptpRepository.findAll().stream()
-                .filter(p -> userId == null || p.getUserId().equals(userId))
-                .collect(Collectors.toList());
-
-        Long pending = allPTPs.stream().filter(p -> p.getPtpStatus() == PTPStatus.PENDING).count();
-        Long kept = allPTPs.stream().filter(p -> p.getPtpStatus() == PTPStatus.KEPT).count();
-        Long broken = allPTPs.stream().filter(p -> p.getPtpStatus() == PTPStatus.BROKEN).count();
-        Long renewed = allPTPs.stream().filter(p -> p.getPtpStatus() == PTPStatus.RENEWED).count();
-        Long partial = allPTPs.stream().filter(p -> p.getPtpStatus() == PTPStatus.PARTIAL).count();
-
-        BigDecimal totalAmount = allPTPs.stream()
-                .map(PTPCommitment::getPtpAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal collectedAmount = allPTPs.stream()
-                .filter(p -> p.getPaymentReceivedAmount() != null)
-                .map(PTPCommitment::getPaymentReceivedAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal pendingAmount = allPTPs.stream()
-                .filter(p -> p.getPtpStatus() == PTPStatus.PENDING)
-                .map(PTPCommitment::getPtpAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate performance metrics
-        Double keepRate = 0.0;
-        Double brokenRate = 0.0;
-        long totalResolved = kept + broken + partial;
-
-        if (totalResolved > 0) {
-            keepRate = ((kept + partial) * 100.0) / totalResolved;
-            brokenRate = (broken * 100.0) / totalResolved;
-        }
-
-        // Today's summary
-        LocalDate today = LocalDate.now();
-        Long ptpsDueToday = allPTPs.stream()
-                .filter(p -> p.getPtpDate().equals(today) && p.getPtpStatus() == PTPStatus.PENDING)
-                .count();
-
-        Long ptpsOverdueToday = allPTPs.stream()
-                .filter(p -> p.getPtpDate().isBefore(today) && p.getPtpStatus() == PTPStatus.PENDING)
-                .count();
-
-        BigDecimal amountDueToday = allPTPs.stream()
-                .filter(p -> p.getPtpDate().equals(today) && p.getPtpStatus() == PTPStatus.PENDING)
-                .map(PTPCommitment::getPtpAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return PTPStatsDTO.builder()
-                .userId(userId)
-                .totalPTPs((long) allPTPs.size())
-                .pendingPTPs(pending)
-                .keptPTPs(kept)
-                .brokenPTPs(broken)
-                .renewedPTPs(renewed)
-                .partialPTPs(partial)
-                .totalPTPAmount(totalAmount)
-                .collectedAmount(collectedAmount)
-                .pendingAmount(pendingAmount)
-                .keepRate(Math.round(keepRate * 100.0) / 100.0)
-                .brokenRate(Math.round(brokenRate * 100.0) / 100.0)
-                .ptpsDueToday(ptpsDueToday)
-                .ptpsOverdueToday(ptpsOverdueToday)
-                .amountDueToday(amountDueToday)
-                .build();
+        return ptpStatisticsQuery.getStats(userId, LocalDate.now());
     }
 
     @Override
@@ -252,49 +188,17 @@ public class PTPServiceImpl implements PTPService {
     }
 
     @Override
-    @Transactional
     public Integer processOverduePTPs() {
         log.info("Processing overdue PTPs");
 
-        LocalDate today = LocalDate.now();
-        List<PTPCommitment> brokenPTPs = ptpRepository.findBrokenPTPs(today);
-
-        for (PTPCommitment ptp : brokenPTPs) {
-            ptp.setPtpStatus(PTPStatus.BROKEN);
-            ptp.setBrokenReason("Auto-marked as broken: Payment not received by due date");
-            ptpRepository.save(ptp);
-
-            // Update case status
-            caseRepository.findById(ptp.getCaseId()).ifPresent(caseEntity -> {
-                caseEntity.setPtpStatus("BROKEN");
-                caseRepository.save(caseEntity);
-            });
-        }
-
-        log.info("Processed {} overdue PTPs", brokenPTPs.size());
-        return brokenPTPs.size();
+        return ptpLifecycleJob.sweepOverdue(LocalDate.now());
     }
 
     @Override
-    @Transactional
     public Integer sendPTPReminders() {
         log.info("Sending PTP reminders");
 
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        List<PTPCommitment> ptpsNeedingReminder = ptpRepository.findPTPsRequiringReminder(tomorrow);
-
-        int remindersSent = 0;
-        for (PTPCommitment ptp : ptpsNeedingReminder) {
-            // TODO: Integrate with communication service to send SMS/WhatsApp reminder
-            // For now, just mark as reminder sent
-            ptp.setReminderSent(true);
-            ptp.setReminderSentAt(LocalDateTime.now());
-            ptpRepository.save(ptp);
-            remindersSent++;
-        }
-
-        log.info("Sent {} PTP reminders", remindersSent);
-        return remindersSent;
+        return ptpLifecycleJob.sendReminders(LocalDate.now().plusDays(1));
     }
 
     private PTPResponse mapToResponse(PTPCommitment ptp) {
@@ -327,37 +231,34 @@ public class PTPServiceImpl implements PTPService {
                 .build();
     }
 
-    private PTPCaseDTO mapToPTPCaseDTO(PTPCommitment ptp) {
-        Case caseEntity = caseRepository.findById(ptp.getCaseId())
-                .orElseThrow(() -> new BusinessException("Case not found: " + ptp.getCaseId()));
-
-        LocalDate today = LocalDate.now();
-        long daysOverdue = ptp.getPtpDate().isBefore(today) ?
-                ChronoUnit.DAYS.between(ptp.getPtpDate(), today) : 0;
+    private PTPCaseDTO mapToPTPCaseDTO(PTPCaseRow row, LocalDate today) {
+        long daysOverdue = row.getPtpDate().isBefore(today) ?
+                ChronoUnit.DAYS.between(row.getPtpDate(), today) : 0;
 
         return PTPCaseDTO.builder()
-                .caseId(caseEntity.getId())
-                .caseNumber(caseEntity.getCaseNumber())
-                .loanAccountNumber(caseEntity.getLoan() != null ? caseEntity.getLoan().getLoanAccountNumber() : null)
-                .externalCaseId(caseEntity.getExternalCaseId())
-                .caseStatus(caseEntity.getCaseStatus())
-                .customerName(caseEntity.getLoan() != null && caseEntity.getLoan().getPrimaryCustomer() != null ?
-                        caseEntity.getLoan().getPrimaryCustomer().getFullName() : null)
-                .mobileNumber(caseEntity.getLoan() != null && caseEntity.getLoan().getPrimaryCustomer() != null ?
-                        caseEntity.getLoan().getPrimaryCustomer().getMobileNumber() : null)
-                .totalOutstanding(caseEntity.getLoan() != null ? caseEntity.getLoan().getTotalOutstanding() : null)
-                .dpd(caseEntity.getLoan() != null ? caseEntity.getLoan().getDpd() : null)
-                .bucket(caseEntity.getLoan() != null ? caseEntity.getLoan().getBucket() : null)
-                .productType(caseEntity.getLoan() != null ? caseEntity.getLoan().getProductType() : null)
-                .ptpId(ptp.getId())
-                .ptpDate(ptp.getPtpDate())
-                .ptpAmount(ptp.getPtpAmount())
-                .ptpStatus(ptp.getPtpStatus().name())
-                .commitmentDate(ptp.getCommitmentDate().toLocalDate())
-                .ptpNotes(ptp.getNotes())
+                .caseId(row.getCaseId())
+                .caseNumber(row.getCaseNumber())
+                .loanAccountNumber(row.getLoanAccountNumber())
+                .externalCaseId(row.getExternalCaseId())
+                .caseStatus(row.getCaseStatus())
+                .customerName(row.getCustomerName())
+                .mobileNumber(row.getMobileNumber())
+                .email(row.getEmail())
+                .city(row.getCity())
+                .state(row.getState())
+                .totalOutstanding(row.getTotalOutstanding())
+                .dpd(row.getDpd())
+                .bucket(row.getBucket())
+                .productType(row.getProductType())
+                .ptpId(row.getPtpId())
+                .ptpDate(row.getPtpDate())
+                .ptpAmount(row.getPtpAmount())
+                .ptpStatus(row.getPtpStatus().name())
+                .commitmentDate(row.getCommitmentDate().toLocalDate())
+                .ptpNotes(row.getPtpNotes())
                 .daysOverdue(daysOverdue)
-                .reminderSent(ptp.getReminderSent())
-                .userId(ptp.getUserId())
+                .reminderSent(row.getReminderSent())
+                .userId(row.getUserId())
                 .build();
     }
 }
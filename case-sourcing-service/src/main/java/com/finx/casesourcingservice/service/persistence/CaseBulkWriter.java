@@ -0,0 +1,152 @@
+package com.finx.casesourcingservice.service.persistence;
+
+import com.finx.casesourcingservice.domain.entity.Case;
+import com.finx.casesourcingservice.domain.entity.Customer;
+import com.finx.casesourcingservice.domain.entity.LoanDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-row JDBC inserts for case ingestion
+ *
+ * Customers, loans and cases are written with one INSERT ... VALUES (...), (...)
+ * statement per slice instead of one IDENTITY insert per entity. Customers and
+ * loans are inserted with ON CONFLICT DO NOTHING on their unique business key
+ * and return the generated IDs keyed by that business key, so rows created
+ * concurrently by another upload are simply not returned.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaseBulkWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Rows per INSERT statement
+     */
+    @Value("${case-sourcing.persistence.insert-batch-size:1000}")
+    private int insertBatchSize;
+
+    /**
+     * Insert customers that do not exist yet
+     *
+     * @return Generated ID by customer code, for the customers actually inserted
+     */
+    public Map<String, Long> insertCustomers(List<Customer> customers) {
+        Map<String, Long> ids = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < customers.size(); from += insertBatchSize) {
+            List<Customer> slice = customers.subList(from, Math.min(from + insertBatchSize, customers.size()));
+
+            StringBuilder sql = new StringBuilder("INSERT INTO customers (customer_code, full_name, mobile_number, " +
+                    "language_preference, customer_type, is_active, created_at, updated_at) VALUES ");
+            List<Object> params = new ArrayList<>(slice.size() * 8);
+            for (int i = 0; i < slice.size(); i++) {
+                Customer customer = slice.get(i);
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?)");
+                params.add(customer.getCustomerCode());
+                params.add(customer.getFullName());
+                params.add(customer.getMobileNumber());
+                params.add(customer.getLanguagePreference());
+                params.add(customer.getCustomerType());
+                params.add(customer.getIsActive());
+                params.add(now);
+                params.add(now);
+            }
+            sql.append(" ON CONFLICT (customer_code) DO NOTHING RETURNING id, customer_code");
+
+            jdbcTemplate.query(sql.toString(),
+                    rs -> {
+                        ids.put(rs.getString("customer_code"), rs.getLong("id"));
+                    },
+                    params.toArray());
+        }
+        log.debug("Inserted {} out of {} customers", ids.size(), customers.size());
+        return ids;
+    }
+
+    /**
+     * Insert loans; the primary customer must carry its ID
+     *
+     * @return Generated ID by loan account number, for the loans actually inserted
+     */
+    public Map<String, Long> insertLoans(List<LoanDetails> loans) {
+        Map<String, Long> ids = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < loans.size(); from += insertBatchSize) {
+            List<LoanDetails> slice = loans.subList(from, Math.min(from + insertBatchSize, loans.size()));
+
+            StringBuilder sql = new StringBuilder("INSERT INTO loan_details (loan_account_number, primary_customer_id, " +
+                    "total_outstanding, dpd, source_system, created_at, updated_at) VALUES ");
+            List<Object> params = new ArrayList<>(slice.size() * 7);
+            for (int i = 0; i < slice.size(); i++) {
+                LoanDetails loan = slice.get(i);
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?)");
+                params.add(loan.getLoanAccountNumber());
+                params.add(loan.getPrimaryCustomer().getId());
+                params.add(loan.getTotalOutstanding());
+                params.add(loan.getDpd());
+                params.add(loan.getSourceSystem());
+                params.add(now);
+                params.add(now);
+            }
+            sql.append(" ON CONFLICT (loan_account_number) DO NOTHING RETURNING id, loan_account_number");
+
+            jdbcTemplate.query(sql.toString(),
+                    rs -> {
+                        ids.put(rs.getString("loan_account_number"), rs.getLong("id"));
+                    },
+                    params.toArray());
+        }
+        log.debug("Inserted {} out of {} loans", ids.size(), loans.size());
+        return ids;
+    }
+
+    /**
+     * Insert cases; each case's loan must carry its ID
+     *
+     * @return Number of cases inserted
+     */
+    public int insertCases(List<Case> cases) {
+        int inserted = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < cases.size(); from += insertBatchSize) {
+            List<Case> slice = cases.subList(from, Math.min(from + insertBatchSize, cases.size()));
+
+            StringBuilder sql = new StringBuilder("INSERT INTO cases (case_number, external_case_id, loan_id, " +
+                    "case_status, case_priority, case_opened_at, source_type, import_batch_id, geography_code, " +
+                    "is_archived, created_at, updated_at) VALUES ");
+            List<Object> params = new ArrayList<>(slice.size() * 12);
+            for (int i = 0; i < slice.size(); i++) {
+                Case caseEntity = slice.get(i);
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                params.add(caseEntity.getCaseNumber());
+                params.add(caseEntity.getExternalCaseId());
+                params.add(caseEntity.getLoan().getId());
+                params.add(caseEntity.getCaseStatus());
+                params.add(caseEntity.getCasePriority());
+                params.add(caseEntity.getCaseOpenedAt() != null ? Timestamp.valueOf(caseEntity.getCaseOpenedAt()) : now);
+                params.add(caseEntity.getSourceType());
+                params.add(caseEntity.getImportBatchId());
+                params.add(caseEntity.getGeographyCode());
+                params.add(caseEntity.getIsArchived());
+                params.add(now);
+                params.add(now);
+            }
+
+            inserted += jdbcTemplate.update(sql.toString(), params.toArray());
+        }
+        return inserted;
+    }
+}
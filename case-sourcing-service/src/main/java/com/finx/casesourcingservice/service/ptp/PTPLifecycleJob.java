@@ -0,0 +1,216 @@
+package com.finx.casesourcingservice.service.ptp;
+
+import com.finx.casesourcingservice.client.CommunicationServiceClient;
+import com.finx.casesourcingservice.client.dto.SmsSendRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Scheduled PTP lifecycle job
+ *
+ * Each run first marks PENDING PTPs past their date as BROKEN, chunk by
+ * chunk, then sends SMS reminders for PTPs due tomorrow through
+ * communication-service, one multi-recipient send per chunk. A Redis lock
+ * keeps the run on a single instance; the chunks themselves are claimed with
+ * SKIP LOCKED, so a manual trigger overlapping a run is still safe.
+ *
+ * A chunk whose send fails is released again and picked up by a later run of
+ * the same day. Meters: ptp.lifecycle.run (timer per outcome),
+ * ptp.lifecycle.ptps.broken, ptp.lifecycle.reminders (per outcome) and
+ * ptp.lifecycle.lock.busy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PTPLifecycleJob {
+
+    private static final String LOCK_KEY = "case-sourcing:lock:ptp-lifecycle";
+
+    /**
+     * Deletes the lock only while it still holds this run's token
+     */
+    private static final DefaultRedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final PTPLifecycleWriter ptpLifecycleWriter;
+    private final CommunicationServiceClient communicationServiceClient;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${case-sourcing.ptp.lifecycle.sweep-chunk-size:1000}")
+    private int sweepChunkSize;
+
+    @Value("${case-sourcing.ptp.lifecycle.reminder-chunk-size:200}")
+    private int reminderChunkSize;
+
+    /**
+     * Msg91 template of the reminder SMS (VAR1 name, VAR2 amount, VAR3 date,
+     * VAR4 loan account); reminders are not sent while it is blank
+     */
+    @Value("${case-sourcing.ptp.lifecycle.reminder-template-id:}")
+    private String reminderTemplateId;
+
+    /**
+     * Upper bound of a run; the lock expires after it even if the instance dies
+     */
+    @Value("${case-sourcing.ptp.lifecycle.lock-ttl-ms:1800000}")
+    private long lockTtlMs;
+
+    @Scheduled(cron = "${case-sourcing.ptp.lifecycle.cron:0 0 9,13,17 * * *}")
+    public void run() {
+        String token = UUID.randomUUID().toString();
+        if (!acquireLock(token)) {
+            Counter.builder("ptp.lifecycle.lock.busy").register(meterRegistry).increment();
+            log.info("PTP lifecycle run skipped, another instance holds the lock");
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "completed";
+        try {
+            LocalDate today = LocalDate.now();
+            int broken = sweepOverdue(today);
+            int reminded = sendReminders(today.plusDays(1));
+            log.info("PTP lifecycle run marked {} PTPs broken and sent {} reminders", broken, reminded);
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            log.error("PTP lifecycle run failed: {}", e.getMessage(), e);
+        } finally {
+            long elapsedNanos = sample.stop(Timer.builder("ptp.lifecycle.run")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            releaseLock(token);
+            log.info("PTP lifecycle run {} in {} ms", outcome, Duration.ofNanos(elapsedNanos).toMillis());
+        }
+    }
+
+    /**
+     * Mark every PENDING PTP dated before today as BROKEN
+     *
+     * @return Number of PTPs marked broken
+     */
+    public int sweepOverdue(LocalDate today) {
+        int ptps = 0;
+        int cases = 0;
+        PTPLifecycleWriter.BrokenChunk chunk;
+        do {
+            chunk = ptpLifecycleWriter.markOverdueBroken(today, sweepChunkSize);
+            ptps += chunk.ptpCount();
+            cases += chunk.caseIds().size();
+        } while (chunk.ptpCount() >= sweepChunkSize);
+
+        Counter.builder("ptp.lifecycle.ptps.broken").register(meterRegistry).increment(ptps);
+        log.info("Marked {} overdue PTPs broken across {} case updates", ptps, cases);
+        return ptps;
+    }
+
+    /**
+     * Send SMS reminders for the PENDING PTPs due on dueDate that have not
+     * been reminded yet
+     *
+     * @return Number of reminders sent
+     */
+    public int sendReminders(LocalDate dueDate) {
+        if (reminderTemplateId == null || reminderTemplateId.isBlank()) {
+            log.warn("PTP reminders skipped, case-sourcing.ptp.lifecycle.reminder-template-id is not set");
+            return 0;
+        }
+
+        int sent = 0;
+        int noMobile = 0;
+        List<PTPLifecycleWriter.ReminderRow> chunk;
+        do {
+            chunk = ptpLifecycleWriter.claimReminders(dueDate, reminderChunkSize);
+            List<PTPLifecycleWriter.ReminderRow> reachable = new ArrayList<>(chunk.size());
+            for (PTPLifecycleWriter.ReminderRow row : chunk) {
+                if (row.mobileNumber() == null || row.mobileNumber().isBlank()) {
+                    noMobile++;
+                } else {
+                    reachable.add(row);
+                }
+            }
+            if (reachable.isEmpty()) {
+                continue;
+            }
+
+            try {
+                communicationServiceClient.sendSms(toSmsRequest(reachable));
+                sent += reachable.size();
+            } catch (RuntimeException e) {
+                // Provider or service unavailable: hand the chunk back and stop for this run
+                ptpLifecycleWriter.releaseReminders(reachable.stream().map(PTPLifecycleWriter.ReminderRow::ptpId)
+                        .toList());
+                reminderCounter("failed").increment(reachable.size());
+                log.error("PTP reminder send failed for {} PTPs, released for the next run: {}",
+                        reachable.size(), e.getMessage());
+                break;
+            }
+        } while (chunk.size() >= reminderChunkSize);
+
+        reminderCounter("sent").increment(sent);
+        reminderCounter("no_mobile").increment(noMobile);
+        log.info("Sent {} PTP reminders for {} ({} without mobile number)", sent, dueDate, noMobile);
+        return sent;
+    }
+
+    private SmsSendRequest toSmsRequest(List<PTPLifecycleWriter.ReminderRow> rows) {
+        List<SmsSendRequest.SmsRecipient> recipients = new ArrayList<>(rows.size());
+        for (PTPLifecycleWriter.ReminderRow row : rows) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("VAR1", row.customerName() != null ? row.customerName() : "Customer");
+            variables.put("VAR2", row.ptpAmount() != null ? row.ptpAmount().toPlainString() : "");
+            variables.put("VAR3", row.ptpDate() != null ? row.ptpDate().toString() : "");
+            variables.put("VAR4", row.loanAccountNumber() != null ? row.loanAccountNumber() : "");
+            recipients.add(SmsSendRequest.SmsRecipient.builder()
+                    .mobile(row.mobileNumber())
+                    .variables(variables)
+                    .caseId(row.caseId())
+                    .build());
+        }
+        return SmsSendRequest.builder()
+                .templateId(reminderTemplateId)
+                .recipients(recipients)
+                .build();
+    }
+
+    private Counter reminderCounter(String outcome) {
+        return Counter.builder("ptp.lifecycle.reminders")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private boolean acquireLock(String token) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, token, Duration.ofMillis(lockTtlMs)));
+        } catch (RuntimeException e) {
+            log.error("Could not acquire PTP lifecycle lock, skipping run: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void releaseLock(String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY), token);
+        } catch (RuntimeException e) {
+            log.warn("Could not release PTP lifecycle lock, it expires in {} ms: {}", lockTtlMs, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.finx.casesourcingservice.service.ptp;
+
+import com.finx.casesourcingservice.service.timeline.CaseTimelineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based PTP status changes of the lifecycle job
+ *
+ * Every method claims at most one chunk of rows with FOR UPDATE SKIP LOCKED
+ * and commits in its own transaction, so chunks are short and two callers
+ * never process the same PTP.
+ */
+@Service
+@RequiredArgsConstructor
+public class PTPLifecycleWriter {
+
+    static final String BROKEN_REASON = "Auto-marked as broken: Payment not received by due date";
+
+    private static final String MARK_BROKEN_SQL = "WITH broken AS (" +
+            "UPDATE ptp_commitments SET ptp_status = 'BROKEN', broken_reason = ?, updated_at = NOW() " +
+            "WHERE id IN (SELECT id FROM ptp_commitments WHERE ptp_status = 'PENDING' AND ptp_date < ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING case_id) " +
+            "SELECT case_id, COUNT(*) AS ptp_count FROM broken GROUP BY case_id";
+
+    private static final String MARK_CASES_BROKEN_SQL = "UPDATE cases SET ptp_status = 'BROKEN', updated_at = NOW() " +
+            "WHERE id = ANY(?)";
+
+    private static final String CLAIM_REMINDERS_SQL = "WITH claimed AS (" +
+            "UPDATE ptp_commitments SET reminder_sent = true, reminder_sent_at = NOW(), updated_at = NOW() " +
+            "WHERE id IN (SELECT id FROM ptp_commitments WHERE ptp_status = 'PENDING' AND ptp_date = ? " +
+            "AND reminder_sent = false ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, case_id, ptp_amount, ptp_date) " +
+            "SELECT cl.id, cl.case_id, cl.ptp_amount, cl.ptp_date, l.loan_account_number, cu.full_name, " +
+            "cu.mobile_number FROM claimed cl JOIN cases c ON c.id = cl.case_id " +
+            "JOIN loan_details l ON l.id = c.loan_id " +
+            "LEFT JOIN customers cu ON cu.id = l.primary_customer_id ORDER BY cl.id";
+
+    private static final String RELEASE_REMINDERS_SQL = "UPDATE ptp_commitments SET reminder_sent = false, " +
+            "reminder_sent_at = NULL, updated_at = NOW() WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CaseTimelineService caseTimelineService;
+
+    /**
+     * PTPs marked broken in one chunk and the cases they belong to
+     */
+    public record BrokenChunk(int ptpCount, List<Long> caseIds) {
+    }
+
+    /**
+     * A claimed reminder with the customer details the SMS template needs
+     */
+    public record ReminderRow(Long ptpId, Long caseId, BigDecimal ptpAmount, LocalDate ptpDate,
+            String loanAccountNumber, String customerName, String mobileNumber) {
+    }
+
+    /**
+     * Mark up to limit PENDING PTPs due before today as BROKEN, then set the
+     * PTP status of their cases in one more statement
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BrokenChunk markOverdueBroken(LocalDate today, int limit) {
+        List<Long> caseIds = new ArrayList<>();
+        int[] ptpCount = new int[1];
+        jdbcTemplate.query(MARK_BROKEN_SQL, rs -> {
+            caseIds.add(rs.getLong("case_id"));
+            ptpCount[0] += rs.getInt("ptp_count");
+        }, BROKEN_REASON, Date.valueOf(today), limit);
+
+        if (!caseIds.isEmpty()) {
+            Long[] ids = caseIds.toArray(new Long[0]);
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(MARK_CASES_BROKEN_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", ids));
+                return ps;
+            });
+            caseTimelineService.evictAll(caseIds);
+        }
+        return new BrokenChunk(ptpCount[0], caseIds);
+    }
+
+    /**
+     * Flag up to limit unreminded PENDING PTPs due on dueDate as reminded and
+     * return them; the flag is set before sending so no PTP is reminded twice
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<ReminderRow> claimReminders(LocalDate dueDate, int limit) {
+        return jdbcTemplate.query(CLAIM_REMINDERS_SQL, (rs, rowNum) -> new ReminderRow(
+                rs.getLong("id"),
+                rs.getLong("case_id"),
+                rs.getBigDecimal("ptp_amount"),
+                rs.getObject("ptp_date", LocalDate.class),
+                rs.getString("loan_account_number"),
+                rs.getString("full_name"),
+                rs.getString("mobile_number")), Date.valueOf(dueDate), limit);
+    }
+
+    /**
+     * Clear the reminder flag of claimed PTPs whose SMS could not be sent
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int releaseReminders(Collection<Long> ptpIds) {
+        if (ptpIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = ptpIds.toArray(new Long[0]);
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(RELEASE_REMINDERS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,166 @@
+package com.finx.casesourcingservice.service.ptp;
+
+import com.finx.casesourcingservice.domain.dto.PTPStatsDTO;
+import com.finx.casesourcingservice.domain.enums.PTPStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PTP statistics computed in SQL
+ *
+ * By default the per-status totals are read from the trigger-maintained
+ * ptp_user_stats table, and only the date relative figures are taken from the
+ * PENDING rows due up to today. With case-sourcing.ptp.stats.use-rollup set to
+ * false, one statement groups ptp_commitments by status and returns counts,
+ * amounts and the due today / overdue figures of every group at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class PTPStatisticsQuery {
+
+    private static final String GROUPED_SQL = "SELECT ptp_status, COUNT(*) AS ptp_count, " +
+            "COALESCE(SUM(ptp_amount), 0) AS ptp_amount, " +
+            "COALESCE(SUM(payment_received_amount), 0) AS collected_amount, " +
+            "COUNT(*) FILTER (WHERE ptp_date = ?) AS due_today, " +
+            "COALESCE(SUM(ptp_amount) FILTER (WHERE ptp_date = ?), 0) AS amount_due_today, " +
+            "COUNT(*) FILTER (WHERE ptp_date < ?) AS overdue " +
+            "FROM ptp_commitments";
+
+    private static final String ROLLUP_SQL = "SELECT ptp_status, SUM(ptp_count) AS ptp_count, " +
+            "SUM(ptp_amount) AS ptp_amount, SUM(collected_amount) AS collected_amount " +
+            "FROM ptp_user_stats";
+
+    private static final String PENDING_DUE_SQL = "SELECT " +
+            "COUNT(*) FILTER (WHERE ptp_date = ?) AS due_today, " +
+            "COALESCE(SUM(ptp_amount) FILTER (WHERE ptp_date = ?), 0) AS amount_due_today, " +
+            "COUNT(*) FILTER (WHERE ptp_date < ?) AS overdue " +
+            "FROM ptp_commitments WHERE ptp_status = 'PENDING' AND ptp_date <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${case-sourcing.ptp.stats.use-rollup:true}")
+    private boolean useRollup;
+
+    /**
+     * Statistics of one user, or of all PTPs when userId is null
+     */
+    public PTPStatsDTO getStats(Long userId, LocalDate today) {
+        Map<String, StatusTotals> byStatus = new HashMap<>();
+        long dueToday;
+        long overdue;
+        BigDecimal amountDueToday;
+        Date day = Date.valueOf(today);
+
+        if (useRollup) {
+            List<Object> params = new ArrayList<>();
+            String sql = ROLLUP_SQL + userFilter(userId, " WHERE ", params) + " GROUP BY ptp_status";
+            jdbcTemplate.query(sql, rs -> {
+                byStatus.put(rs.getString("ptp_status"), new StatusTotals(rs.getLong("ptp_count"),
+                        rs.getBigDecimal("ptp_amount"), rs.getBigDecimal("collected_amount")));
+            }, params.toArray());
+
+            List<Object> dueParams = new ArrayList<>(List.of(day, day, day, day));
+            String dueSql = PENDING_DUE_SQL + userFilter(userId, " AND ", dueParams);
+            Map<String, Object> due = jdbcTemplate.queryForMap(dueSql, dueParams.toArray());
+            dueToday = ((Number) due.get("due_today")).longValue();
+            amountDueToday = (BigDecimal) due.get("amount_due_today");
+            overdue = ((Number) due.get("overdue")).longValue();
+        } else {
+            List<Object> params = new ArrayList<>(List.of(day, day, day));
+            String sql = GROUPED_SQL + userFilter(userId, " WHERE ", params) + " GROUP BY ptp_status";
+            long[] pendingDue = new long[2];
+            BigDecimal[] pendingAmountDue = { BigDecimal.ZERO };
+            jdbcTemplate.query(sql, rs -> {
+                String status = rs.getString("ptp_status");
+                byStatus.put(status, new StatusTotals(rs.getLong("ptp_count"),
+                        rs.getBigDecimal("ptp_amount"), rs.getBigDecimal("collected_amount")));
+                if (PTPStatus.PENDING.name().equals(status)) {
+                    pendingDue[0] = rs.getLong("due_today");
+                    pendingDue[1] = rs.getLong("overdue");
+                    pendingAmountDue[0] = rs.getBigDecimal("amount_due_today");
+                }
+            }, params.toArray());
+            dueToday = pendingDue[0];
+            overdue = pendingDue[1];
+            amountDueToday = pendingAmountDue[0];
+        }
+
+        return toStats(userId, byStatus, dueToday, overdue, amountDueToday);
+    }
+
+    private static String userFilter(Long userId, String keyword, List<Object> params) {
+        if (userId == null) {
+            return "";
+        }
+        params.add(userId);
+        return keyword + "user_id = ?";
+    }
+
+    private static PTPStatsDTO toStats(Long userId, Map<String, StatusTotals> byStatus, long dueToday,
+            long overdue, BigDecimal amountDueToday) {
+        long total = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        BigDecimal collectedAmount = BigDecimal.ZERO;
+        for (StatusTotals totals : byStatus.values()) {
+            total += totals.count();
+            totalAmount = totalAmount.add(totals.amount());
+            collectedAmount = collectedAmount.add(totals.collected());
+        }
+
+        long pending = count(byStatus, PTPStatus.PENDING);
+        long kept = count(byStatus, PTPStatus.KEPT);
+        long broken = count(byStatus, PTPStatus.BROKEN);
+        long renewed = count(byStatus, PTPStatus.RENEWED);
+        long partial = count(byStatus, PTPStatus.PARTIAL);
+        StatusTotals pendingTotals = byStatus.get(PTPStatus.PENDING.name());
+
+        // Calculate performance metrics
+        double keepRate = 0.0;
+        double brokenRate = 0.0;
+        long totalResolved = kept + broken + partial;
+        if (totalResolved > 0) {
+            keepRate = ((kept + partial) * 100.0) / totalResolved;
+            brokenRate = (broken * 100.0) / totalResolved;
+        }
+
+        return PTPStatsDTO.builder()
+                .userId(userId)
+                .totalPTPs(total)
+                .pendingPTPs(pending)
+                .keptPTPs(kept)
+                .brokenPTPs(broken)
+                .renewedPTPs(renewed)
+                .partialPTPs(partial)
+                .totalPTPAmount(totalAmount)
+                .collectedAmount(collectedAmount)
+                .pendingAmount(pendingTotals != null ? pendingTotals.amount() : BigDecimal.ZERO)
+                .keepRate(Math.round(keepRate * 100.0) / 100.0)
+                .brokenRate(Math.round(brokenRate * 100.0) / 100.0)
+                .ptpsDueToday(dueToday)
+                .ptpsOverdueToday(overdue)
+                .amountDueToday(amountDueToday != null ? amountDueToday : BigDecimal.ZERO)
+                .build();
+    }
+
+    private static long count(Map<String, StatusTotals> byStatus, PTPStatus status) {
+        StatusTotals totals = byStatus.get(status.name());
+        return totals != null ? totals.count() : 0L;
+    }
+
+    private record StatusTotals(long count, BigDecimal amount, BigDecimal collected) {
+        StatusTotals {
+            amount = amount != null ? amount : BigDecimal.ZERO;
+            collected = collected != null ? collected : BigDecimal.ZERO;
+        }
+    }
+}
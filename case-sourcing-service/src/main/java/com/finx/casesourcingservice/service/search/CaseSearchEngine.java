@@ -0,0 +1,161 @@
+package com.finx.casesourcingservice.service.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finx.casesourcingservice.domain.dto.CaseSearchRequest;
+import com.finx.casesourcingservice.domain.dto.CaseSearchResultDTO;
+import com.finx.casesourcingservice.domain.enums.SearchCountMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Case search over cases, loan_details and customers
+ *
+ * Results are ordered by case ID, newest first. Shallow pages use the page
+ * offset; deep pages pass the last case ID seen (afterCaseId) and are read
+ * with a keyset bound instead, so their cost does not grow with the depth.
+ * One extra row is fetched to know whether a next page exists.
+ *
+ * The total depends on the count mode: EXACT runs COUNT(*), ESTIMATE takes the
+ * planner's row estimate from EXPLAIN and only counts exactly when the
+ * estimate is small, NONE skips counting altogether.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaseSearchEngine {
+
+    private static final String SELECT = "SELECT c.id, c.case_number, c.external_case_id, c.case_status, " +
+            "c.case_priority, c.case_opened_at, c.allocated_to_user_id, c.allocated_at, c.ptp_date, " +
+            "c.ptp_amount, c.ptp_status, cu.customer_code, cu.full_name, cu.mobile_number, cu.email, cu.city, " +
+            "cu.state, cu.pincode, l.loan_account_number, l.product_type, l.bank_code, l.total_outstanding, " +
+            "l.dpd, l.bucket, TRIM(CONCAT(u.first_name, ' ', u.last_name)) AS allocated_to_user_name";
+
+    private static final String USER_JOIN = "LEFT JOIN users u ON u.id = c.allocated_to_user_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${case-sourcing.search.max-page-size:200}")
+    private int maxPageSize;
+
+    /**
+     * Minimum length of customer name and mobile number prefixes
+     */
+    @Value("${case-sourcing.search.min-prefix-length:3}")
+    private int minPrefixLength;
+
+    /**
+     * ESTIMATE mode counts exactly when the planner expects at most this many rows
+     */
+    @Value("${case-sourcing.search.exact-count-threshold:10000}")
+    private long exactCountThreshold;
+
+    public Page<CaseSearchResultDTO> search(CaseSearchRequest request, Pageable pageable) {
+        int size = Math.min(Math.max(pageable.getPageSize(), 1), maxPageSize);
+        Long afterCaseId = request.getAfterCaseId();
+        long offset = afterCaseId != null ? 0L : (long) pageable.getPageNumber() * size;
+        SearchCountMode countMode = request.getCountMode() != null ? request.getCountMode() : SearchCountMode.EXACT;
+
+        CaseSearchQuery query = CaseSearchQuery.of(request, minPrefixLength);
+
+        String sql = SELECT + CaseSearchQuery.FROM + USER_JOIN + query.where(afterCaseId) +
+                " ORDER BY c.id DESC LIMIT ? OFFSET ?";
+        List<Object> params = query.params(afterCaseId);
+        params.add(size + 1);
+        params.add(offset);
+
+        long startTime = System.currentTimeMillis();
+        List<CaseSearchResultDTO> rows = jdbcTemplate.query(sql, RESULT_MAPPER, params.toArray());
+        boolean hasNext = rows.size() > size;
+        List<CaseSearchResultDTO> content = hasNext ? rows.subList(0, size) : rows;
+
+        long total = switch (countMode) {
+            case EXACT -> count(query);
+            case ESTIMATE -> estimate(query);
+            case NONE -> -1L;
+        };
+        Pageable page = PageRequest.of(pageable.getPageNumber(), size);
+        // A total the current page contradicts (estimate too low, or no count) is
+        // raised just enough for hasNext to come out right
+        long seen = page.getOffset() + content.size() + (hasNext ? 1 : 0);
+        if (total < seen) {
+            total = seen;
+        }
+
+        log.info("Case search returned {} rows (keyset: {}, count mode: {}, total: {}) in {} ms",
+                content.size(), afterCaseId != null, countMode, total, System.currentTimeMillis() - startTime);
+        return new PageImpl<>(List.copyOf(content), page, total);
+    }
+
+    private long count(CaseSearchQuery query) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*)" + CaseSearchQuery.FROM + query.where(null),
+                Long.class, query.params(null).toArray());
+        return count != null ? count : 0L;
+    }
+
+    private long estimate(CaseSearchQuery query) {
+        long estimate = explainRows(query);
+        return estimate < 0 || estimate <= exactCountThreshold ? count(query) : estimate;
+    }
+
+    /**
+     * Top-level "Plan Rows" of the planner for the filtered query, or -1 when
+     * the plan cannot be read
+     */
+    private long explainRows(CaseSearchQuery query) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT c.id" + CaseSearchQuery.FROM
+                + query.where(null), String.class, query.params(null).toArray());
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : -1L;
+        } catch (Exception e) {
+            log.warn("Could not read case search plan estimate, counting exactly: {}", e.getMessage());
+            return -1L;
+        }
+    }
+
+    private static final RowMapper<CaseSearchResultDTO> RESULT_MAPPER = (rs, rowNum) -> CaseSearchResultDTO.builder()
+            .caseId(rs.getLong("id"))
+            .caseNumber(rs.getString("case_number"))
+            .externalCaseId(rs.getString("external_case_id"))
+            .caseStatus(rs.getString("case_status"))
+            .casePriority(rs.getString("case_priority"))
+            .caseOpenedAt(rs.getObject("case_opened_at", LocalDateTime.class))
+            .customerCode(rs.getString("customer_code"))
+            .customerName(rs.getString("full_name"))
+            .mobileNumber(rs.getString("mobile_number"))
+            .email(rs.getString("email"))
+            .city(rs.getString("city"))
+            .state(rs.getString("state"))
+            .pincode(rs.getString("pincode"))
+            .loanAccountNumber(rs.getString("loan_account_number"))
+            .productType(rs.getString("product_type"))
+            .bankCode(rs.getString("bank_code"))
+            .totalOutstanding(rs.getBigDecimal("total_outstanding"))
+            .dpd(rs.getObject("dpd", Integer.class))
+            .bucket(rs.getString("bucket"))
+            .allocatedToUserId(rs.getObject("allocated_to_user_id", Long.class))
+            .allocatedToUserName(emptyToNull(rs.getString("allocated_to_user_name")))
+            .allocatedAt(rs.getObject("allocated_at", LocalDateTime.class))
+            .ptpDate(rs.getObject("ptp_date", LocalDate.class))
+            .ptpAmount(rs.getBigDecimal("ptp_amount"))
+            .ptpStatus(rs.getString("ptp_status"))
+            .build();
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,164 @@
+package com.finx.casesourcingservice.service.search;
+
+import com.finx.casesourcingservice.domain.dto.CaseSearchRequest;
+import com.finx.casesourcingservice.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WHERE clause and bind parameters of a case search
+ *
+ * Only the filters present in the request become predicates. Identifiers and
+ * codes are equality matches, customer name (case-insensitive) and mobile
+ * number are prefix matches, DPD, outstanding and dates are inclusive ranges.
+ * The keyset bound is kept apart from the filters so the same predicates can
+ * be counted and estimated without it.
+ */
+class CaseSearchQuery {
+
+    static final String FROM = " FROM cases c " +
+            "JOIN loan_details l ON l.id = c.loan_id " +
+            "LEFT JOIN customers cu ON cu.id = l.primary_customer_id ";
+
+    private final StringBuilder where = new StringBuilder();
+    private final List<Object> params = new ArrayList<>();
+
+    private CaseSearchQuery() {
+    }
+
+    static CaseSearchQuery of(CaseSearchRequest request, int minPrefixLength) {
+        CaseSearchQuery query = new CaseSearchQuery();
+
+        // Case identifiers
+        query.equal("c.case_number", request.getCaseNumber());
+        query.equal("c.external_case_id", request.getExternalCaseId());
+        query.equal("l.loan_account_number", request.getLoanAccountNumber());
+        query.equal("c.import_batch_id", request.getImportBatchId());
+
+        // Customer information
+        query.prefix("lower(cu.full_name)", lower(request.getCustomerName()), "Customer name", minPrefixLength);
+        query.prefix("cu.mobile_number", trim(request.getMobileNumber()), "Mobile number", minPrefixLength);
+        query.equal("cu.customer_code", request.getCustomerCode());
+        query.equal("lower(cu.email)", lower(request.getEmail()));
+
+        // Location filters
+        query.equal("cu.city", request.getCity());
+        query.equal("cu.state", request.getState());
+        query.equal("cu.pincode", request.getPincode());
+        query.equal("c.geography_code", request.getGeographyCode());
+
+        // Loan filters
+        query.equal("l.product_type", request.getProductType());
+        query.equal("l.bank_code", request.getBankCode());
+        query.equal("l.bucket", request.getBucket());
+        query.range("l.dpd", request.getMinDpd(), request.getMaxDpd());
+        query.range("l.total_outstanding", decimal(request.getMinOutstanding()), decimal(request.getMaxOutstanding()));
+
+        // Case status filters
+        query.equal("c.case_status", request.getCaseStatus());
+        query.equal("c.ptp_status", request.getPtpStatus());
+        query.equal("c.allocated_to_user_id", request.getAllocatedToUserId());
+        query.equal("c.allocated_to_agency_id", request.getAllocatedToAgencyId());
+
+        // Date filters; "to" dates include the whole day
+        LocalDate openedFrom = date(request.getCaseOpenedFrom(), "caseOpenedFrom");
+        LocalDate openedTo = date(request.getCaseOpenedTo(), "caseOpenedTo");
+        query.range("c.case_opened_at",
+                openedFrom != null ? Timestamp.valueOf(openedFrom.atStartOfDay()) : null, null);
+        if (openedTo != null) {
+            query.and("c.case_opened_at < ?", Timestamp.valueOf(openedTo.plusDays(1).atStartOfDay()));
+        }
+        LocalDate ptpFrom = date(request.getPtpDateFrom(), "ptpDateFrom");
+        LocalDate ptpTo = date(request.getPtpDateTo(), "ptpDateTo");
+        query.range("c.ptp_date", ptpFrom != null ? Date.valueOf(ptpFrom) : null,
+                ptpTo != null ? Date.valueOf(ptpTo) : null);
+
+        return query;
+    }
+
+    /**
+     * WHERE clause of the filters, optionally bounded to case IDs below afterCaseId
+     */
+    String where(Long afterCaseId) {
+        StringBuilder clause = new StringBuilder(where);
+        if (afterCaseId != null) {
+            clause.append(clause.length() == 0 ? "" : " AND ").append("c.id < ?");
+        }
+        return clause.length() == 0 ? "" : " WHERE " + clause;
+    }
+
+    List<Object> params(Long afterCaseId) {
+        List<Object> all = new ArrayList<>(params);
+        if (afterCaseId != null) {
+            all.add(afterCaseId);
+        }
+        return all;
+    }
+
+    private void and(String predicate, Object param) {
+        where.append(where.length() == 0 ? "" : " AND ").append(predicate);
+        params.add(param);
+    }
+
+    private void equal(String column, Object value) {
+        if (value instanceof String text) {
+            value = text.isBlank() ? null : text.trim();
+        }
+        if (value != null) {
+            and(column + " = ?", value);
+        }
+    }
+
+    private void prefix(String column, String value, String label, int minPrefixLength) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        // Trigram indexes cannot narrow prefixes shorter than three characters
+        if (value.length() < minPrefixLength) {
+            throw new BusinessException(label + " search needs at least " + minPrefixLength + " characters");
+        }
+        and(column + " LIKE ?", escapeLike(value) + "%");
+    }
+
+    private void range(String column, Object min, Object max) {
+        if (min != null) {
+            and(column + " >= ?", min);
+        }
+        if (max != null) {
+            and(column + " <= ?", max);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.trim().toLowerCase() : null;
+    }
+
+    private static BigDecimal decimal(Double value) {
+        return value != null ? BigDecimal.valueOf(value) : null;
+    }
+
+    private static LocalDate date(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid " + field + " date, expected yyyy-MM-dd: " + value);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.finx.casesourcingservice.service.timeline;
+
+import com.finx.casesourcingservice.domain.dto.CaseTimelineDTO;
+import com.finx.casesourcingservice.domain.dto.TimelineEventDTO;
+import com.finx.casesourcingservice.domain.dto.TimelineSummaryDTO;
+import com.finx.casesourcingservice.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the activity timeline of a case
+ *
+ * The case header and the six event sources (PTPs, allocation history, SMS,
+ * WhatsApp, email, dialer calls) are queried concurrently on virtual threads,
+ * so the latency is that of the slowest source rather than their sum. Events
+ * are merged newest first. Each source returns at most its newest
+ * max-events-per-source events, so the summary counters come from aggregate
+ * queries over all rows, run alongside the event reads; only when an
+ * aggregate fails are they derived from the capped events.
+ *
+ * Complete timelines are kept in the "caseTimeline" cache per case. Writes
+ * made by this service (PTP capture and updates) evict the entry after
+ * commit; allocation-reallocation-service and communication-service delete
+ * the same "caseTimeline::<caseId>" key in the shared Redis when they write
+ * allocation history, messages or calls, and the short TTL covers the rest.
+ * A source that fails or times out is left out and that timeline is not
+ * cached, so one slow table never hides the rest of the screen.
+ */
+@Slf4j
+@Service
+public class CaseTimelineService {
+
+    public static final String CACHE_NAME = "caseTimeline";
+
+    private static final Set<String> MESSAGE_TYPES = Set.of("SMS", "WHATSAPP", "EMAIL");
+
+    private final CaseTimelineSources sources;
+    private final ExecutorService timelineExecutor;
+    private final CacheManager cacheManager;
+
+    /**
+     * Newest events read per source
+     */
+    @Value("${case-sourcing.timeline.max-events-per-source:1000}")
+    private int maxEventsPerSource;
+
+    @Value("${case-sourcing.timeline.source-timeout-ms:3000}")
+    private long sourceTimeoutMs;
+
+    public CaseTimelineService(CaseTimelineSources sources,
+            @Qualifier("timelineExecutor") ExecutorService timelineExecutor, CacheManager cacheManager) {
+        this.sources = sources;
+        this.timelineExecutor = timelineExecutor;
+        this.cacheManager = cacheManager;
+    }
+
+    public CaseTimelineDTO getTimeline(Long caseId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        CaseTimelineDTO cached = cache != null ? cache.get(caseId, CaseTimelineDTO.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<Optional<CaseTimelineSources.CaseHeader>> header = fetch(() -> sources.caseHeader(caseId));
+        List<CompletableFuture<List<TimelineEventDTO>>> eventSources = List.of(
+                fetch(() -> sources.ptpEvents(caseId, maxEventsPerSource)),
+                fetch(() -> sources.allocationEvents(caseId, maxEventsPerSource)),
+                fetch(() -> sources.smsEvents(caseId, maxEventsPerSource)),
+                fetch(() -> sources.whatsappEvents(caseId, maxEventsPerSource)),
+                fetch(() -> sources.emailEvents(caseId, maxEventsPerSource)),
+                fetch(() -> sources.callEvents(caseId, maxEventsPerSource)));
+        CompletableFuture<CaseTimelineSources.PtpStats> ptpStats = fetch(() -> sources.ptpStats(caseId));
+        CompletableFuture<CaseTimelineSources.SourceStats> allocationStats =
+                fetch(() -> sources.allocationStats(caseId));
+        CompletableFuture<CaseTimelineSources.SourceStats> messageStats = fetch(() -> sources.messageStats(caseId));
+        CompletableFuture<CaseTimelineSources.CallStats> callStats = fetch(() -> sources.callStats(caseId));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sourceTimeoutMs);
+        Optional<Optional<CaseTimelineSources.CaseHeader>> loaded = await(header, deadline, caseId);
+        if (loaded.isEmpty() || loaded.get().isEmpty()) {
+            eventSources.forEach(source -> source.cancel(true));
+            List.of(ptpStats, allocationStats, messageStats, callStats).forEach(stats -> stats.cancel(true));
+            throw new BusinessException(loaded.isEmpty()
+                    ? "Could not load timeline for case: " + caseId
+                    : "Case not found: " + caseId);
+        }
+        CaseTimelineSources.CaseHeader caseHeader = loaded.get().get();
+
+        List<TimelineEventDTO> events = new ArrayList<>();
+        boolean complete = true;
+        for (CompletableFuture<List<TimelineEventDTO>> source : eventSources) {
+            Optional<List<TimelineEventDTO>> result = await(source, deadline, caseId);
+            if (result.isPresent()) {
+                events.addAll(result.get());
+            } else {
+                complete = false;
+            }
+        }
+        events.sort(Comparator.comparing(TimelineEventDTO::getEventTimestamp,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        TimelineStats stats = new TimelineStats(
+                await(ptpStats, deadline, caseId).orElse(null),
+                await(allocationStats, deadline, caseId).orElse(null),
+                await(messageStats, deadline, caseId).orElse(null),
+                await(callStats, deadline, caseId).orElse(null));
+        complete = complete && stats.complete();
+
+        CaseTimelineDTO timeline = CaseTimelineDTO.builder()
+                .caseId(caseHeader.caseId())
+                .caseNumber(caseHeader.caseNumber())
+                .customerName(caseHeader.customerName())
+                .loanAccountNumber(caseHeader.loanAccountNumber())
+                .events(events)
+                .summary(summarize(events, stats))
+                .build();
+
+        if (complete && cache != null) {
+            cache.put(caseId, timeline);
+        }
+        log.info("Built timeline for case {} with {} events in {} ms (complete: {})", caseId, events.size(),
+                System.currentTimeMillis() - startTime, complete);
+        return timeline;
+    }
+
+    /**
+     * Drop the cached timeline of a case; inside a transaction this happens
+     * after commit so a concurrent read cannot cache the old state again
+     */
+    public void evict(Long caseId) {
+        evictAll(List.of(caseId));
+    }
+
+    public void evictAll(Collection<Long> caseIds) {
+        if (caseIds.isEmpty()) {
+            return;
+        }
+        List<Long> copy = List.copyOf(caseIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(copy);
+                }
+            });
+        } else {
+            doEvict(copy);
+        }
+    }
+
+    private void doEvict(List<Long> caseIds) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        try {
+            caseIds.forEach(cache::evict);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict timeline cache for {} cases: {}", caseIds.size(), e.getMessage());
+        }
+    }
+
+    private <T> CompletableFuture<T> fetch(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, timelineExecutor);
+    }
+
+    private <T> Optional<T> await(CompletableFuture<T> future, long deadlineNanos, Long caseId) {
+        try {
+            return Optional.ofNullable(future.get(Math.max(0L, deadlineNanos - System.nanoTime()),
+                    TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Timeline source for case {} timed out after {} ms", caseId, sourceTimeoutMs);
+        } catch (ExecutionException e) {
+            log.error("Timeline source for case {} failed: {}", caseId, e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Interrupted while loading timeline for case: " + caseId);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Aggregates of the four stat queries; a null entry failed or timed out
+     */
+    private record TimelineStats(CaseTimelineSources.PtpStats ptp, CaseTimelineSources.SourceStats allocation,
+            CaseTimelineSources.SourceStats messages, CaseTimelineSources.CallStats calls) {
+
+        boolean complete() {
+            return ptp != null && allocation != null && messages != null && calls != null;
+        }
+    }
+
+    /**
+     * Summary counters from the per-source aggregates, falling back to the
+     * merged (newest first, capped) events for a source whose aggregate failed
+     */
+    private TimelineSummaryDTO summarize(List<TimelineEventDTO> events, TimelineStats stats) {
+        int calls = 0;
+        int connectedCalls = 0;
+        int ptps = 0;
+        int messages = 0;
+        int allocations = 0;
+        int activePTPs = 0;
+        int keptPTPs = 0;
+        int brokenPTPs = 0;
+        BigDecimal totalPTPAmount = BigDecimal.ZERO;
+        BigDecimal collectedAmount = BigDecimal.ZERO;
+        LocalDateTime lastContactedAt = null;
+        String lastContactResult = null;
+
+        for (TimelineEventDTO event : events) {
+            String type = event.getEventType();
+            if ("CALL".equals(type)) {
+                calls++;
+                Map<String, Object> metadata = event.getMetadata();
+                if (metadata != null && Boolean.TRUE.equals(metadata.get("connected"))) {
+                    connectedCalls++;
+                }
+                if (lastContactedAt == null && event.getEventTimestamp() != null) {
+                    lastContactedAt = event.getEventTimestamp();
+                    lastContactResult = event.getContactResult();
+                }
+            } else if ("PTP".equals(type)) {
+                ptps++;
+                if (event.getPtpAmount() != null) {
+                    totalPTPAmount = totalPTPAmount.add(event.getPtpAmount());
+                }
+                if (event.getPaymentAmount() != null) {
+                    collectedAmount = collectedAmount.add(event.getPaymentAmount());
+                }
+                String status = event.getPtpStatus();
+                if ("PENDING".equals(status)) {
+                    activePTPs++;
+                } else if ("KEPT".equals(status) || "PARTIAL".equals(status)) {
+                    keptPTPs++;
+                } else if ("BROKEN".equals(status)) {
+                    brokenPTPs++;
+                }
+            } else if (MESSAGE_TYPES.contains(type)) {
+                messages++;
+            } else if ("ALLOCATION".equals(type)) {
+                allocations++;
+            }
+        }
+
+        // Newest events are never cut off by the cap; the oldest one can be
+        LocalDateTime lastEventAt = events.stream().map(TimelineEventDTO::getEventTimestamp)
+                .filter(Objects::nonNull).findFirst().orElse(null);
+        LocalDateTime firstEventAt = null;
+        for (int i = events.size() - 1; i >= 0 && firstEventAt == null; i--) {
+            firstEventAt = events.get(i).getEventTimestamp();
+        }
+
+        if (stats.ptp() != null) {
+            ptps = stats.ptp().total();
+            activePTPs = stats.ptp().active();
+            keptPTPs = stats.ptp().kept();
+            brokenPTPs = stats.ptp().broken();
+            totalPTPAmount = stats.ptp().ptpAmount();
+            collectedAmount = stats.ptp().collectedAmount();
+            firstEventAt = earliest(firstEventAt, stats.ptp().firstEventAt());
+        }
+        if (stats.allocation() != null) {
+            allocations = stats.allocation().total();
+            firstEventAt = earliest(firstEventAt, stats.allocation().firstEventAt());
+        }
+        if (stats.messages() != null) {
+            messages = stats.messages().total();
+            firstEventAt = earliest(firstEventAt, stats.messages().firstEventAt());
+        }
+        if (stats.calls() != null) {
+            calls = stats.calls().total();
+            connectedCalls = stats.calls().connected();
+            firstEventAt = earliest(firstEventAt, stats.calls().firstEventAt());
+        }
+
+        return TimelineSummaryDTO.builder()
+                .totalEvents(calls + ptps + messages + allocations)
+                .totalCalls(calls)
+                .totalPTPs(ptps)
+                .totalPayments(0)
+                .totalNotes(0)
+                .totalMessages(messages)
+                .connectedCalls(connectedCalls)
+                .failedCalls(calls - connectedCalls)
+                .lastContactedAt(lastContactedAt)
+                .lastContactResult(lastContactResult)
+                .activePTPs(activePTPs)
+                .keptPTPs(keptPTPs)
+                .brokenPTPs(brokenPTPs)
+                .totalPTPAmount(totalPTPAmount)
+                .collectedAmount(collectedAmount)
+                .firstEventAt(firstEventAt)
+                .lastEventAt(lastEventAt)
+                .daysSinceLastActivity(lastEventAt != null
+                        ? (int) ChronoUnit.DAYS.between(lastEventAt.toLocalDate(), LocalDateTime.now().toLocalDate())
+                        : null)
+                .build();
+    }
+
+    private static LocalDateTime earliest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+}
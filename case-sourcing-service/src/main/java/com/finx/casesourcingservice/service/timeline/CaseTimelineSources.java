@@ -0,0 +1,241 @@
+package com.finx.casesourcingservice.service.timeline;
+
+import com.finx.casesourcingservice.domain.dto.TimelineEventDTO;
+import com.finx.casesourcingservice.domain.entity.PTPCommitment;
+import com.finx.casesourcingservice.repository.PTPCommitmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the timeline events of one case from each source
+ *
+ * Every source is one indexed query on case_id returning the newest events
+ * first, capped at the given limit. PTPs come from this service's own
+ * repository; allocation history, messages and dialer calls are written by
+ * other services and are read directly from their tables. The *Stats
+ * queries aggregate over all of a source's rows, so the timeline summary
+ * stays exact when the event lists are capped.
+ */
+@Component
+@RequiredArgsConstructor
+public class CaseTimelineSources {
+
+    private static final String CASE_HEADER_SQL = "SELECT c.id, c.case_number, cu.full_name, l.loan_account_number " +
+            "FROM cases c JOIN loan_details l ON l.id = c.loan_id " +
+            "LEFT JOIN customers cu ON cu.id = l.primary_customer_id WHERE c.id = ?";
+
+    private static final String ALLOCATION_SQL = "SELECT id, action_type, reason, changed_at, changed_by, " +
+            "previous_owner_id, new_owner_id, allocated_to_username, batch_id FROM allocation_history " +
+            "WHERE case_id = ? ORDER BY changed_at DESC LIMIT ?";
+
+    private static final String SMS_SQL = "SELECT id, status, message_content, template_code, failure_reason, " +
+            "user_id, COALESCE(sent_at, created_at) AS event_at FROM sms_messages " +
+            "WHERE case_id = ? ORDER BY created_at DESC LIMIT ?";
+
+    private static final String WHATSAPP_SQL = "SELECT id, status, message_content, template_name, failure_reason, " +
+            "user_id, COALESCE(sent_at, created_at) AS event_at FROM whatsapp_messages " +
+            "WHERE case_id = ? ORDER BY created_at DESC LIMIT ?";
+
+    private static final String EMAIL_SQL = "SELECT id, status, subject, template_code, failure_reason, " +
+            "user_id, COALESCE(sent_at, created_at) AS event_at FROM email_messages " +
+            "WHERE case_id = ? ORDER BY created_at DESC LIMIT ?";
+
+    private static final String CALL_SQL = "SELECT id, call_type, call_status, call_duration, recording_url, " +
+            "disposition, notes, agent_id, answered_at IS NOT NULL AS connected, " +
+            "COALESCE(initiated_at, queued_at, created_at) AS event_at FROM dialer_call_logs " +
+            "WHERE case_id = ? ORDER BY created_at DESC LIMIT ?";
+
+    private static final String PTP_STATS_SQL = "SELECT COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE ptp_status = 'PENDING') AS active, " +
+            "COUNT(*) FILTER (WHERE ptp_status IN ('KEPT', 'PARTIAL')) AS kept, " +
+            "COUNT(*) FILTER (WHERE ptp_status = 'BROKEN') AS broken, " +
+            "COALESCE(SUM(ptp_amount), 0) AS ptp_amount, COALESCE(SUM(payment_received_amount), 0) AS collected, " +
+            "MIN(COALESCE(commitment_date, created_at)) AS first_at FROM ptp_commitments WHERE case_id = ?";
+
+    private static final String ALLOCATION_STATS_SQL = "SELECT COUNT(*) AS total, MIN(changed_at) AS first_at " +
+            "FROM allocation_history WHERE case_id = ?";
+
+    private static final String MESSAGE_STATS_SQL = "SELECT COALESCE(SUM(total), 0) AS total, " +
+            "MIN(first_at) AS first_at FROM (" +
+            "SELECT COUNT(*) AS total, MIN(COALESCE(sent_at, created_at)) AS first_at FROM sms_messages " +
+            "WHERE case_id = ? UNION ALL " +
+            "SELECT COUNT(*), MIN(COALESCE(sent_at, created_at)) FROM whatsapp_messages WHERE case_id = ? " +
+            "UNION ALL " +
+            "SELECT COUNT(*), MIN(COALESCE(sent_at, created_at)) FROM email_messages WHERE case_id = ?) m";
+
+    private static final String CALL_STATS_SQL = "SELECT COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE answered_at IS NOT NULL) AS connected, " +
+            "MIN(COALESCE(initiated_at, queued_at, created_at)) AS first_at FROM dialer_call_logs WHERE case_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PTPCommitmentRepository ptpRepository;
+
+    public record CaseHeader(Long caseId, String caseNumber, String customerName, String loanAccountNumber) {
+    }
+
+    /**
+     * Row count and earliest event time of a source
+     */
+    public record SourceStats(int total, LocalDateTime firstEventAt) {
+    }
+
+    public record CallStats(int total, int connected, LocalDateTime firstEventAt) {
+    }
+
+    public record PtpStats(int total, int active, int kept, int broken, BigDecimal ptpAmount,
+            BigDecimal collectedAmount, LocalDateTime firstEventAt) {
+    }
+
+    public Optional<CaseHeader> caseHeader(Long caseId) {
+        return jdbcTemplate.query(CASE_HEADER_SQL, (rs, rowNum) -> new CaseHeader(rs.getLong("id"),
+                rs.getString("case_number"), rs.getString("full_name"), rs.getString("loan_account_number")),
+                caseId).stream().findFirst();
+    }
+
+    public List<TimelineEventDTO> ptpEvents(Long caseId, int limit) {
+        return ptpRepository.findByCaseIdOrderByCreatedAtDesc(caseId, PageRequest.of(0, limit)).stream()
+                .map(CaseTimelineSources::toPtpEvent)
+                .toList();
+    }
+
+    public List<TimelineEventDTO> allocationEvents(Long caseId, int limit) {
+        return jdbcTemplate.query(ALLOCATION_SQL, (rs, rowNum) -> {
+            String action = rs.getString("action_type");
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("previousOwnerId", rs.getObject("previous_owner_id", Long.class));
+            metadata.put("newOwnerId", rs.getObject("new_owner_id", Long.class));
+            metadata.put("batchId", rs.getString("batch_id"));
+            return TimelineEventDTO.builder()
+                    .eventId(rs.getLong("id"))
+                    .eventType("ALLOCATION")
+                    .eventSubType(action)
+                    .eventTitle("Case " + (action != null ? action.toLowerCase() : "allocation changed"))
+                    .eventDescription(rs.getString("reason"))
+                    .eventTimestamp(rs.getObject("changed_at", LocalDateTime.class))
+                    .userId(rs.getObject("changed_by", Long.class))
+                    .userName(rs.getString("allocated_to_username"))
+                    .metadata(metadata)
+                    .iconType("allocation")
+                    .colorCode("#6c757d")
+                    .build();
+        }, caseId, limit);
+    }
+
+    public List<TimelineEventDTO> smsEvents(Long caseId, int limit) {
+        return jdbcTemplate.query(SMS_SQL, (rs, rowNum) -> messageEvent("SMS", "SMS sent",
+                rs.getLong("id"), rs.getString("status"), rs.getString("message_content"),
+                rs.getString("template_code"), rs.getString("failure_reason"),
+                rs.getObject("user_id", Long.class), rs.getObject("event_at", LocalDateTime.class)), caseId, limit);
+    }
+
+    public List<TimelineEventDTO> whatsappEvents(Long caseId, int limit) {
+        return jdbcTemplate.query(WHATSAPP_SQL, (rs, rowNum) -> messageEvent("WHATSAPP", "WhatsApp message sent",
+                rs.getLong("id"), rs.getString("status"), rs.getString("message_content"),
+                rs.getString("template_name"), rs.getString("failure_reason"),
+                rs.getObject("user_id", Long.class), rs.getObject("event_at", LocalDateTime.class)), caseId, limit);
+    }
+
+    public List<TimelineEventDTO> emailEvents(Long caseId, int limit) {
+        return jdbcTemplate.query(EMAIL_SQL, (rs, rowNum) -> messageEvent("EMAIL", "Email sent",
+                rs.getLong("id"), rs.getString("status"), rs.getString("subject"),
+                rs.getString("template_code"), rs.getString("failure_reason"),
+                rs.getObject("user_id", Long.class), rs.getObject("event_at", LocalDateTime.class)), caseId, limit);
+    }
+
+    public List<TimelineEventDTO> callEvents(Long caseId, int limit) {
+        return jdbcTemplate.query(CALL_SQL, (rs, rowNum) -> {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("connected", rs.getBoolean("connected"));
+            return TimelineEventDTO.builder()
+                    .eventId(rs.getLong("id"))
+                    .eventType("CALL")
+                    .eventSubType(rs.getString("call_type"))
+                    .eventTitle("Call " + (rs.getBoolean("connected") ? "connected" : "not connected"))
+                    .eventDescription(rs.getString("notes"))
+                    .eventTimestamp(rs.getObject("event_at", LocalDateTime.class))
+                    .userId(rs.getObject("agent_id", Long.class))
+                    .disposition(rs.getString("disposition"))
+                    .contactResult(rs.getString("call_status"))
+                    .callDurationSeconds(rs.getObject("call_duration", Integer.class))
+                    .callRecordingUrl(rs.getString("recording_url"))
+                    .metadata(metadata)
+                    .iconType("call")
+                    .colorCode("#0d6efd")
+                    .build();
+        }, caseId, limit);
+    }
+
+    public PtpStats ptpStats(Long caseId) {
+        return jdbcTemplate.queryForObject(PTP_STATS_SQL, (rs, rowNum) -> new PtpStats(rs.getInt("total"),
+                rs.getInt("active"), rs.getInt("kept"), rs.getInt("broken"), rs.getBigDecimal("ptp_amount"),
+                rs.getBigDecimal("collected"), rs.getObject("first_at", LocalDateTime.class)), caseId);
+    }
+
+    public SourceStats allocationStats(Long caseId) {
+        return jdbcTemplate.queryForObject(ALLOCATION_STATS_SQL, (rs, rowNum) -> new SourceStats(rs.getInt("total"),
+                rs.getObject("first_at", LocalDateTime.class)), caseId);
+    }
+
+    /**
+     * SMS, WhatsApp and email together
+     */
+    public SourceStats messageStats(Long caseId) {
+        return jdbcTemplate.queryForObject(MESSAGE_STATS_SQL, (rs, rowNum) -> new SourceStats(rs.getInt("total"),
+                rs.getObject("first_at", LocalDateTime.class)), caseId, caseId, caseId);
+    }
+
+    public CallStats callStats(Long caseId) {
+        return jdbcTemplate.queryForObject(CALL_STATS_SQL, (rs, rowNum) -> new CallStats(rs.getInt("total"),
+                rs.getInt("connected"), rs.getObject("first_at", LocalDateTime.class)), caseId);
+    }
+
+    private static TimelineEventDTO messageEvent(String channel, String title, long id, String status,
+            String content, String template, String failureReason, Long userId, LocalDateTime eventAt) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("template", template);
+        metadata.put("failureReason", failureReason);
+        return TimelineEventDTO.builder()
+                .eventId(id)
+                .eventType(channel)
+                .eventSubType(status)
+                .eventTitle(title)
+                .eventTimestamp(eventAt)
+                .userId(userId)
+                .messageChannel(channel)
+                .messageStatus(status)
+                .messageContent(content)
+                .metadata(metadata)
+                .iconType(channel.toLowerCase())
+                .colorCode("#20c997")
+                .build();
+    }
+
+    private static TimelineEventDTO toPtpEvent(PTPCommitment ptp) {
+        String status = ptp.getPtpStatus() != null ? ptp.getPtpStatus().name() : null;
+        return TimelineEventDTO.builder()
+                .eventId(ptp.getId())
+                .eventType("PTP")
+                .eventSubType(status)
+                .eventTitle("Promise to pay " + ptp.getPtpAmount() + " by " + ptp.getPtpDate())
+                .eventDescription(ptp.getNotes())
+                .eventTimestamp(ptp.getCommitmentDate() != null ? ptp.getCommitmentDate() : ptp.getCreatedAt())
+                .userId(ptp.getUserId())
+                .disposition(ptp.getCallDisposition())
+                .ptpAmount(ptp.getPtpAmount())
+                .ptpDate(ptp.getPtpDate() != null ? ptp.getPtpDate().toString() : null)
+                .ptpStatus(status)
+                .paymentAmount(ptp.getPaymentReceivedAmount())
+                .iconType("ptp")
+                .colorCode("#fd7e14")
+                .build();
+    }
+}
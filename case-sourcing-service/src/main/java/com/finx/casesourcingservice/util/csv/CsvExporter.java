@@ -1,17 +1,27 @@
 package com.finx.casesourcingservice.util.csv;
 
-import com.finx.casesourcingservice.domain.entity.BatchError;
-import com.finx.casesourcingservice.domain.entity.Case;
+import com.finx.casesourcingservice.domain.dto.BatchErrorExportRow;
+import com.finx.casesourcingservice.domain.dto.CaseExportRow;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Utility for exporting data to CSV format
+ *
+ * Rows are written page by page straight to the output stream: the caller
+ * supplies the next page after a given id (keyset paging) and every page is
+ * flushed before the next one is fetched, so memory stays bounded by one page
+ * regardless of the export size.
  */
 @Slf4j
 @Component
@@ -19,83 +29,96 @@ public class CsvExporter {
 
     private static final String CSV_DELIMITER = ",";
     private static final String LINE_SEPARATOR = "\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
 
     /**
-     * Export failed cases (batch errors) to CSV
+     * Write failed cases (batch errors) as CSV
+     *
+     * @param pageAfter Next page of errors with id greater than the argument; empty when done
+     * @return Number of rows written
      */
-    public byte[] exportBatchErrors(List<BatchError> errors) {
-        log.info("Exporting {} batch errors to CSV", errors.size());
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(outputStream, false, StandardCharsets.UTF_8);
-
-        // Write header
-        writer.write("Row Number,External Case ID,Error Type,Error Message");
-        writer.write(LINE_SEPARATOR);
-
-        // Write data rows
-        for (BatchError error : errors) {
-            writer.write(String.valueOf(error.getRowNumber()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(error.getExternalCaseId()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(error.getErrorType().name()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(error.getErrorMessage()));
-            writer.write(LINE_SEPARATOR);
-        }
-
-        writer.flush();
-        writer.close();
-
-        return outputStream.toByteArray();
+    public long writeBatchErrors(OutputStream outputStream, LongFunction<List<BatchErrorExportRow>> pageAfter)
+            throws IOException {
+        return writePages(outputStream, "Row Number,External Case ID,Error Type,Error Message",
+                pageAfter, BatchErrorExportRow::getId, (writer, error) -> {
+                    writer.write(String.valueOf(error.getRowNumber()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(error.getExternalCaseId()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(error.getErrorType().name()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(error.getErrorMessage()));
+                });
     }
 
     /**
-     * Export cases to CSV
+     * Write cases as CSV
+     *
+     * @param pageAfter Next page of cases with id greater than the argument; empty when done
+     * @return Number of rows written
      */
-    public byte[] exportCases(List<Case> cases) {
-        log.info("Exporting {} cases to CSV", cases.size());
+    public long writeCases(OutputStream outputStream, LongFunction<List<CaseExportRow>> pageAfter)
+            throws IOException {
+        return writePages(outputStream, "Case Number,External Case ID,Customer Name,Mobile,Loan Account,"
+                + "Total Outstanding,DPD,Bucket,Status,Allocated To User,Created At",
+                pageAfter, CaseExportRow::getId, (writer, row) -> {
+                    writer.write(escapeCsv(row.getCaseNumber()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(row.getExternalCaseId()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(row.getCustomerName()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(row.getMobileNumber()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(row.getLoanAccountNumber()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(String.valueOf(row.getTotalOutstanding()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(String.valueOf(row.getDpd()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(row.getBucket()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(escapeCsv(row.getCaseStatus()));
+                    writer.write(CSV_DELIMITER);
+                    writer.write(row.getAllocatedToUserId() != null ?
+                            String.valueOf(row.getAllocatedToUserId()) : "");
+                    writer.write(CSV_DELIMITER);
+                    writer.write(String.valueOf(row.getCreatedAt()));
+                });
+    }
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(outputStream, false, StandardCharsets.UTF_8);
+    private <T> long writePages(OutputStream outputStream, String header, LongFunction<List<T>> pageAfter,
+            ToLongFunction<T> idOf, RowWriter<T> rowWriter) throws IOException {
+        // The stream belongs to the servlet container; flush but do not close it
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
 
         // Write header
-        writer.write("Case Number,External Case ID,Customer Name,Mobile,Loan Account,");
-        writer.write("Total Outstanding,DPD,Bucket,Status,Allocated To User,Created At");
+        writer.write(header);
         writer.write(LINE_SEPARATOR);
 
         // Write data rows
-        for (Case caseEntity : cases) {
-            writer.write(escapeCsv(caseEntity.getCaseNumber()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(caseEntity.getExternalCaseId()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(caseEntity.getLoan().getPrimaryCustomer().getFullName()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(caseEntity.getLoan().getPrimaryCustomer().getMobileNumber()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(caseEntity.getLoan().getLoanAccountNumber()));
-            writer.write(CSV_DELIMITER);
-            writer.write(String.valueOf(caseEntity.getLoan().getTotalOutstanding()));
-            writer.write(CSV_DELIMITER);
-            writer.write(String.valueOf(caseEntity.getLoan().getDpd()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(caseEntity.getLoan().getBucket()));
-            writer.write(CSV_DELIMITER);
-            writer.write(escapeCsv(caseEntity.getCaseStatus()));
-            writer.write(CSV_DELIMITER);
-            writer.write(caseEntity.getAllocatedToUserId() != null ?
-                    String.valueOf(caseEntity.getAllocatedToUserId()) : "");
-            writer.write(CSV_DELIMITER);
-            writer.write(String.valueOf(caseEntity.getCreatedAt()));
-            writer.write(LINE_SEPARATOR);
+        long written = 0;
+        long lastId = 0L;
+        List<T> page = pageAfter.apply(lastId);
+        while (!page.isEmpty()) {
+            for (T row : page) {
+                rowWriter.write(writer, row);
+                writer.write(LINE_SEPARATOR);
+            }
+            written += page.size();
+            lastId = idOf.applyAsLong(page.get(page.size() - 1));
+            writer.flush();
+            page = pageAfter.apply(lastId);
         }
 
         writer.flush();
-        writer.close();
+        log.info("Exported {} rows to CSV", written);
+        return written;
+    }
 
-        return outputStream.toByteArray();
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(Writer writer, T row) throws IOException;
     }
 
     /**
@@ -8,11 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Utility for parsing CSV files for case uploads using OpenCSV
@@ -46,4 +49,41 @@ public class CsvParser {
             throw new BusinessException("Failed to parse CSV file: " + e.getMessage());
         }
     }
+
+    /**
+     * Stream a case upload CSV file and hand it over in chunks of at most
+     * chunkSize rows, so the whole file is never held in memory
+     *
+     * @return Total number of data rows
+     */
+    public int parseCaseCsvInChunks(Path filePath, int chunkSize, Consumer<List<CaseCsvRowDTO>> chunkConsumer) {
+        int rowNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+
+            CsvToBean<CaseCsvRowDTO> csvToBean = new CsvToBeanBuilder<CaseCsvRowDTO>(reader)
+                    .withType(CaseCsvRowDTO.class)
+                    .withIgnoreLeadingWhiteSpace(true)
+                    .build();
+
+            List<CaseCsvRowDTO> chunk = new ArrayList<>(chunkSize);
+            for (CaseCsvRowDTO row : csvToBean) {
+                row.setRowNumber(++rowNumber);
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+            }
+
+        } catch (IOException e) {
+            log.error("Error reading CSV file: {}", e.getMessage(), e);
+            throw new BusinessException("Failed to parse CSV file: " + e.getMessage());
+        }
+
+        log.info("Parsed {} rows from CSV in chunks of {}", rowNumber, chunkSize);
+        return rowNumber;
+    }
 }
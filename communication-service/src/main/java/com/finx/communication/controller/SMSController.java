@@ -2,6 +2,7 @@ package com.finx.communication.controller;
 
 import com.finx.common.dto.CommonResponse;
 import com.finx.common.util.ResponseWrapper;
+import com.finx.communication.domain.dto.bulk.BulkSendResponse;
 import com.finx.communication.domain.dto.sms.*;
 import com.finx.communication.service.communication.SMSService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,6 +35,15 @@ public class SMSController {
         return ResponseWrapper.ok("SMS sent successfully", response);
     }
 
+    @PostMapping("/send-bulk")
+    @Operation(summary = "Send Bulk SMS", description = "Send one template to many recipients in one provider call, with a status per recipient")
+    public ResponseEntity<CommonResponse<BulkSendResponse>> sendSmsBulk(@Valid @RequestBody SmsSendRequest request) {
+        log.info("Request to send bulk SMS to {} recipients", request.getRecipients().size());
+        BulkSendResponse response = smsService.sendSmsBulk(request);
+        return ResponseWrapper.ok("Bulk SMS processed: " + response.getSent() + " sent, " + response.getFailed()
+                + " failed", response);
+    }
+
     @PostMapping("/create-template")
     @Operation(summary = "Create SMS Template", description = "Create SMS template in Msg91")
     public ResponseEntity<CommonResponse<Map<String, Object>>> createTemplate(
@@ -2,6 +2,7 @@ package com.finx.communication.controller;
 
 import com.finx.common.dto.CommonResponse;
 import com.finx.common.util.ResponseWrapper;
+import com.finx.communication.domain.dto.bulk.BulkSendResponse;
 import com.finx.communication.domain.dto.whatsapp.*;
 import com.finx.communication.service.communication.WhatsAppService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +36,16 @@ public class WhatsAppController {
         return ResponseWrapper.ok("WhatsApp sent successfully", response);
     }
 
+    @PostMapping("/send-bulk")
+    @Operation(summary = "Send Bulk WhatsApp", description = "Send one template to many recipients in one provider call, with a status per recipient")
+    public ResponseEntity<CommonResponse<BulkSendResponse>> sendWhatsAppBulk(
+            @Valid @RequestBody WhatsAppBulkSendRequest request) {
+        log.info("Request to send bulk WhatsApp to {} recipients", request.getRecipients().size());
+        BulkSendResponse response = whatsAppService.sendWhatsAppBulk(request);
+        return ResponseWrapper.ok("Bulk WhatsApp processed: " + response.getSent() + " sent, "
+                + response.getFailed() + " failed", response);
+    }
+
     @PostMapping("/templates")
     @Operation(summary = "Create WhatsApp Template", description = "Create WhatsApp template in Msg91")
     public ResponseEntity<CommonResponse<Map<String, Object>>> createTemplate(
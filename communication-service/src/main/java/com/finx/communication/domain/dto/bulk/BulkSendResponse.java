@@ -0,0 +1,38 @@
+package com.finx.communication.domain.dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk send with the outcome of every recipient
+ * Recipients carry the caseId they were sent with, so callers can map
+ * the outcome back to their cases
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSendResponse {
+
+    private int totalRecipients;
+    private int sent;
+    private int failed;
+    private List<RecipientStatus> recipients;
+    private String providerResponse;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecipientStatus {
+        private Long caseId;
+        private String mobile;
+        private String messageId;
+        private String status; // SENT, FAILED
+        private String error;
+    }
+}
@@ -24,4 +24,9 @@ public class SmsRecipient {
      * Example: {"VAR1": "Naveen", "VAR2": "10000"}
      */
     private Map<String, Object> variables;
+
+    /**
+     * Case the message is sent for; overrides the request level caseId
+     */
+    private Long caseId;
 }
@@ -0,0 +1,36 @@
+package com.finx.communication.domain.dto.whatsapp;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * WhatsApp Bulk Send Request - one template, many recipients
+ * Each recipient has its own components and caseId; all of them go to
+ * Msg91 in one bulk call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatsAppBulkSendRequest {
+
+    @NotBlank(message = "Template ID is required")
+    private String templateId;
+
+    @NotEmpty(message = "At least one recipient is required")
+    private List<WhatsAppRecipient> recipients;
+
+    @Valid
+    private WhatsAppLanguage language;
+
+    // Optional tracking fields
+    private Long campaignId;
+    private Long userId;
+}
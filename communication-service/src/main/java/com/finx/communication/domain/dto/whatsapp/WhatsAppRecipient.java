@@ -24,4 +24,9 @@ public class WhatsAppRecipient {
      * Example: {"header_1": {"type": "image", "value": "url"}, "body_1": {"type": "text", "value": "John"}}
      */
     private Map<String, Map<String, String>> components;
+
+    /**
+     * Case the message is sent for
+     */
+    private Long caseId;
 }
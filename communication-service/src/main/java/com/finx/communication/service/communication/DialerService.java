@@ -9,6 +9,7 @@ import com.finx.common.model.ThirdPartyIntegrationMaster;
 import com.finx.communication.exception.ApiCallException;
 import com.finx.communication.exception.ConfigurationNotFoundException;
 import com.finx.communication.repository.DialerCallLogRepository;
+import com.finx.communication.service.cache.CaseTimelineCacheEvictor;
 import com.finx.common.util.EncryptionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ public class DialerService {
     private final DialerCallLogRepository dialerCallLogRepository;
     private final ObjectMapper objectMapper;
     private final EncryptionUtil encryptionUtil;
+    private final CaseTimelineCacheEvictor caseTimelineCacheEvictor;
 
     private static final String INTEGRATION_NAME = "OZONETEL_DIALER";
 
@@ -130,6 +132,7 @@ public class DialerService {
         }
 
         dialerCallLogRepository.save(callLog);
+        caseTimelineCacheEvictor.evict(callLog.getCaseId());
         return callId;
     }
 }
@@ -3,12 +3,15 @@ package com.finx.communication.service.communication;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finx.common.service.IntegrationCacheService;
+import com.finx.communication.domain.dto.bulk.BulkSendResponse;
 import com.finx.communication.domain.dto.sms.*;
 import com.finx.communication.domain.entity.SmsMessage;
 import com.finx.common.model.ThirdPartyIntegrationMaster;
 import com.finx.communication.exception.ApiCallException;
 import com.finx.communication.exception.ConfigurationNotFoundException;
 import com.finx.communication.repository.SmsMessageRepository;
+import com.finx.communication.service.cache.CaseTimelineCacheEvictor;
+import com.finx.communication.util.Msg91Responses;
 import com.finx.common.util.EncryptionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +39,7 @@ public class SMSService {
     private final SmsMessageRepository smsMessageRepository;
     private final ObjectMapper objectMapper;
     private final EncryptionUtil encryptionUtil;
+    private final CaseTimelineCacheEvictor caseTimelineCacheEvictor;
 
     private static final String INTEGRATION_NAME = "MSG91_SMS";
     private static final String AUTH_KEY = "authkey";
@@ -43,6 +47,11 @@ public class SMSService {
     private static final String ACCEPT = "accept";
     private static final String RAW_RESPONSE = "raw_response";
 
+    /**
+     * Recipients accepted in one bulk send; Msg91 flow takes this many per call
+     */
+    public static final int MAX_BULK_RECIPIENTS = 1000;
+
     /**
      * Send SMS with dynamic variables
      * Supports multiple recipients with different variable values
@@ -54,7 +63,7 @@ public class SMSService {
         ThirdPartyIntegrationMaster config = getIntegrationConfig();
 
         // 2. Build request body with dynamic variables
-        Map<String, Object> requestBody = buildSmsRequestBody(request);
+        Map<String, Object> requestBody = buildSmsRequestBody(request, request.getRecipients());
 
         // 3. Build URL
         String url = config.getApiEndpoint() + "/api/v5/flow";
@@ -74,6 +83,91 @@ public class SMSService {
                 .build();
     }
 
+    /**
+     * Send one template to many recipients in a single Msg91 flow call
+     * Recipients without a mobile number are rejected individually; a failed
+     * provider call fails the whole batch. Every recipient gets a status with
+     * its caseId and a message row is saved for it either way.
+     */
+    public BulkSendResponse sendSmsBulk(SmsSendRequest request) {
+        List<SmsRecipient> recipients = request.getRecipients();
+        if (recipients.size() > MAX_BULK_RECIPIENTS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_RECIPIENTS + " recipients per bulk SMS, got "
+                    + recipients.size());
+        }
+        log.info("Sending bulk SMS with template {} to {} recipients", request.getTemplateId(), recipients.size());
+
+        List<SmsRecipient> reachable = new ArrayList<>(recipients.size());
+        for (SmsRecipient recipient : recipients) {
+            if (recipient.getMobile() != null && !recipient.getMobile().isBlank()) {
+                reachable.add(recipient);
+            }
+        }
+
+        String response = null;
+        String batchError = null;
+        if (!reachable.isEmpty()) {
+            try {
+                ThirdPartyIntegrationMaster config = getIntegrationConfig();
+                response = callMsg91Api(config.getApiEndpoint() + "/api/v5/flow",
+                        buildSmsRequestBody(request, reachable), config);
+                batchError = Msg91Responses.errorOf(objectMapper, response);
+            } catch (ApiCallException | ConfigurationNotFoundException e) {
+                batchError = e.getMessage();
+                log.error("Bulk SMS to {} recipients failed: {}", reachable.size(), e.getMessage());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SmsMessage> messages = new ArrayList<>(recipients.size());
+        List<BulkSendResponse.RecipientStatus> statuses = new ArrayList<>(recipients.size());
+        int sent = 0;
+        for (SmsRecipient recipient : recipients) {
+            boolean hasMobile = recipient.getMobile() != null && !recipient.getMobile().isBlank();
+            String error = !hasMobile ? "Mobile number is required" : batchError;
+            String messageId = UUID.randomUUID().toString();
+            Long caseId = recipient.getCaseId() != null ? recipient.getCaseId() : request.getCaseId();
+
+            if (hasMobile) {
+                messages.add(SmsMessage.builder()
+                        .messageId(messageId)
+                        .mobile(recipient.getMobile())
+                        .templateCode(request.getTemplateId())
+                        .messageContent("SMS with template: " + request.getTemplateId())
+                        .provider("MSG91")
+                        .status(error == null ? "SENT" : "FAILED")
+                        .campaignId(request.getCampaignId())
+                        .caseId(caseId)
+                        .userId(request.getUserId())
+                        .providerResponse(response)
+                        .sentAt(error == null ? now : null)
+                        .failedAt(error == null ? null : now)
+                        .failureReason(error)
+                        .build());
+            }
+            if (error == null) {
+                sent++;
+            }
+            statuses.add(BulkSendResponse.RecipientStatus.builder()
+                    .caseId(caseId)
+                    .mobile(recipient.getMobile())
+                    .messageId(hasMobile ? messageId : null)
+                    .status(error == null ? "SENT" : "FAILED")
+                    .error(error)
+                    .build());
+        }
+        smsMessageRepository.saveAll(messages);
+        caseTimelineCacheEvictor.evictAll(messages.stream().map(SmsMessage::getCaseId).toList());
+
+        return BulkSendResponse.builder()
+                .totalRecipients(recipients.size())
+                .sent(sent)
+                .failed(recipients.size() - sent)
+                .recipients(statuses)
+                .providerResponse(response)
+                .build();
+    }
+
     /**
      * Create SMS template
      */
@@ -312,7 +406,7 @@ public class SMSService {
     /**
      * Build SMS request body with dynamic variables for each recipient
      */
-    private Map<String, Object> buildSmsRequestBody(SmsSendRequest request) {
+    private Map<String, Object> buildSmsRequestBody(SmsSendRequest request, List<SmsRecipient> recipients) {
         Map<String, Object> body = new HashMap<>();
 
         body.put("template_id", request.getTemplateId());
@@ -331,7 +425,7 @@ public class SMSService {
 
         // Build recipients array with dynamic variables
         List<Map<String, Object>> recipientsList = new ArrayList<>();
-        for (SmsRecipient recipient : request.getRecipients()) {
+        for (SmsRecipient recipient : recipients) {
             Map<String, Object> recipientData = new HashMap<>();
             recipientData.put("mobiles", recipient.getMobile());
 
@@ -383,13 +477,14 @@ public class SMSService {
                     .provider("MSG91")
                     .status("SENT")
                     .campaignId(request.getCampaignId())
-                    .caseId(request.getCaseId())
+                    .caseId(recipient.getCaseId() != null ? recipient.getCaseId() : request.getCaseId())
                     .userId(request.getUserId())
                     .providerResponse(response)
                     .sentAt(LocalDateTime.now())
                     .build();
 
             smsMessageRepository.save(smsMessage);
+            caseTimelineCacheEvictor.evict(smsMessage.getCaseId());
         }
 
         return messageIds;
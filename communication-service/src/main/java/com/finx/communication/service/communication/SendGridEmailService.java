@@ -7,6 +7,7 @@ import com.finx.common.model.ThirdPartyIntegrationMaster;
 import com.finx.common.exception.ApiCallException;
 import com.finx.common.exception.ConfigurationNotFoundException;
 import com.finx.communication.repository.EmailMessageRepository;
+import com.finx.communication.service.cache.CaseTimelineCacheEvictor;
 import com.finx.communication.util.TemplateVariableReplacer;
 import com.sendgrid.*;
 import com.sendgrid.helpers.mail.Mail;
@@ -35,6 +36,7 @@ public class SendGridEmailService {
 
     private final IntegrationCacheService integrationCacheService;
     private final EmailMessageRepository emailMessageRepository;
+    private final CaseTimelineCacheEvictor caseTimelineCacheEvictor;
 
     private static final String INTEGRATION_NAME = "SENDGRID_EMAIL";
     private static final String DEFAULT_FROM_EMAIL = "noreply@finxbridge.com";
@@ -209,6 +211,7 @@ public class SendGridEmailService {
                     .build();
 
             emailMessageRepository.save(emailMessage);
+            caseTimelineCacheEvictor.evict(emailMessage.getCaseId());
             log.info("Successfully saved email message with ID: {} (async)", messageId);
         } catch (Exception e) {
             log.error("Failed to save email message to database (async): {}", messageId, e);
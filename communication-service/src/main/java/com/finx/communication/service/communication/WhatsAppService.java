@@ -3,12 +3,15 @@ package com.finx.communication.service.communication;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finx.common.service.IntegrationCacheService;
+import com.finx.communication.domain.dto.bulk.BulkSendResponse;
 import com.finx.communication.domain.dto.whatsapp.*;
 import com.finx.common.model.ThirdPartyIntegrationMaster;
 import com.finx.communication.domain.entity.WhatsAppMessage;
 import com.finx.communication.exception.ApiCallException;
 import com.finx.communication.exception.ConfigurationNotFoundException;
 import com.finx.communication.repository.WhatsAppMessageRepository;
+import com.finx.communication.service.cache.CaseTimelineCacheEvictor;
+import com.finx.communication.util.Msg91Responses;
 import com.finx.common.util.EncryptionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,9 +37,15 @@ public class WhatsAppService {
     private final WhatsAppMessageRepository whatsAppMessageRepository;
     private final ObjectMapper objectMapper;
     private final EncryptionUtil encryptionUtil;
+    private final CaseTimelineCacheEvictor caseTimelineCacheEvictor;
 
     private static final String INTEGRATION_NAME = "MSG91_WHATSAPP";
 
+    /**
+     * Recipients accepted in one bulk send
+     */
+    public static final int MAX_BULK_RECIPIENTS = 1000;
+
     /**
      * Send WhatsApp message with dynamic components
      */
@@ -47,7 +56,13 @@ public class WhatsAppService {
         ThirdPartyIntegrationMaster config = getIntegrationConfig();
 
         // 2. Build request body with dynamic components (transforms to Msg91 format)
-        Map<String, Object> requestBody = buildWhatsAppRequestBody(request, config);
+        Map<String, Object> recipientData = new HashMap<>();
+        recipientData.put("to", request.getTo());
+        if (request.getComponents() != null && !request.getComponents().isEmpty()) {
+            recipientData.put("components", request.getComponents());
+        }
+        Map<String, Object> requestBody = buildWhatsAppRequestBody(request.getTemplateId(), request.getLanguage(),
+                List.of(recipientData), config);
 
         // 3. Build URL
         String url = config.getApiEndpoint() + "/api/v5/whatsapp/whatsapp-outbound-message/bulk/";
@@ -67,6 +82,105 @@ public class WhatsAppService {
                 .build();
     }
 
+    /**
+     * Send one template to many recipients, each with its own components, in
+     * a single Msg91 bulk call
+     * Recipients without a number are rejected individually; a failed
+     * provider call fails the whole batch. Every recipient gets a status with
+     * its caseId.
+     */
+    public BulkSendResponse sendWhatsAppBulk(WhatsAppBulkSendRequest request) {
+        List<WhatsAppRecipient> recipients = request.getRecipients();
+        if (recipients.size() > MAX_BULK_RECIPIENTS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_RECIPIENTS
+                    + " recipients per bulk WhatsApp, got " + recipients.size());
+        }
+        log.info("Sending bulk WhatsApp with template {} to {} recipients", request.getTemplateId(),
+                recipients.size());
+
+        List<Map<String, Object>> toAndComponents = new ArrayList<>(recipients.size());
+        for (WhatsAppRecipient recipient : recipients) {
+            List<String> numbers = numbersOf(recipient);
+            if (!numbers.isEmpty()) {
+                Map<String, Object> recipientData = new HashMap<>();
+                recipientData.put("to", numbers);
+                if (recipient.getComponents() != null && !recipient.getComponents().isEmpty()) {
+                    recipientData.put("components", recipient.getComponents());
+                }
+                toAndComponents.add(recipientData);
+            }
+        }
+
+        String response = null;
+        String batchError = null;
+        if (!toAndComponents.isEmpty()) {
+            try {
+                ThirdPartyIntegrationMaster config = getIntegrationConfig();
+                Map<String, Object> requestBody = buildWhatsAppRequestBody(request.getTemplateId(),
+                        request.getLanguage(), toAndComponents, config);
+                response = callMsg91Api(config.getApiEndpoint()
+                        + "/api/v5/whatsapp/whatsapp-outbound-message/bulk/", requestBody, config);
+                batchError = Msg91Responses.errorOf(objectMapper, response);
+            } catch (ApiCallException | ConfigurationNotFoundException e) {
+                batchError = e.getMessage();
+                log.error("Bulk WhatsApp to {} recipients failed: {}", toAndComponents.size(), e.getMessage());
+            }
+        }
+
+        String languageCode = request.getLanguage() != null ? request.getLanguage().getCode() : "en";
+        LocalDateTime now = LocalDateTime.now();
+        List<WhatsAppMessage> messages = new ArrayList<>();
+        List<BulkSendResponse.RecipientStatus> statuses = new ArrayList<>(recipients.size());
+        int sent = 0;
+        for (WhatsAppRecipient recipient : recipients) {
+            List<String> numbers = numbersOf(recipient);
+            String error = numbers.isEmpty() ? "Mobile number is required" : batchError;
+            String firstMessageId = null;
+
+            for (String mobile : numbers) {
+                String messageId = UUID.randomUUID().toString();
+                if (firstMessageId == null) {
+                    firstMessageId = messageId;
+                }
+                messages.add(WhatsAppMessage.builder()
+                        .messageId(messageId)
+                        .mobile(mobile)
+                        .templateName(request.getTemplateId())
+                        .language(languageCode)
+                        .provider("MSG91")
+                        .status(error == null ? "SENT" : "FAILED")
+                        .campaignId(request.getCampaignId())
+                        .caseId(recipient.getCaseId())
+                        .userId(request.getUserId())
+                        .providerResponse(response)
+                        .sentAt(error == null ? now : null)
+                        .failedAt(error == null ? null : now)
+                        .failureReason(error)
+                        .build());
+            }
+            if (error == null) {
+                sent++;
+            }
+            statuses.add(BulkSendResponse.RecipientStatus.builder()
+                    .caseId(recipient.getCaseId())
+                    .mobile(numbers.isEmpty() ? null : String.join(",", numbers))
+                    .messageId(firstMessageId)
+                    .status(error == null ? "SENT" : "FAILED")
+                    .error(error)
+                    .build());
+        }
+        whatsAppMessageRepository.saveAll(messages);
+        caseTimelineCacheEvictor.evictAll(messages.stream().map(WhatsAppMessage::getCaseId).toList());
+
+        return BulkSendResponse.builder()
+                .totalRecipients(recipients.size())
+                .sent(sent)
+                .failed(recipients.size() - sent)
+                .recipients(statuses)
+                .providerResponse(response)
+                .build();
+    }
+
     /**
      * Create WhatsApp template
      */
@@ -111,7 +225,8 @@ public class WhatsAppService {
      * Build WhatsApp request body - transforms user input to Msg91 API format
      * Loads namespace and integrated_number from database config
      */
-    private Map<String, Object> buildWhatsAppRequestBody(WhatsAppSendRequest request, ThirdPartyIntegrationMaster config) {
+    private Map<String, Object> buildWhatsAppRequestBody(String templateId, WhatsAppLanguage requestLanguage,
+            List<Map<String, Object>> toAndComponents, ThirdPartyIntegrationMaster config) {
         // Extract configuration from config_json
         String namespace = config.getConfigValueAsString("namespace");
         String integratedNumber = config.getConfigValueAsString("integrated_number");
@@ -132,13 +247,13 @@ public class WhatsAppService {
 
         // Build template (order matches Msg91 API curl exactly)
         Map<String, Object> template = new LinkedHashMap<>();
-        template.put("name", request.getTemplateId());
+        template.put("name", templateId);
 
         // Language
         Map<String, String> language = new LinkedHashMap<>();
-        if (request.getLanguage() != null) {
-            language.put("code", request.getLanguage().getCode());
-            language.put("policy", request.getLanguage().getPolicy());
+        if (requestLanguage != null) {
+            language.put("code", requestLanguage.getCode());
+            language.put("policy", requestLanguage.getPolicy());
         } else {
             // Default language
             language.put("code", "en");
@@ -149,18 +264,7 @@ public class WhatsAppService {
         // Namespace (after language to match curl order)
         template.put("namespace", namespace);
 
-        // Build to_and_components array (single element from simplified input)
-        List<Map<String, Object>> toAndComponents = new ArrayList<>();
-        Map<String, Object> recipientData = new HashMap<>();
-        recipientData.put("to", request.getTo());
-
-        // Add dynamic components if present
-        if (request.getComponents() != null && !request.getComponents().isEmpty()) {
-            recipientData.put("components", request.getComponents());
-        }
-
-        toAndComponents.add(recipientData);
-
+        // to_and_components: one entry per recipient with its own components
         template.put("to_and_components", toAndComponents);
         payload.put("template", template);
         body.put("payload", payload);
@@ -169,6 +273,16 @@ public class WhatsAppService {
         return body;
     }
 
+    /**
+     * The recipient's non-blank numbers; only these are sent and stored
+     */
+    private static List<String> numbersOf(WhatsAppRecipient recipient) {
+        if (recipient.getTo() == null) {
+            return List.of();
+        }
+        return recipient.getTo().stream().filter(to -> to != null && !to.isBlank()).toList();
+    }
+
     @SuppressWarnings("null")
     private String callMsg91Api(String url, Map<String, Object> body, ThirdPartyIntegrationMaster config) {
         try {
@@ -216,6 +330,7 @@ public class WhatsAppService {
                     .build();
 
             whatsAppMessageRepository.save(whatsAppMessage);
+            caseTimelineCacheEvictor.evict(whatsAppMessage.getCaseId());
         }
 
         return messageIds;
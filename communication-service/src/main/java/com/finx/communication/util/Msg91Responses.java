@@ -0,0 +1,37 @@
+package com.finx.communication.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Msg91 reports some failures with HTTP 200 and a body like
+ * {"type": "error", "message": ...}; bulk senders check the body with this
+ */
+@Slf4j
+public final class Msg91Responses {
+
+    private Msg91Responses() {
+    }
+
+    /**
+     * Error message of a Msg91 response that reports failure, or null when it was accepted
+     */
+    public static String errorOf(ObjectMapper objectMapper, String response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            Map<String, Object> parsed = objectMapper.readValue(response, new TypeReference<Map<String, Object>>() {
+            });
+            if ("error".equalsIgnoreCase(String.valueOf(parsed.get("type")))) {
+                return "Msg91 rejected the request: " + parsed.get("message");
+            }
+        } catch (Exception e) {
+            log.debug("Msg91 response is not JSON, treating it as accepted: {}", response);
+        }
+        return null;
+    }
+}
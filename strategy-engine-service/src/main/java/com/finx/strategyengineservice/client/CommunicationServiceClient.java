@@ -1,7 +1,9 @@
 package com.finx.strategyengineservice.client;
 
+import com.finx.strategyengineservice.client.dto.BulkSendResponse;
 import com.finx.strategyengineservice.client.dto.EmailRequest;
 import com.finx.strategyengineservice.client.dto.SMSRequest;
+import com.finx.strategyengineservice.client.dto.WhatsAppBulkRequest;
 import com.finx.strategyengineservice.client.dto.WhatsAppRequest;
 import com.finx.strategyengineservice.domain.dto.CommonResponse;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -27,6 +29,15 @@ public interface CommunicationServiceClient {
     @PostMapping("/comm/sms/send")
     CommonResponse<Void> sendSMS(@RequestBody SMSRequest request);
 
+    /**
+     * Send one SMS template to many recipients in one Msg91 call
+     *
+     * @param request SMS request whose recipients carry their caseId
+     * @return CommonResponse with the status of every recipient
+     */
+    @PostMapping("/comm/sms/send-bulk")
+    CommonResponse<BulkSendResponse> sendBulkSMS(@RequestBody SMSRequest request);
+
     /**
      * Send Email via Msg91
      *
@@ -44,4 +55,13 @@ public interface CommunicationServiceClient {
      */
     @PostMapping("/comm/whatsapp/send")
     CommonResponse<Void> sendWhatsApp(@RequestBody WhatsAppRequest request);
+
+    /**
+     * Send one WhatsApp template to many recipients in one Msg91 call
+     *
+     * @param request WhatsApp bulk request with per-recipient components and caseId
+     * @return CommonResponse with the status of every recipient
+     */
+    @PostMapping("/comm/whatsapp/send-bulk")
+    CommonResponse<BulkSendResponse> sendBulkWhatsApp(@RequestBody WhatsAppBulkRequest request);
 }
@@ -0,0 +1,37 @@
+package com.finx.strategyengineservice.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk send result from communication-service, one status per recipient
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkSendResponse {
+    private int totalRecipients;
+    private int sent;
+    private int failed;
+    private List<RecipientStatus> recipients;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class RecipientStatus {
+        private Long caseId;
+        private String mobile;
+        private String messageId;
+        private String status; // SENT, FAILED
+        private String error;
+    }
+}
@@ -37,5 +37,6 @@ public class SMSRequest {
     public static class SmsRecipient {
         private String mobile;
         private java.util.Map<String, Object> variables; // VAR1, VAR2, etc.
+        private Long caseId; // Set on bulk sends to map the recipient status back
     }
 }
@@ -0,0 +1,40 @@
+package com.finx.strategyengineservice.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WhatsApp Bulk Request DTO for communication-service
+ * Aligned with communication-service WhatsAppBulkSendRequest format
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatsAppBulkRequest {
+    private String templateId;
+    private List<WhatsAppRecipient> recipients;
+    private WhatsAppRequest.WhatsAppLanguage language;
+
+    // Tracking fields
+    private Long campaignId;
+    private Long userId;
+
+    /**
+     * WhatsApp recipient with its own components
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WhatsAppRecipient {
+        private List<String> to;
+        private Map<String, Map<String, String>> components;
+        private Long caseId;
+    }
+}
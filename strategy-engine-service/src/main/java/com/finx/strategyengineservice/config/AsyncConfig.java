@@ -7,6 +7,8 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Configuration for asynchronous processing
@@ -31,4 +33,14 @@ public class AsyncConfig {
 
         return executor;
     }
+
+    /**
+     * One virtual thread per dispatched strategy action; concurrency is
+     * bounded by ActionDispatcher, not by this executor
+     */
+    @Bean(name = "strategyActionExecutor", destroyMethod = "close")
+    public ExecutorService strategyActionExecutor() {
+        log.info("Creating virtual thread executor for strategy actions");
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("strategy-action-", 0).factory());
+    }
 }
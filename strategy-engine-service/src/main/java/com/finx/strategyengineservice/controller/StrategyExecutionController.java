@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -57,11 +58,15 @@ public class StrategyExecutionController {
     }
 
     @GetMapping("/executions/{executionId}/details")
-    @Operation(summary = "Get detailed run info", description = "Get detailed run information including error logs")
+    @Operation(summary = "Get detailed run info", description = "Get the per case and action results of a run, paged and optionally filtered by status (SUCCESS, FAILED)")
     public ResponseEntity<CommonResponse<ExecutionRunDetailsDTO>> getExecutionRunDetails(
-            @PathVariable String executionId) {
+            @PathVariable String executionId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("GET /api/v1/strategies/executions/{}/details - Get execution run details", executionId);
-        ExecutionRunDetailsDTO execution = executionService.getExecutionRunDetails(executionId);
+        ExecutionRunDetailsDTO execution = executionService.getExecutionRunDetails(executionId, status,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
         return ResponseEntity.ok(CommonResponse.success("Strategy execution details retrieved successfully.", execution));
     }
 }
@@ -0,0 +1,27 @@
+package com.finx.strategyengineservice.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExecutionCaseResultDTO {
+
+    private Long caseId;
+
+    private String actionType;
+
+    private String status;
+
+    private String error;
+
+    private LocalDateTime executedAt;
+}
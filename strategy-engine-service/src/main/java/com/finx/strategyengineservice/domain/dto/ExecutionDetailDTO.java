@@ -8,7 +8,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
@@ -31,7 +30,7 @@ public class ExecutionDetailDTO {
 
     private Integer failedActions;
 
-    private List<Map<String, Object>> errors;
+    private List<ExecutionCaseResultDTO> errors;
 
     private LocalDateTime startedAt;
 
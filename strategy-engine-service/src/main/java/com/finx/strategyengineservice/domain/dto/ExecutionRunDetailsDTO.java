@@ -7,7 +7,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
@@ -18,5 +17,13 @@ public class ExecutionRunDetailsDTO {
 
     private String executionId;
 
-    private List<Map<String, Object>> details;
+    private List<ExecutionCaseResultDTO> details;
+
+    private Integer page;
+
+    private Integer size;
+
+    private Long totalElements;
+
+    private Integer totalPages;
 }
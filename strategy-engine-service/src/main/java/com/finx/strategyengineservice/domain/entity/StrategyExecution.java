@@ -11,7 +11,6 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 
 @Entity
@@ -74,10 +73,6 @@ public class StrategyExecution {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "execution_log", columnDefinition = "jsonb")
-    private List<Map<String, Object>> executionLog;
-
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "execution_metadata", columnDefinition = "jsonb")
     private Map<String, Object> executionMetadata;
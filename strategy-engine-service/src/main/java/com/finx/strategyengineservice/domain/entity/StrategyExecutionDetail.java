@@ -0,0 +1,51 @@
+package com.finx.strategyengineservice.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Result of one action on one case in a strategy execution
+ * Rows are inserted in batches by ExecutionLedgerWriter and only read here
+ */
+@Entity
+@Table(name = "strategy_execution_details")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StrategyExecutionDetail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "execution_id", nullable = false, length = 100)
+    private String executionId;
+
+    @Column(name = "case_id")
+    private Long caseId;
+
+    @Column(name = "action_type", length = 50)
+    private String actionType;
+
+    @Column(name = "action_status", length = 20)
+    private String actionStatus; // SUCCESS, FAILED
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "action_metadata", columnDefinition = "jsonb")
+    private Map<String, Object> actionMetadata;
+
+    @Column(name = "executed_at")
+    private LocalDateTime executedAt;
+}
@@ -1,13 +1,17 @@
 package com.finx.strategyengineservice.repository;
 
 import com.finx.strategyengineservice.domain.entity.Case;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,11 +41,13 @@ public interface CaseRepository extends JpaRepository<Case, Long>, JpaSpecificat
        List<Case> findAllocatedCasesByUser(@Param("userId") Long userId);
 
        /**
-        * Find allocated cases with loan details
-        * Eager fetch loan details to avoid N+1 queries
+        * Load one chunk of cases with loan and primary customer in a single query
+        * Read-only: the entities are only used to build messages
         */
-       @Query("SELECT c FROM Case c JOIN FETCH c.loan l WHERE c.caseStatus = 'ALLOCATED'")
-       List<Case> findAllAllocatedCasesWithLoan();
+       @Query("SELECT c FROM Case c JOIN FETCH c.loan l LEFT JOIN FETCH l.primaryCustomer " +
+                     "WHERE c.id IN :ids ORDER BY c.id")
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+       List<Case> findAllWithLoanAndCustomerByIdIn(@Param("ids") Collection<Long> ids);
 
        /**
         * Find allocated cases by geography
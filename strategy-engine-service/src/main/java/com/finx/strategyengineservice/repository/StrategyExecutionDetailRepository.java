@@ -0,0 +1,21 @@
+package com.finx.strategyengineservice.repository;
+
+import com.finx.strategyengineservice.domain.entity.StrategyExecutionDetail;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StrategyExecutionDetailRepository extends JpaRepository<StrategyExecutionDetail, Long> {
+
+    Page<StrategyExecutionDetail> findByExecutionIdOrderByIdAsc(String executionId, Pageable pageable);
+
+    Page<StrategyExecutionDetail> findByExecutionIdAndActionStatusOrderByIdAsc(String executionId,
+            String actionStatus, Pageable pageable);
+
+    List<StrategyExecutionDetail> findTop20ByExecutionIdAndActionStatusOrderByIdAsc(String executionId,
+            String actionStatus);
+}
@@ -5,8 +5,10 @@ import com.finx.strategyengineservice.domain.enums.ExecutionStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,4 +35,13 @@ public interface StrategyExecutionRepository extends JpaRepository<StrategyExecu
     @Query("SELECT COUNT(se) FROM StrategyExecution se WHERE se.strategyId = :strategyId " +
            "AND se.startedAt >= :startDate AND se.startedAt <= :endDate")
     long countExecutionsInDateRange(Long strategyId, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Checkpoint the counters of a running execution after each chunk
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE StrategyExecution se SET se.recordsProcessed = :processed, se.successfulActions = :successful, " +
+           "se.failedActions = :failed, se.recordsFailed = :failed, se.updatedAt = :now WHERE se.id = :id")
+    int updateProgress(Long id, int processed, int successful, int failed, LocalDateTime now);
 }
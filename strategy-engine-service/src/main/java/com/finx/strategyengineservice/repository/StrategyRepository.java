@@ -3,9 +3,12 @@ package com.finx.strategyengineservice.repository;
 import com.finx.strategyengineservice.domain.entity.Strategy;
 import com.finx.strategyengineservice.domain.enums.StrategyStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +32,14 @@ public interface StrategyRepository extends JpaRepository<Strategy, Long> {
     Optional<Strategy> findByStrategyName(String strategyName);
 
     Optional<Strategy> findByStrategyCode(String strategyCode);
+
+    /**
+     * Add the action results of a finished execution to the strategy totals
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Strategy s SET s.lastRunAt = :now, " +
+           "s.successCount = COALESCE(s.successCount, 0) + :successCount, " +
+           "s.failureCount = COALESCE(s.failureCount, 0) + :failureCount WHERE s.id = :id")
+    int addRunResults(Long id, int successCount, int failureCount, LocalDateTime now);
 }
@@ -1,6 +1,5 @@
 package com.finx.strategyengineservice.service;
 
-import com.finx.strategyengineservice.domain.entity.Case;
 import com.finx.strategyengineservice.domain.entity.StrategyRule;
 
 import java.util.List;
@@ -12,12 +11,15 @@ import java.util.List;
 public interface CaseFilterService {
 
     /**
-     * Filter allocated cases based on strategy rules
+     * Next chunk of IDs of allocated cases matching the rules, in ascending order
+     * Without rules every allocated case matches
      *
-     * @param rules List of strategy rules to apply
-     * @return List of cases matching all rules (AND logic)
+     * @param rules       List of strategy rules to apply
+     * @param afterCaseId Last case ID of the previous chunk (0 for the first chunk)
+     * @param limit       Maximum number of IDs returned
+     * @return Matching case IDs greater than afterCaseId
      */
-    List<Case> filterCasesByRules(List<StrategyRule> rules);
+    List<Long> findMatchingCaseIds(List<StrategyRule> rules, Long afterCaseId, int limit);
 
     /**
      * Count cases that match strategy rules (for simulation)
@@ -26,12 +28,4 @@ public interface CaseFilterService {
      * @return Number of cases that would be affected
      */
     Long countCasesByRules(List<StrategyRule> rules);
-
-    /**
-     * Filter cases by single rule (used for testing)
-     *
-     * @param rule Strategy rule to apply
-     * @return List of cases matching the rule
-     */
-    List<Case> filterCasesByRule(StrategyRule rule);
 }
@@ -4,6 +4,7 @@ import com.finx.strategyengineservice.domain.dto.ExecutionDTO;
 import com.finx.strategyengineservice.domain.dto.ExecutionDetailDTO;
 import com.finx.strategyengineservice.domain.dto.ExecutionInitiatedDTO;
 import com.finx.strategyengineservice.domain.dto.ExecutionRunDetailsDTO;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -15,5 +16,5 @@ public interface StrategyExecutionService {
 
     ExecutionDetailDTO getExecutionDetails(String executionId);
 
-    ExecutionRunDetailsDTO getExecutionRunDetails(String executionId);
+    ExecutionRunDetailsDTO getExecutionRunDetails(String executionId, String status, Pageable pageable);
 }
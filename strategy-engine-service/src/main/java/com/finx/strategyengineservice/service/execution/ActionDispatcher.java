@@ -0,0 +1,228 @@
+package com.finx.strategyengineservice.service.execution;
+
+import com.finx.strategyengineservice.client.dto.BulkSendResponse;
+import com.finx.strategyengineservice.client.dto.SMSRequest;
+import com.finx.strategyengineservice.client.dto.WhatsAppBulkRequest;
+import com.finx.strategyengineservice.domain.entity.Case;
+import com.finx.strategyengineservice.domain.entity.StrategyAction;
+import com.finx.strategyengineservice.domain.enums.ActionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the actions of a strategy execution concurrently
+ *
+ * SMS and WhatsApp actions are grouped into batches of batch-size cases that
+ * go out as one bulk call, with the per-recipient status mapped back to the
+ * cases; every other case × action is a task of its own. Tasks run on the
+ * "strategyActionExecutor" virtual threads. A semaphore caps the tasks in
+ * flight; the submitting thread blocks until a slot frees up, so a chunk
+ * never queues more than the limit. Before calling the provider a task takes
+ * its tokens from the channel's bucket in ChannelRateLimiter. Outcomes are
+ * summed in LongAdders and every case × action result is buffered for the
+ * execution ledger, which is written when the chunk has been awaited.
+ */
+@Slf4j
+@Component
+public class ActionDispatcher {
+
+    /**
+     * Action types sent through the bulk endpoints of communication-service
+     */
+    private static final Set<ActionType> BATCHED_ACTIONS = Set.of(ActionType.SEND_SMS, ActionType.SEND_WHATSAPP);
+
+    /**
+     * Recipients communication-service accepts in one bulk send
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final StrategyActionExecutor actionExecutor;
+    private final ChannelRateLimiter rateLimiter;
+    private final ExecutionLedgerWriter ledgerWriter;
+    private final ExecutorService strategyActionExecutor;
+
+    @Value("${strategy-engine.dispatch.concurrency:32}")
+    private int concurrency;
+
+    /**
+     * Cases per bulk SMS / WhatsApp call; 1 sends every message on its own
+     */
+    @Value("${strategy-engine.dispatch.batch-size:200}")
+    private int batchSize;
+
+    public ActionDispatcher(StrategyActionExecutor actionExecutor, ChannelRateLimiter rateLimiter,
+            ExecutionLedgerWriter ledgerWriter,
+            @Qualifier("strategyActionExecutor") ExecutorService strategyActionExecutor) {
+        this.actionExecutor = actionExecutor;
+        this.rateLimiter = rateLimiter;
+        this.ledgerWriter = ledgerWriter;
+        this.strategyActionExecutor = strategyActionExecutor;
+    }
+
+    /**
+     * Start dispatching an execution; the actions are prepared (templates
+     * fetched, variable paths compiled) once here for the whole run
+     */
+    public Run start(String executionId, List<StrategyAction> actions) {
+        List<PreparedAction> prepared = actions.stream().map(actionExecutor::prepare).toList();
+        return new Run(executionId, prepared, new Semaphore(Math.max(1, concurrency)),
+                ledgerWriter.open(executionId));
+    }
+
+    /**
+     * Dispatch state of one execution; submit actions, await them per chunk
+     * and read the totals at the end
+     */
+    public class Run {
+        private final String executionId;
+        private final List<PreparedAction> actions;
+        private final Semaphore inFlight;
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final ExecutionLedgerWriter.Buffer ledger;
+        private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        private Run(String executionId, List<PreparedAction> actions, Semaphore inFlight,
+                ExecutionLedgerWriter.Buffer ledger) {
+            this.executionId = executionId;
+            this.actions = actions;
+            this.inFlight = inFlight;
+            this.ledger = ledger;
+        }
+
+        /**
+         * Submit every action of the strategy for a chunk of cases
+         */
+        public void submitChunk(List<Case> cases) {
+            int size = Math.min(Math.max(1, batchSize), MAX_BATCH_SIZE);
+            for (PreparedAction action : actions) {
+                if (size > 1 && BATCHED_ACTIONS.contains(action.action().getActionType())) {
+                    for (int from = 0; from < cases.size(); from += size) {
+                        List<Case> batch = cases.subList(from, Math.min(from + size, cases.size()));
+                        submitTask(() -> executeBatch(batch, action));
+                    }
+                } else {
+                    for (Case caseEntity : cases) {
+                        submitTask(() -> execute(caseEntity, action));
+                    }
+                }
+            }
+        }
+
+        private void submitTask(Runnable task) {
+            inFlight.acquireUninterruptibly();
+            try {
+                pending.add(CompletableFuture
+                        .runAsync(task, strategyActionExecutor)
+                        .whenComplete((result, error) -> inFlight.release()));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        /**
+         * Wait for every action submitted since the last call and write
+         * their results to the ledger
+         */
+        public void awaitPending() {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+            pending.clear();
+            ledger.flush();
+        }
+
+        public int successCount() {
+            return succeeded.intValue();
+        }
+
+        public int failureCount() {
+            return failed.intValue();
+        }
+
+        private void execute(Case caseEntity, PreparedAction prepared) {
+            try {
+                rateLimiter.acquire(prepared.action().getActionType());
+                actionExecutor.executeAction(caseEntity, prepared);
+                succeed(caseEntity, prepared.action());
+            } catch (Exception e) {
+                fail(caseEntity, prepared.action(), e.getMessage());
+            }
+        }
+
+        /**
+         * Build the recipients of a batch, send them in one bulk call and
+         * count every case by the status returned for it
+         */
+        private void executeBatch(List<Case> batch, PreparedAction prepared) {
+            StrategyAction action = prepared.action();
+            Map<Long, Case> byId = new HashMap<>();
+            List<SMSRequest.SmsRecipient> smsRecipients = new ArrayList<>();
+            List<WhatsAppBulkRequest.WhatsAppRecipient> whatsAppRecipients = new ArrayList<>();
+            for (Case caseEntity : batch) {
+                try {
+                    if (action.getActionType() == ActionType.SEND_SMS) {
+                        smsRecipients.add(actionExecutor.smsRecipient(caseEntity, prepared));
+                    } else {
+                        whatsAppRecipients.add(actionExecutor.whatsAppRecipient(caseEntity, prepared));
+                    }
+                    byId.put(caseEntity.getId(), caseEntity);
+                } catch (Exception e) {
+                    fail(caseEntity, action, e.getMessage());
+                }
+            }
+            if (byId.isEmpty()) {
+                return;
+            }
+
+            BulkSendResponse response;
+            try {
+                rateLimiter.acquire(action.getActionType(), byId.size());
+                response = action.getActionType() == ActionType.SEND_SMS
+                        ? actionExecutor.sendSmsBatch(action, smsRecipients)
+                        : actionExecutor.sendWhatsAppBatch(action, whatsAppRecipients);
+            } catch (Exception e) {
+                byId.values().forEach(caseEntity -> fail(caseEntity, action, e.getMessage()));
+                return;
+            }
+
+            if (response.getRecipients() != null) {
+                for (BulkSendResponse.RecipientStatus status : response.getRecipients()) {
+                    Case caseEntity = status.getCaseId() != null ? byId.remove(status.getCaseId()) : null;
+                    if (caseEntity == null) {
+                        continue;
+                    }
+                    if ("SENT".equals(status.getStatus())) {
+                        succeed(caseEntity, action);
+                    } else {
+                        fail(caseEntity, action, status.getError());
+                    }
+                }
+            }
+            byId.values().forEach(caseEntity -> fail(caseEntity, action, "No status returned for case"));
+        }
+
+        private void succeed(Case caseEntity, StrategyAction action) {
+            succeeded.increment();
+            ledger.success(caseEntity.getId(), action.getActionType());
+        }
+
+        private void fail(Case caseEntity, StrategyAction action, String error) {
+            failed.increment();
+            ledger.failure(caseEntity.getId(), action.getActionType(), error);
+            log.error("Execution {}: failed to execute action {} for case {}: {}", executionId,
+                    action.getActionType(), caseEntity.getId(), error);
+        }
+    }
+}
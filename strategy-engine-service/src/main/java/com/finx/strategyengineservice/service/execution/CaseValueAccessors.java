@@ -0,0 +1,127 @@
+package com.finx.strategyengineservice.service.execution;
+
+import com.finx.strategyengineservice.domain.entity.Case;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compiled getters for template variable paths on a case
+ *
+ * A path such as "loan.primaryCustomer.fullName" is resolved once against the
+ * declared getter types, starting from Case. Each getter becomes a Function
+ * generated with LambdaMetafactory, so reading a value is a chain of plain
+ * calls with no reflection. Accessors are cached per path for the lifetime of
+ * the service; a null on the way yields null. A path that does not resolve is
+ * logged once and always yields null.
+ */
+@Slf4j
+@Component
+public class CaseValueAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Function<Case, Object> UNRESOLVED = caseEntity -> null;
+
+    private final Map<String, Function<Case, Object>> accessors = new ConcurrentHashMap<>();
+
+    public Function<Case, Object> accessor(String propertyPath) {
+        return accessors.computeIfAbsent(propertyPath, CaseValueAccessors::compile);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Case, Object> compile(String propertyPath) {
+        String[] parts = propertyPath.split("\\.");
+        Function<Object, Object>[] getters = new Function[parts.length];
+        Class<?> type = Case.class;
+
+        for (int i = 0; i < parts.length; i++) {
+            Method getter = findGetter(type, parts[i]);
+            if (getter == null) {
+                log.error("Cannot resolve variable path {}: no getter for '{}' on {}", propertyPath, parts[i],
+                        type.getSimpleName());
+                return UNRESOLVED;
+            }
+            getters[i] = toFunction(getter);
+            type = getter.getReturnType();
+        }
+
+        if (getters.length == 1) {
+            Function<Object, Object> getter = getters[0];
+            return getter::apply;
+        }
+        return caseEntity -> {
+            Object current = caseEntity;
+            for (Function<Object, Object> getter : getters) {
+                if (current == null) {
+                    return null;
+                }
+                current = getter.apply(current);
+            }
+            return current;
+        };
+    }
+
+    private static Method findGetter(Class<?> type, String property) {
+        if (property.isEmpty() || type.isPrimitive()) {
+            return null;
+        }
+        String suffix = property.substring(0, 1).toUpperCase() + property.substring(1);
+        for (String name : new String[] { "get" + suffix, "is" + suffix }) {
+            try {
+                Method method = type.getMethod(name);
+                if (method.getReturnType() != void.class && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next prefix
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Getter as a generated Function; falls back to calling the method handle
+     * when the lambda cannot be spun for the getter's class
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> toFunction(Method getter) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflect(getter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Getter is not accessible: " + getter, e);
+        }
+
+        try {
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(getter.getReturnType(), getter.getDeclaringClass()).wrap());
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.debug("Using method handle for {}: {}", getter, e.getMessage());
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return generic.invokeExact(target);
+                } catch (RuntimeException | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+    }
+}
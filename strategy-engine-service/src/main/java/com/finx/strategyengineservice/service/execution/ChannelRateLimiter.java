@@ -0,0 +1,98 @@
+package com.finx.strategyengineservice.service.execution;
+
+import com.finx.strategyengineservice.domain.enums.ActionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token buckets limiting the send rate of strategy actions per channel
+ *
+ * SMS, email and WhatsApp each get a bucket sized to the provider quota; a
+ * rate of 0 or less leaves that channel unlimited, as are action types that
+ * do not call a provider. Callers reserve one token per message (a bulk
+ * batch reserves one per recipient) and park until they are due, which is
+ * cheap on the virtual threads actions run on. The buckets are per instance,
+ * so the configured rates apply to each strategy-engine instance.
+ */
+@Slf4j
+@Component
+public class ChannelRateLimiter {
+
+    private final Map<ActionType, TokenBucket> buckets = new EnumMap<>(ActionType.class);
+
+    public ChannelRateLimiter(
+            @Value("${strategy-engine.dispatch.rate.sms-per-second:100}") double smsPerSecond,
+            @Value("${strategy-engine.dispatch.rate.email-per-second:50}") double emailPerSecond,
+            @Value("${strategy-engine.dispatch.rate.whatsapp-per-second:50}") double whatsappPerSecond) {
+        register(ActionType.SEND_SMS, smsPerSecond);
+        register(ActionType.SEND_EMAIL, emailPerSecond);
+        register(ActionType.SEND_WHATSAPP, whatsappPerSecond);
+    }
+
+    /**
+     * Block until the channel of actionType may send one more message
+     */
+    public void acquire(ActionType actionType) {
+        acquire(actionType, 1);
+    }
+
+    /**
+     * Block until the channel of actionType may send the given number of
+     * messages; a batch larger than the bucket waits for the difference
+     */
+    public void acquire(ActionType actionType, int messages) {
+        TokenBucket bucket = buckets.get(actionType);
+        if (bucket == null || messages <= 0) {
+            return;
+        }
+        long waitNanos = bucket.reserve(messages);
+        while (waitNanos > 0) {
+            long deadline = System.nanoTime() + waitNanos;
+            LockSupport.parkNanos(waitNanos);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            waitNanos = deadline - System.nanoTime();
+        }
+    }
+
+    private void register(ActionType actionType, double permitsPerSecond) {
+        if (permitsPerSecond > 0) {
+            buckets.put(actionType, new TokenBucket(permitsPerSecond));
+            log.info("Rate limiting {} actions to {} per second", actionType, permitsPerSecond);
+        }
+    }
+
+    /**
+     * Bucket holding up to one second of permits; a reservation may take the
+     * bucket negative and the caller waits until its token has been refilled
+     */
+    private static final class TokenBucket {
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(double permitsPerSecond) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1.0, permitsPerSecond);
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        private synchronized long reserve(int permits) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            tokens -= permits;
+            return tokens >= 0 ? 0L : (long) Math.ceil(-tokens / permitsPerNano);
+        }
+    }
+}
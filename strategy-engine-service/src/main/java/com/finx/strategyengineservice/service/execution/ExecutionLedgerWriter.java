@@ -0,0 +1,104 @@
+package com.finx.strategyengineservice.service.execution;
+
+import com.finx.strategyengineservice.domain.enums.ActionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Buffered writer of the per case x action ledger in strategy_execution_details
+ *
+ * Action tasks only append to an in-memory buffer of the execution; the
+ * runner flushes it at every chunk checkpoint, so the buffer never holds more
+ * than one chunk of results. A flush is one JdbcTemplate.batchUpdate, which
+ * the driver rewrites into multi-row inserts (reWriteBatchedInserts).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutionLedgerWriter {
+
+    public static final String STATUS_SUCCESS = "SUCCESS";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String INSERT_DETAIL_SQL = "INSERT INTO strategy_execution_details (execution_id, " +
+            "case_id, action_type, action_status, error_message, executed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Error messages are cut to this length; provider errors can embed whole responses
+     */
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${strategy-engine.execution.ledger-batch-size:1000}")
+    private int batchSize;
+
+    public Buffer open(String executionId) {
+        return new Buffer(executionId);
+    }
+
+    private record Entry(Long caseId, ActionType actionType, String status, String error, LocalDateTime executedAt) {
+    }
+
+    /**
+     * Ledger rows of one execution waiting to be written; safe to append to
+     * from concurrent action tasks
+     */
+    public class Buffer {
+        private final String executionId;
+        private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+
+        private Buffer(String executionId) {
+            this.executionId = executionId;
+        }
+
+        public void success(Long caseId, ActionType actionType) {
+            pending.add(new Entry(caseId, actionType, STATUS_SUCCESS, null, LocalDateTime.now()));
+        }
+
+        public void failure(Long caseId, ActionType actionType, String error) {
+            String message = error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH)
+                    : error;
+            pending.add(new Entry(caseId, actionType, STATUS_FAILED, message, LocalDateTime.now()));
+        }
+
+        /**
+         * Write every buffered row
+         *
+         * @return Number of rows written
+         */
+        public int flush() {
+            List<Entry> rows = new ArrayList<>();
+            Entry entry;
+            while ((entry = pending.poll()) != null) {
+                rows.add(entry);
+            }
+            if (rows.isEmpty()) {
+                return 0;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_DETAIL_SQL, rows, Math.max(1, batchSize), (ps, row) -> {
+                ps.setString(1, executionId);
+                ps.setObject(2, row.caseId(), Types.BIGINT);
+                ps.setString(3, row.actionType() != null ? row.actionType().name() : null);
+                ps.setString(4, row.status());
+                ps.setString(5, row.error());
+                ps.setTimestamp(6, Timestamp.valueOf(row.executedAt()));
+            });
+            log.debug("Execution {}: wrote {} ledger rows", executionId, rows.size());
+            return rows.size();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.finx.strategyengineservice.service.execution;
+
+import com.finx.strategyengineservice.domain.entity.Case;
+import com.finx.strategyengineservice.domain.entity.StrategyAction;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A strategy action with its template resolved for one execution
+ *
+ * bindings is null when the action has no template mapping or its template
+ * could not be fetched; the default variables are used then.
+ */
+public record PreparedAction(StrategyAction action, List<VariableBinding> bindings) {
+
+    /**
+     * Template variable with the compiled accessor of its mapped case path
+     */
+    public record VariableBinding(String variableKey, Function<Case, Object> accessor, String defaultValue) {
+    }
+}
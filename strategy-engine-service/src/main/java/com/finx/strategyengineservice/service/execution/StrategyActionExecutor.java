@@ -0,0 +1,360 @@
+package com.finx.strategyengineservice.service.execution;
+
+import com.finx.strategyengineservice.client.CommunicationServiceClient;
+import com.finx.strategyengineservice.client.TemplateServiceClient;
+import com.finx.strategyengineservice.client.dto.BulkSendResponse;
+import com.finx.strategyengineservice.client.dto.EmailRequest;
+import com.finx.strategyengineservice.client.dto.SMSRequest;
+import com.finx.strategyengineservice.client.dto.TemplateDetailDTO;
+import com.finx.strategyengineservice.client.dto.WhatsAppBulkRequest;
+import com.finx.strategyengineservice.client.dto.WhatsAppRequest;
+import com.finx.strategyengineservice.domain.entity.Case;
+import com.finx.strategyengineservice.domain.entity.StrategyAction;
+import com.finx.strategyengineservice.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs strategy actions (SMS, email, WhatsApp, notice, call) for one case,
+ * and builds and sends the recipients of bulk SMS and WhatsApp batches
+ *
+ * Actions are prepared once per execution: the template is fetched a single
+ * time and every mapped variable path is compiled by CaseValueAccessors, so
+ * building the variables of a case makes no remote call and no reflection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StrategyActionExecutor {
+
+    private final CommunicationServiceClient communicationClient;
+    private final TemplateServiceClient templateServiceClient;
+    private final CaseValueAccessors caseValueAccessors;
+
+    /**
+     * Resolve the template and variable mapping of an action for one execution
+     */
+    public PreparedAction prepare(StrategyAction action) {
+
+        // Without templateId and variableMapping the default variables are used
+        if (action.getTemplateId() == null || action.getVariableMapping() == null
+                || action.getVariableMapping().isEmpty()) {
+            return new PreparedAction(action, null);
+        }
+
+        TemplateDetailDTO template;
+        try {
+            template = templateServiceClient.getTemplate(action.getTemplateId()).getPayload();
+        } catch (Exception e) {
+            log.error("Error fetching template {} for action {}, falling back to default variables",
+                    action.getTemplateId(), action.getId(), e);
+            return new PreparedAction(action, null);
+        }
+
+        List<PreparedAction.VariableBinding> bindings = new ArrayList<>();
+        if (template != null && template.getVariables() != null) {
+            // Map each template variable to a compiled case accessor
+            for (TemplateDetailDTO.TemplateVariableDTO templateVar : template.getVariables()) {
+                String variableKey = templateVar.getVariableKey();
+                String entityPath = action.getVariableMapping().get(variableKey);
+
+                if (entityPath != null) {
+                    bindings.add(new PreparedAction.VariableBinding(variableKey,
+                            caseValueAccessors.accessor(entityPath), templateVar.getDefaultValue()));
+                }
+            }
+        }
+        return new PreparedAction(action, List.copyOf(bindings));
+    }
+
+    /**
+     * Execute a single action on a case
+     */
+    public void executeAction(Case caseEntity, PreparedAction prepared) {
+
+        StrategyAction action = prepared.action();
+        log.debug("Executing action {} for case {}", action.getActionType(), caseEntity.getId());
+
+        switch (action.getActionType()) {
+            case SEND_SMS:
+                sendSMS(caseEntity, prepared);
+                break;
+
+            case SEND_EMAIL:
+                sendEmail(caseEntity, action);
+                break;
+
+            case SEND_WHATSAPP:
+                sendWhatsApp(caseEntity, prepared);
+                break;
+
+            case CREATE_NOTICE:
+                createNotice(caseEntity, action);
+                break;
+
+            case SCHEDULE_CALL:
+                scheduleCall(caseEntity, action);
+                break;
+
+            default:
+                log.warn("Unsupported action type: {}", action.getActionType());
+        }
+    }
+
+    /**
+     * Send SMS via communication service
+     */
+    private void sendSMS(Case caseEntity, PreparedAction prepared) {
+
+        StrategyAction action = prepared.action();
+
+        // Build SMS request aligned with communication-service format
+        SMSRequest request = SMSRequest.builder()
+                .templateId(action.getTemplateId() != null ? action.getTemplateId().toString() : null)
+                .shortUrl("0") // Disable short URL by default
+                .recipients(Collections.singletonList(smsRecipient(caseEntity, prepared)))
+                .caseId(caseEntity.getId())
+                .build();
+
+        communicationClient.sendSMS(request);
+        log.debug("SMS sent successfully for case: {}", caseEntity.getId());
+    }
+
+    /**
+     * SMS recipient of a case with its dynamic variables
+     */
+    public SMSRequest.SmsRecipient smsRecipient(Case caseEntity, PreparedAction prepared) {
+
+        return SMSRequest.SmsRecipient.builder()
+                .mobile(requireMobile(caseEntity))
+                .variables(buildDynamicVariables(caseEntity, prepared, "SMS"))
+                .caseId(caseEntity.getId())
+                .build();
+    }
+
+    /**
+     * Send one SMS batch of an action through the bulk endpoint
+     */
+    public BulkSendResponse sendSmsBatch(StrategyAction action, List<SMSRequest.SmsRecipient> recipients) {
+
+        SMSRequest request = SMSRequest.builder()
+                .templateId(action.getTemplateId() != null ? action.getTemplateId().toString() : null)
+                .shortUrl("0") // Disable short URL by default
+                .recipients(recipients)
+                .build();
+
+        BulkSendResponse response = communicationClient.sendBulkSMS(request).getPayload();
+        if (response == null) {
+            throw new BusinessException("Bulk SMS returned no recipient status");
+        }
+        return response;
+    }
+
+    /**
+     * Build dynamic variables from case data based on template variable mapping
+     */
+    private Map<String, Object> buildDynamicVariables(Case caseEntity, PreparedAction prepared, String channel) {
+
+        if (prepared.bindings() == null) {
+            // Fall back to default hardcoded variables
+            return buildDefaultVariables(caseEntity, channel);
+        }
+
+        Map<String, Object> variables = HashMap.newHashMap(prepared.bindings().size());
+        for (PreparedAction.VariableBinding binding : prepared.bindings()) {
+            Object value = extractValueFromCase(caseEntity, binding);
+            variables.put(binding.variableKey(), value != null ? value : binding.defaultValue());
+        }
+        return variables;
+    }
+
+    /**
+     * Build default hardcoded variables (backward compatibility)
+     */
+    private Map<String, Object> buildDefaultVariables(Case caseEntity, String channel) {
+        Map<String, Object> variables = new HashMap<>();
+
+        if ("SMS".equals(channel)) {
+            variables.put("VAR1", caseEntity.getLoan().getPrimaryCustomer().getFullName());
+            variables.put("VAR2", caseEntity.getLoan().getLoanAccountNumber());
+            variables.put("VAR3", caseEntity.getLoan().getOutstandingAmount() != null
+                    ? caseEntity.getLoan().getOutstandingAmount().toString() : "0");
+        }
+
+        return variables;
+    }
+
+    /**
+     * Read a mapped variable from the case through its compiled accessor
+     */
+    private Object extractValueFromCase(Case caseEntity, PreparedAction.VariableBinding binding) {
+        try {
+            return binding.accessor().apply(caseEntity);
+        } catch (RuntimeException e) {
+            log.error("Error extracting value for variable {} of case {}: {}", binding.variableKey(),
+                    caseEntity.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Send Email via communication service
+     */
+    private void sendEmail(Case caseEntity, StrategyAction action) {
+
+        String email = caseEntity.getLoan().getPrimaryCustomer().getEmailAddress();
+        if (email == null || email.isEmpty()) {
+            throw new BusinessException("Email not available for case: " + caseEntity.getId());
+        }
+
+        EmailRequest request = EmailRequest.builder()
+                .email(email)
+                .subject("Payment Reminder")
+                .body("Payment reminder for loan: " + caseEntity.getLoan().getLoanAccountNumber())
+                .templateId(action.getTemplateId() != null ? action.getTemplateId().toString() : null)
+                .caseId(caseEntity.getId())
+                .caseNumber(caseEntity.getCaseNumber())
+                .build();
+
+        communicationClient.sendEmail(request);
+        log.debug("Email sent successfully for case: {}", caseEntity.getId());
+    }
+
+    /**
+     * Send WhatsApp via communication service
+     */
+    private void sendWhatsApp(Case caseEntity, PreparedAction prepared) {
+
+        StrategyAction action = prepared.action();
+        String mobile = requireMobile(caseEntity);
+
+        // Build WhatsApp request aligned with communication-service format
+        WhatsAppRequest request = WhatsAppRequest.builder()
+                .templateId(action.getTemplateId() != null ? action.getTemplateId().toString() : null)
+                .to(Collections.singletonList(mobile))
+                .components(buildWhatsAppComponents(caseEntity, prepared))
+                .language(defaultLanguage())
+                .caseId(caseEntity.getId())
+                .build();
+
+        communicationClient.sendWhatsApp(request);
+        log.debug("WhatsApp sent successfully for case: {}", caseEntity.getId());
+    }
+
+    /**
+     * WhatsApp recipient of a case with its dynamic components
+     */
+    public WhatsAppBulkRequest.WhatsAppRecipient whatsAppRecipient(Case caseEntity, PreparedAction prepared) {
+
+        return WhatsAppBulkRequest.WhatsAppRecipient.builder()
+                .to(Collections.singletonList(requireMobile(caseEntity)))
+                .components(buildWhatsAppComponents(caseEntity, prepared))
+                .caseId(caseEntity.getId())
+                .build();
+    }
+
+    /**
+     * Send one WhatsApp batch of an action through the bulk endpoint
+     */
+    public BulkSendResponse sendWhatsAppBatch(StrategyAction action,
+            List<WhatsAppBulkRequest.WhatsAppRecipient> recipients) {
+
+        WhatsAppBulkRequest request = WhatsAppBulkRequest.builder()
+                .templateId(action.getTemplateId() != null ? action.getTemplateId().toString() : null)
+                .recipients(recipients)
+                .language(defaultLanguage())
+                .build();
+
+        BulkSendResponse response = communicationClient.sendBulkWhatsApp(request).getPayload();
+        if (response == null) {
+            throw new BusinessException("Bulk WhatsApp returned no recipient status");
+        }
+        return response;
+    }
+
+    private String requireMobile(Case caseEntity) {
+        String mobile = caseEntity.getLoan().getPrimaryCustomer().getMobileNumber();
+        if (mobile == null || mobile.isEmpty()) {
+            throw new BusinessException("Mobile number not available for case: " + caseEntity.getId());
+        }
+        return mobile;
+    }
+
+    private static WhatsAppRequest.WhatsAppLanguage defaultLanguage() {
+        return WhatsAppRequest.WhatsAppLanguage.builder()
+                .code("en")
+                .policy("deterministic")
+                .build();
+    }
+
+    /**
+     * Build WhatsApp components from case data with dynamic template variables
+     */
+    private Map<String, Map<String, String>> buildWhatsAppComponents(Case caseEntity, PreparedAction prepared) {
+
+        if (prepared.bindings() == null) {
+            // Fall back to default hardcoded components
+            return buildDefaultWhatsAppComponents(caseEntity);
+        }
+
+        Map<String, Map<String, String>> components = HashMap.newHashMap(prepared.bindings().size());
+        for (PreparedAction.VariableBinding binding : prepared.bindings()) {
+            Object value = extractValueFromCase(caseEntity, binding);
+            String valueStr = value != null ? value.toString() :
+                (binding.defaultValue() != null ? binding.defaultValue() : "");
+            components.put(binding.variableKey(), Map.of("type", "text", "value", valueStr));
+        }
+        return components;
+    }
+
+    /**
+     * Build default WhatsApp components (backward compatibility)
+     */
+    private Map<String, Map<String, String>> buildDefaultWhatsAppComponents(Case caseEntity) {
+        Map<String, Map<String, String>> components = new HashMap<>();
+
+        // body_1: Customer name
+        Map<String, String> body1 = new HashMap<>();
+        body1.put("type", "text");
+        body1.put("value", caseEntity.getLoan().getPrimaryCustomer().getFullName());
+        components.put("body_1", body1);
+
+        // body_2: Loan account number
+        Map<String, String> body2 = new HashMap<>();
+        body2.put("type", "text");
+        body2.put("value", caseEntity.getLoan().getLoanAccountNumber());
+        components.put("body_2", body2);
+
+        // body_3: Outstanding amount
+        Map<String, String> body3 = new HashMap<>();
+        body3.put("type", "text");
+        body3.put("value", caseEntity.getLoan().getOutstandingAmount() != null
+                ? caseEntity.getLoan().getOutstandingAmount().toString() : "0");
+        components.put("body_3", body3);
+
+        return components;
+    }
+
+    /**
+     * Create notice (placeholder - implement based on requirements)
+     */
+    private void createNotice(Case caseEntity, StrategyAction action) {
+        log.info("Creating notice for case: {} (Not yet implemented)", caseEntity.getId());
+        // TODO: Implement notice creation logic
+    }
+
+    /**
+     * Schedule call (placeholder - implement based on requirements)
+     */
+    private void scheduleCall(Case caseEntity, StrategyAction action) {
+        log.info("Scheduling call for case: {} (Not yet implemented)", caseEntity.getId());
+        // TODO: Implement call scheduling logic (IVR integration)
+    }
+}
@@ -0,0 +1,155 @@
+package com.finx.strategyengineservice.service.execution;
+
+import com.finx.strategyengineservice.domain.entity.StrategyAction;
+import com.finx.strategyengineservice.domain.entity.StrategyExecution;
+import com.finx.strategyengineservice.domain.entity.StrategyRule;
+import com.finx.strategyengineservice.domain.enums.ExecutionStatus;
+import com.finx.strategyengineservice.exception.BusinessException;
+import com.finx.strategyengineservice.repository.CaseRepository;
+import com.finx.strategyengineservice.repository.StrategyActionRepository;
+import com.finx.strategyengineservice.repository.StrategyExecutionRepository;
+import com.finx.strategyengineservice.repository.StrategyRepository;
+import com.finx.strategyengineservice.repository.StrategyRuleRepository;
+import com.finx.strategyengineservice.service.CaseFilterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs a strategy execution in chunks of matched cases
+ *
+ * Matching case IDs are read with a keyset on the case ID, and each chunk is
+ * loaded with its loan and customer in one read-only query, so memory holds
+ * one chunk at a time however many cases match. The actions of a chunk run
+ * concurrently through ActionDispatcher and finish before the next chunk is
+ * read. There is no transaction around the run: after every chunk the
+ * per-case results are written to the execution ledger, the counters are
+ * checkpointed on the execution row and the cached execution views are
+ * dropped, which makes progress visible while it runs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StrategyExecutionRunner {
+
+    private final StrategyExecutionRepository executionRepository;
+    private final StrategyRepository strategyRepository;
+    private final StrategyRuleRepository strategyRuleRepository;
+    private final StrategyActionRepository strategyActionRepository;
+    private final CaseRepository caseRepository;
+    private final CaseFilterService caseFilterService;
+    private final ActionDispatcher actionDispatcher;
+    private final CacheManager cacheManager;
+
+    @Value("${strategy-engine.execution.chunk-size:500}")
+    private int chunkSize;
+
+    @Async("strategyExecutionExecutor")
+    public void run(Long executionId, Long strategyId) {
+        try {
+            log.info("Processing strategy execution async: {} for strategy: {}", executionId, strategyId);
+
+            // Fetch execution record
+            StrategyExecution execution = executionRepository.findById(executionId)
+                    .orElseThrow(() -> new BusinessException("Execution not found"));
+
+            // Fetch strategy rules (filters) and actions
+            List<StrategyRule> rules = strategyRuleRepository.findByStrategyIdOrderByRuleOrderAsc(strategyId);
+            List<StrategyAction> actions = strategyActionRepository.findByStrategyIdOrderByActionOrderAsc(strategyId);
+
+            if (actions.isEmpty()) {
+                throw new BusinessException("No actions defined for strategy: " + strategyId);
+            }
+
+            log.info("Found {} rules and {} actions for strategy {}", rules.size(), actions.size(), strategyId);
+
+            // Expected size of the run, for progress only; the chunks decide what is processed
+            long expected = rules.isEmpty()
+                    ? caseRepository.countByCaseStatus("ALLOCATED")
+                    : caseFilterService.countCasesByRules(rules);
+            execution.setTotalRecordsEvaluated((int) expected);
+            execution.setRecordsMatched((int) expected);
+            execution = executionRepository.save(execution);
+
+            ActionDispatcher.Run dispatch = actionDispatcher.start(execution.getExecutionId(), actions);
+            int processed = 0;
+            long lastCaseId = 0L;
+            List<Long> caseIds;
+
+            do {
+                caseIds = caseFilterService.findMatchingCaseIds(rules, lastCaseId, chunkSize);
+                if (caseIds.isEmpty()) {
+                    break;
+                }
+                lastCaseId = caseIds.get(caseIds.size() - 1);
+
+                dispatch.submitChunk(caseRepository.findAllWithLoanAndCustomerByIdIn(caseIds));
+                dispatch.awaitPending();
+
+                processed += caseIds.size();
+                executionRepository.updateProgress(executionId, processed, dispatch.successCount(),
+                        dispatch.failureCount(), LocalDateTime.now());
+                evictExecutionCaches(execution.getExecutionId());
+                log.debug("Execution {} processed {} of ~{} cases", execution.getExecutionId(), processed, expected);
+            } while (caseIds.size() == chunkSize);
+
+            int successCount = dispatch.successCount();
+            int failureCount = dispatch.failureCount();
+
+            // Final counters reflect what was actually processed
+            execution.setExecutionStatus(ExecutionStatus.COMPLETED);
+            execution.setTotalRecordsEvaluated(processed);
+            execution.setRecordsMatched(processed);
+            execution.setTotalCasesProcessed(processed);
+            execution.setSuccessfulActions(successCount);
+            execution.setFailedActions(failureCount);
+            execution.setRecordsFailed(failureCount);
+            execution.setCompletedAt(LocalDateTime.now());
+
+            executionRepository.save(execution);
+            evictExecutionCaches(execution.getExecutionId());
+
+            // Update strategy statistics
+            strategyRepository.addRunResults(strategyId, successCount, failureCount, LocalDateTime.now());
+
+            log.info("Strategy execution completed: {}. Processed: {}, Success: {}, Failed: {}",
+                    execution.getExecutionId(), processed, successCount, failureCount);
+
+        } catch (Exception e) {
+            log.error("Fatal error processing strategy execution: {}", executionId, e);
+
+            executionRepository.findById(executionId).ifPresent(execution -> {
+                execution.setExecutionStatus(ExecutionStatus.FAILED);
+                execution.setErrorMessage("Execution failed: " + e.getMessage());
+                execution.setCompletedAt(LocalDateTime.now());
+                executionRepository.save(execution);
+                evictExecutionCaches(execution.getExecutionId());
+            });
+        }
+    }
+
+    /**
+     * Drop the cached list and detail views of an execution (see StrategyExecutionServiceImpl)
+     */
+    private void evictExecutionCaches(String executionId) {
+        try {
+            Cache executions = cacheManager.getCache("strategyExecutions");
+            if (executions != null) {
+                executions.evict("all");
+            }
+            Cache details = cacheManager.getCache("executionDetails");
+            if (details != null) {
+                details.evict(executionId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not evict execution caches for {}: {}", executionId, e.getMessage());
+        }
+    }
+}
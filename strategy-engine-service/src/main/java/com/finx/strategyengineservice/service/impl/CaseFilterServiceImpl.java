@@ -34,63 +34,20 @@ public class CaseFilterServiceImpl implements CaseFilterService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     @Override
-    public List<Case> filterCasesByRules(List<StrategyRule> rules) {
-        if (rules == null || rules.isEmpty()) {
-            log.warn("No rules provided for filtering, returning empty list");
-            return new ArrayList<>();
-        }
-
-        log.info("Filtering cases with {} rules", rules.size());
-
+    public List<Long> findMatchingCaseIds(List<StrategyRule> rules, Long afterCaseId, int limit) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Case> query = cb.createQuery(Case.class);
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
         Root<Case> root = query.from(Case.class);
+        Path<Long> id = root.get("id");
 
-        // Eager fetch loan details to avoid N+1 queries
-        root.fetch("loan", JoinType.LEFT);
-
-        // Build predicates for all rules
-        List<Predicate> predicates = new ArrayList<>();
-
-        // Always filter only ALLOCATED cases
-        predicates.add(cb.equal(root.get("caseStatus"), "ALLOCATED"));
-
-        // Add predicates for each rule
-        for (StrategyRule rule : rules) {
-            try {
-                Predicate predicate = buildPredicate(cb, root, rule);
-                if (predicate != null) {
-                    predicates.add(predicate);
-                }
-            } catch (Exception e) {
-                log.error("Failed to build predicate for rule {}: {}", rule.getId(), e.getMessage());
-                throw new BusinessException("Invalid rule configuration: " + e.getMessage());
-            }
-        }
-
-        // Combine predicates with AND or OR based on logical operator
-        Predicate finalPredicate;
-        if (predicates.size() == 1) {
-            finalPredicate = predicates.get(0);
-        } else {
-            // Check if rule has logical operator (default is AND)
-            String logicalOp = rules.get(0).getLogicalOperator() != null
-                    ? rules.get(0).getLogicalOperator().toUpperCase()
-                    : "AND";
-
-            if ("OR".equals(logicalOp)) {
-                finalPredicate = cb.or(predicates.toArray(new Predicate[0]));
-            } else {
-                finalPredicate = cb.and(predicates.toArray(new Predicate[0]));
-            }
-        }
-
-        query.where(finalPredicate);
+        // Keyset bound outside the rule predicate so OR rules stay grouped
+        query.select(id)
+                .where(cb.and(buildFilter(cb, root, rules), cb.greaterThan(id, afterCaseId)))
+                .orderBy(cb.asc(id));
 
-        List<Case> results = entityManager.createQuery(query).getResultList();
-        log.info("Found {} cases matching {} rules", results.size(), rules.size());
-
-        return results;
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
     }
 
     @Override
@@ -104,13 +61,26 @@ public class CaseFilterServiceImpl implements CaseFilterService {
         Root<Case> root = query.from(Case.class);
 
         query.select(cb.count(root));
+        query.where(buildFilter(cb, root, rules));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
 
+    /**
+     * Predicate of allocated cases matching the rules; no rules match every
+     * allocated case
+     */
+    private Predicate buildFilter(CriteriaBuilder cb, Root<Case> root, List<StrategyRule> rules) {
         // Build predicates for all rules
         List<Predicate> predicates = new ArrayList<>();
 
         // Always filter only ALLOCATED cases
         predicates.add(cb.equal(root.get("caseStatus"), "ALLOCATED"));
 
+        if (rules == null || rules.isEmpty()) {
+            return predicates.get(0);
+        }
+
         // Add predicates for each rule
         for (StrategyRule rule : rules) {
             try {
@@ -124,30 +94,20 @@ public class CaseFilterServiceImpl implements CaseFilterService {
             }
         }
 
-        // Combine predicates
-        Predicate finalPredicate;
+        // Combine predicates with AND or OR based on logical operator
         if (predicates.size() == 1) {
-            finalPredicate = predicates.get(0);
-        } else {
-            String logicalOp = rules.get(0).getLogicalOperator() != null
-                    ? rules.get(0).getLogicalOperator().toUpperCase()
-                    : "AND";
-
-            if ("OR".equals(logicalOp)) {
-                finalPredicate = cb.or(predicates.toArray(new Predicate[0]));
-            } else {
-                finalPredicate = cb.and(predicates.toArray(new Predicate[0]));
-            }
+            return predicates.get(0);
         }
 
-        query.where(finalPredicate);
-
-        return entityManager.createQuery(query).getSingleResult();
-    }
+        // Check if rule has logical operator (default is AND)
+        String logicalOp = rules.get(0).getLogicalOperator() != null
+                ? rules.get(0).getLogicalOperator().toUpperCase()
+                : "AND";
 
-    @Override
-    public List<Case> filterCasesByRule(StrategyRule rule) {
-        return filterCasesByRules(List.of(rule));
+        if ("OR".equals(logicalOp)) {
+            return cb.or(predicates.toArray(new Predicate[0]));
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
     }
 
     /**
@@ -206,11 +206,8 @@ public class StrategyServiceImpl implements StrategyService {
 
         List<StrategyRule> rules = ruleRepository.findByStrategyIdOrderByRuleOrderAsc(strategyId);
 
-        // Filter cases to get count
-        List<Case> matchedCases = rules.isEmpty() ? Collections.emptyList()
-                : caseFilterService.filterCasesByRules(rules);
-
-        int estimatedCount = matchedCases.size();
+        // Count matching cases without loading them
+        int estimatedCount = rules.isEmpty() ? 0 : caseFilterService.countCasesByRules(rules).intValue();
         log.info("Strategy simulation complete: {} cases matched", estimatedCount);
 
         StrategyAction action = actionRepository.findByStrategyIdOrderByActionOrderAsc(strategyId)
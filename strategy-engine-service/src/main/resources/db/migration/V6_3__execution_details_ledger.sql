@@ -0,0 +1,13 @@
+-- STRATEGY ENGINE SERVICE - PER-CASE EXECUTION LEDGER
+-- Per case x action results are written to strategy_execution_details;
+-- the unbounded JSONB log on the execution row is no longer used
+ALTER TABLE strategy_executions DROP COLUMN IF EXISTS execution_log;
+
+-- Paged reads of one execution's results, all or by status, in insert order
+DROP INDEX IF EXISTS idx_execution_details_execution_id;
+CREATE INDEX IF NOT EXISTS idx_execution_details_execution_id_id
+    ON strategy_execution_details(execution_id, id);
+CREATE INDEX IF NOT EXISTS idx_execution_details_execution_status_id
+    ON strategy_execution_details(execution_id, action_status, id);
+
+COMMENT ON TABLE strategy_execution_details IS 'Per case and action results of strategy executions';